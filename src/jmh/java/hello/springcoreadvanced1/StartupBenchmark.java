@@ -0,0 +1,43 @@
+package hello.springcoreadvanced1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 등록하는 주문 버전 수에 따른 애플리케이션 시작 시간<br>
+ * - Fork 마다 새 JVM 에서 한 번만 시작하므로 클래스 로딩까지 포함한 Cold Start 측정<br>
+ * - 시작 시간 편차가 커서 (±700ms 이상) Fork 10 번의 평균으로 비교<br>
+ * - all: v0 ~ v6 모두 등록, v3: order.versions=v3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(10)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class StartupBenchmark {
+    @Param({"all", "v3"})
+    public String versions;
+
+    @Benchmark
+    public void start() {
+        ConfigurableApplicationContext context = SpringApplication.run(AdvancedApplication.class,
+                "--order.versions=" + versions,
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=warn");
+        context.close();
+    }
+}
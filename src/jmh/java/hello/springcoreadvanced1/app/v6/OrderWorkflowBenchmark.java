@@ -0,0 +1,88 @@
+package hello.springcoreadvanced1.app.v6;
+
+import hello.springcoreadvanced1.app.simulation.ErrorInjection;
+import hello.springcoreadvanced1.app.simulation.LatencyModel;
+import hello.springcoreadvanced1.app.simulation.OrderRepositorySimulation;
+import hello.springcoreadvanced1.trace.callback.TraceTemplate;
+import hello.springcoreadvanced1.trace.logtrace.ThreadLocalLogTrace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 단계 순차 실행 vs 병렬 실행 (동시 요청 16개)<br>
+ * - 기대값: sequential ~= 3 * stepMs, parallel ~= stepMs
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(16)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class OrderWorkflowBenchmark {
+    @Param({"5", "20"})
+    long stepMs;
+
+    private ExecutorService executor;
+    private OrderServiceV6 parallelService;
+    private TraceTemplate template;
+    private OrderStepRepositoryV6 inventoryRepository;
+    private OrderStepRepositoryV6 paymentRepository;
+    private OrderStepRepositoryV6 shippingRepository;
+
+    @Setup
+    public void setUp() {
+        OrderRepositorySimulation simulation = new OrderRepositorySimulation(LatencyModel.fixed(stepMs), ErrorInjection.none());
+        ThreadLocalLogTrace trace = new ThreadLocalLogTrace();
+
+        executor = Executors.newFixedThreadPool(64);
+        template = new TraceTemplate(trace);
+        inventoryRepository = new OrderStepRepositoryV6("InventoryRepository", simulation);
+        paymentRepository = new OrderStepRepositoryV6("PaymentRepository", simulation);
+        shippingRepository = new OrderStepRepositoryV6("ShippingRepository", simulation);
+        parallelService = new OrderServiceV6(inventoryRepository, paymentRepository, shippingRepository, executor, 3, trace);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void sequential() {
+        template.execute("OrderService.orderItem()", () -> {
+            template.execute("InventoryRepository.save()", () -> {
+                inventoryRepository.save("hello");
+                return null;
+            });
+            template.execute("PaymentRepository.save()", () -> {
+                paymentRepository.save("hello");
+                return null;
+            });
+            return template.execute("ShippingRepository.save()", () -> {
+                shippingRepository.save("hello");
+                return null;
+            });
+        });
+    }
+
+    @Benchmark
+    public void parallel() {
+        parallelService.orderItem("hello");
+    }
+}
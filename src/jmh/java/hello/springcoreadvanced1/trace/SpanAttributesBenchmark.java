@@ -0,0 +1,46 @@
+package hello.springcoreadvanced1.trace;
+
+import hello.springcoreadvanced1.trace.logtrace.ThreadLocalLogTrace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * itemId 를 Span 에 붙이는 비용, 할당량은 -prof gc 로 비교<br>
+ * - concat: 메시지 문자열에 이어 붙임 (출력하지 않아도 항상 문자열 생성)<br>
+ * - tag: {@link TraceStatus#tag} (로그 레벨 WARN 이라 렌더링 생략)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SpanAttributesBenchmark {
+    private final ThreadLocalLogTrace trace = new ThreadLocalLogTrace();
+    private String itemId = "hello";
+
+    @Benchmark
+    public TraceStatus none() {
+        TraceStatus status = trace.begin("OrderRepository.save()");
+        trace.end(status);
+        return status;
+    }
+
+    @Benchmark
+    public TraceStatus concat() {
+        TraceStatus status = trace.begin("OrderRepository.save() itemId=" + itemId);
+        trace.end(status);
+        return status;
+    }
+
+    @Benchmark
+    public TraceStatus tag() {
+        TraceStatus status = trace.begin("OrderRepository.save()");
+        status.tag("itemId", itemId);
+        trace.end(status);
+        return status;
+    }
+}
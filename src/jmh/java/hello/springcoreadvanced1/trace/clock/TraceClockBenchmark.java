@@ -0,0 +1,53 @@
+package hello.springcoreadvanced1.trace.clock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시계별 currentTimeMillis() 한 번의 비용<br>
+ * - 4 쓰레드: calibrated 의 공유 AtomicLong, coarse 의 volatile 읽기 경합 포함
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class TraceClockBenchmark {
+    @Param({"system", "coarse", "nano", "calibrated"})
+    public String type;
+
+    private TraceClock clock;
+
+    @Setup
+    public void setUp() {
+        clock = TraceClock.of(type, 1);
+        clock.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        clock.stop();
+    }
+
+    @Benchmark
+    public long read() {
+        return clock.currentTimeMillis();
+    }
+
+    /**
+     * Span 하나에 두 번 읽는 비용과 비교하기 위한 System.nanoTime() 자체 비용
+     */
+    @Benchmark
+    public long rawNanoTime() {
+        return System.nanoTime();
+    }
+}
@@ -0,0 +1,70 @@
+package hello.springcoreadvanced1.trace.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springcoreadvanced1.trace.TraceId;
+import hello.springcoreadvanced1.trace.TraceStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Span 종료 기록 1건의 인코딩 비용, 할당량은 -prof gc 의 gc.alloc.rate.norm 으로 비교<br>
+ * - text: 현재 로그 형식 (메시지 포맷팅 + UTF-8 인코딩)<br>
+ * - textAsJson: 텍스트 로그를 JSON Layout 으로 한 번 더 감싸는 경우<br>
+ * - json: {@link JsonSpanEncoder}
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=JsonSpanEncoderBenchmark   (jmh { profilers = ['gc'] })
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonSpanEncoderBenchmark {
+    private static final String COMPLETE_PREFIX = "|   |<--";
+
+    private final JsonSpanEncoder encoder = new JsonSpanEncoder();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TraceStatus status;
+
+    @Setup
+    public void setUp() {
+        TraceId traceId = new TraceId().createNextId().createNextId();
+        status = new TraceStatus(traceId, System.currentTimeMillis(), "OrderRepository.save()");
+    }
+
+    @Benchmark
+    public byte[] text() {
+        return formatText().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] textAsJson() throws JsonProcessingException {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("timestamp", status.getStartTimeMs());
+        event.put("level", "INFO");
+        event.put("message", formatText());
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public SpanBuffer json() {
+        return encoder.encode(status, 1000L, null);
+    }
+
+    private String formatText() {
+        return MessageFormatter.arrayFormat("[{}] {}{} time = {}ms", new Object[]{
+                status.getTraceId().getId(), COMPLETE_PREFIX, status.getMessage(), 1000L
+        }).getMessage();
+    }
+}
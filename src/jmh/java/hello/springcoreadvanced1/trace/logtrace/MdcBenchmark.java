@@ -0,0 +1,78 @@
+package hello.springcoreadvanced1.trace.logtrace;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.sink.SpanSink;
+import hello.springcoreadvanced1.trace.span.SpanListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.MDC;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller -> Service -> Repository 3단계 Trace 한 번의 MDC 기록 비용<br>
+ * - none: MDC 미사용<br>
+ * - root: 최상위 Span 시작/종료에서만 put/remove (trace.mdc.enabled=true)<br>
+ * - naive: Span 마다 MDC 를 복사해 두고 put, 종료 시 복사본으로 복원
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MdcBenchmark {
+    @Param({"none", "root", "naive"})
+    public String mode;
+
+    private ThreadLocalLogTrace trace;
+
+    @Setup
+    public void setUp() {
+        List<SpanListener> listeners = mode.equals("naive") ? List.of(new NaiveMdcListener()) : List.of();
+        trace = new ThreadLocalLogTrace(new ThreadLocalLogTrace.Options()
+                .listeners(listeners)
+                .output(SpanSink.NONE)
+                .mdc(mode.equals("root")));
+        // 요청 처리 쓰레드에 이미 있는 다른 MDC 값
+        MDC.put("requestUri", "/v3/request");
+    }
+
+    @Benchmark
+    public TraceStatus trace() {
+        TraceStatus controller = trace.begin("OrderController.request()");
+        TraceStatus service = trace.begin("OrderService.orderItem()");
+        TraceStatus repository = trace.begin("OrderRepository.save()");
+        trace.end(repository);
+        trace.end(service);
+        trace.end(controller);
+        return controller;
+    }
+
+    /**
+     * Span 마다 MDC 전체를 복사하는 흔한 구현
+     */
+    static class NaiveMdcListener implements SpanListener {
+        private final ThreadLocal<Deque<Map<String, String>>> saved = ThreadLocal.withInitial(ArrayDeque::new);
+
+        @Override
+        public void onBegin(TraceStatus status) {
+            Map<String, String> copy = MDC.getCopyOfContextMap();
+            saved.get().push(copy != null ? copy : Map.of());
+            MDC.put("traceId", status.getTraceId().getId());
+            MDC.put("spanLevel", Integer.toString(status.getTraceId().getLevel()));
+        }
+
+        @Override
+        public void onEnd(TraceStatus status, long resultTimeMs, Exception e) {
+            MDC.setContextMap(saved.get().pop());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package hello.springcoreadvanced1.trace.sink;
+
+import hello.springcoreadvanced1.trace.TraceId;
+import hello.springcoreadvanced1.trace.TraceStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sink 수에 따른 Span 하나 (시작 + 종료) 의 요청 쓰레드 비용<br>
+ * - sync: 요청 쓰레드에서 metrics Sink 직접 호출<br>
+ * - async: 대기열에 넣기만 함 (전용 쓰레드가 못 따라가면 버린다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SpanSinkPipelineBenchmark {
+    @Param({"1", "3", "5"})
+    public int sinks;
+
+    @Param({"sync", "async"})
+    public String mode;
+
+    private SpanSinkPipeline pipeline;
+    private TraceStatus status;
+
+    @Setup
+    public void setUp() {
+        Map<String, SpanSink> syncSinks = new LinkedHashMap<>();
+        List<AsyncSpanSink> asyncSinks = new ArrayList<>();
+        for (int i = 0; i < sinks; i++) {
+            MetricsSpanSink sink = new MetricsSpanSink(256);
+            if (mode.equals("sync")) {
+                syncSinks.put("metrics" + i, sink);
+            } else {
+                asyncSinks.add(new AsyncSpanSink("metrics" + i, sink, 8192, 256));
+            }
+        }
+        pipeline = new SpanSinkPipeline(syncSinks, asyncSinks);
+        pipeline.start();
+        status = new TraceStatus(new TraceId(), System.currentTimeMillis(), "OrderService.orderItem()");
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        pipeline.stop();
+    }
+
+    @Benchmark
+    public SpanSinkPipeline span() {
+        pipeline.onBegin(status);
+        pipeline.onEnd(status, 1, null);
+        return pipeline;
+    }
+}
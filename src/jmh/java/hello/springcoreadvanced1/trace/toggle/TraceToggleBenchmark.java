@@ -0,0 +1,52 @@
+package hello.springcoreadvanced1.trace.toggle;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.logtrace.ThreadLocalLogTrace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 꺼진 Span 의 begin/end 비용<br>
+ * - baseline: 추적 없음<br>
+ * - disabled: OFF 규칙에 걸린 Span<br>
+ * - enabled: 켜진 Span (로그 레벨 WARN 이라 출력은 생략, 시간 측정/TraceId 변경 비용만)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TraceToggleBenchmark {
+    private ThreadLocalLogTrace trace;
+
+    @Setup
+    public void setUp() {
+        TraceToggles toggles = TraceToggles.allEnabled();
+        toggles.setMode("OrderRepository.*", "OFF");
+        trace = new ThreadLocalLogTrace(new ThreadLocalLogTrace.Options().toggles(toggles));
+    }
+
+    @Benchmark
+    public int baseline() {
+        return 0;
+    }
+
+    @Benchmark
+    public TraceStatus disabled() {
+        TraceStatus status = trace.begin("OrderRepository.save()");
+        trace.end(status);
+        return status;
+    }
+
+    @Benchmark
+    public TraceStatus enabled() {
+        TraceStatus status = trace.begin("OrderService.orderItem()");
+        trace.end(status);
+        return status;
+    }
+}
@@ -0,0 +1,75 @@
+package hello.springcoreadvanced1.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 응답 시간 기록<br>
+ * - 예정된 요청 수만큼 미리 할당한 배열에 기록하고, 종료 후 정렬하여 정확한 백분위를 계산
+ */
+public class LatencyRecorder {
+    private final long[] latenciesNanos;
+    private final AtomicInteger count = new AtomicInteger();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private long[] sorted;
+
+    /**
+     * @param capacity 기록할 최대 요청 수
+     */
+    public LatencyRecorder(int capacity) {
+        this.latenciesNanos = new long[capacity];
+    }
+
+    /**
+     * @param latencyNanos 응답 시간
+     * @param error        실패 여부
+     */
+    public void record(long latencyNanos, boolean error) {
+        if (error) {
+            errors.increment();
+        }
+
+        int index = count.getAndIncrement();
+        if (index < latenciesNanos.length) {
+            latenciesNanos[index] = latencyNanos;
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * @return 기록된 요청 수
+     */
+    public int count() {
+        return Math.min(count.get(), latenciesNanos.length);
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    /**
+     * @param quantile 0.0 ~ 1.0
+     * @return 백분위 응답 시간 (ms)
+     */
+    public double percentileMs(double quantile) {
+        long[] values = sorted();
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+
+        int index = (int) Math.ceil(quantile * values.length) - 1;
+        return values[Math.max(0, Math.min(index, values.length - 1))] / 1_000_000.0;
+    }
+
+    private long[] sorted() {
+        if (sorted == null || sorted.length != count()) {
+            sorted = Arrays.copyOf(latenciesNanos, count());
+            Arrays.sort(sorted);
+        }
+        return sorted;
+    }
+}
@@ -0,0 +1,222 @@
+package hello.springcoreadvanced1.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * /v0 ~ /v6 로그 추적기 오버헤드 비교용 HTTP 부하 생성기<br>
+ * - Open Model: 응답과 무관하게 정해진 도착률(rate)로 요청을 보낸다.<br>
+ * - Coordinated Omission 보정: 실제 전송 시간이 아닌 예정된 전송 시간부터 응답 시간을 잰다.<br>
+ * - 대기 요청 한도 때문에 보내지 못한 요청은 응답 시간에 넣지 않고 dropped 로 따로 센다.<br>
+ * <p>
+ * 실행 예:
+ * <pre>
+ * ./gradlew bootRun --args='--order.repository.sleep-ms=0'
+ * ./gradlew loadTest --args='--rate=200 --duration=30 --versions=v0,v3,v5'
+ * </pre>
+ */
+public class OrderLoadGenerator {
+    private final HttpClient client;
+    private final Options options;
+
+    /**
+     * 동시에 대기 중인 요청 수 제한, 서버가 멈춰도 부하 생성기의 메모리가 터지지 않도록
+     */
+    private final Semaphore outstanding;
+
+    public OrderLoadGenerator(Options options) {
+        this.options = options;
+        this.outstanding = new Semaphore(options.maxOutstanding);
+
+        ExecutorService executor = Executors.newFixedThreadPool(options.clientThreads, runnable -> {
+            Thread thread = new Thread(runnable, "load-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        OrderLoadGenerator generator = new OrderLoadGenerator(options);
+
+        System.out.printf("baseUrl = %s, rate = %d/s, warmup = %ds, duration = %ds%n",
+                options.baseUrl, options.rate, options.warmupSeconds, options.durationSeconds);
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (String version : options.versions) {
+            generator.run(version, options.warmupSeconds);
+            results.put(version, generator.run(version, options.durationSeconds));
+        }
+
+        printReport(results);
+    }
+
+    /**
+     * 하나의 버전에 대해 정해진 도착률로 부하 생성
+     *
+     * @param version v0 ~ v6
+     * @param seconds 실행 시간
+     * @return 실행 결과
+     */
+    public Result run(String version, int seconds) throws InterruptedException {
+        URI uri = URI.create(options.baseUrl + "/" + version + "/request?itemId=" + options.itemId);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(options.timeoutMs))
+                .GET()
+                .build();
+
+        int total = Math.max(1, options.rate * seconds);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        LatencyRecorder recorder = new LatencyRecorder(total);
+        List<CompletableFuture<?>> inFlight = new ArrayList<>(total);
+        long dropped = 0;
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            long intendedNanos = startNanos + i * intervalNanos;
+            long waitNanos = intendedNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+
+            if (!outstanding.tryAcquire()) {
+                // 보내지도 않은 요청의 응답 시간 (~0ms) 이 백분위를 낮추지 않도록 따로 센다.
+                dropped++;
+                continue;
+            }
+
+            inFlight.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        outstanding.release();
+                        boolean error = ex != null || response.statusCode() >= 400;
+                        recorder.record(System.nanoTime() - intendedNanos, error);
+                    }));
+        }
+
+        for (CompletableFuture<?> future : inFlight) {
+            future.exceptionally(ex -> null).join();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        return new Result(recorder, dropped, elapsedNanos);
+    }
+
+    private static void printReport(Map<String, Result> results) {
+        System.out.printf("%n%-8s %12s %10s %10s %10s %10s %8s %8s%n",
+                "version", "throughput", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "error%", "dropped");
+        results.forEach((version, result) -> System.out.printf("%-8s %10.1f/s %10.2f %10.2f %10.2f %10.2f %7.2f%% %8d%n",
+                version,
+                result.throughput(),
+                result.recorder.percentileMs(0.50),
+                result.recorder.percentileMs(0.99),
+                result.recorder.percentileMs(0.999),
+                result.recorder.percentileMs(1.0),
+                result.errorRate() * 100,
+                result.getDropped()
+        ));
+    }
+
+    /**
+     * 버전별 실행 결과
+     */
+    public static class Result {
+        private final LatencyRecorder recorder;
+
+        /**
+         * 대기 요청 한도로 보내지 못한 요청 수
+         */
+        private final long dropped;
+        private final long elapsedNanos;
+
+        Result(LatencyRecorder recorder, long dropped, long elapsedNanos) {
+            this.recorder = recorder;
+            this.dropped = dropped;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public LatencyRecorder getRecorder() {
+            return recorder;
+        }
+
+        public long getDropped() {
+            return dropped;
+        }
+
+        public double throughput() {
+            long succeeded = recorder.count() - recorder.errors();
+            return succeeded / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        public double errorRate() {
+            return recorder.count() == 0 ? 0 : (double) recorder.errors() / recorder.count();
+        }
+    }
+
+    /**
+     * 실행 옵션, --name=value 형식
+     */
+    public static class Options {
+        String baseUrl = "http://localhost:8080";
+        List<String> versions = List.of("v0", "v1", "v2", "v3", "v4", "v5", "v6");
+        String itemId = "hello";
+        int rate = 100;
+        int warmupSeconds = 5;
+        int durationSeconds = 30;
+        int timeoutMs = 10_000;
+        int maxOutstanding = 10_000;
+        int clientThreads = 4;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("--name=value 형식이 아닙니다: " + arg);
+                }
+
+                String name = arg.substring(2, arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1);
+                switch (name) {
+                    case "base-url" -> options.baseUrl = value;
+                    case "versions" -> options.versions = List.of(value.split(","));
+                    case "item-id" -> options.itemId = value;
+                    case "rate" -> options.rate = Integer.parseInt(value);
+                    case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                    case "duration" -> options.durationSeconds = Integer.parseInt(value);
+                    case "timeout-ms" -> options.timeoutMs = Integer.parseInt(value);
+                    case "max-outstanding" -> options.maxOutstanding = Integer.parseInt(value);
+                    case "client-threads" -> options.clientThreads = Integer.parseInt(value);
+                    default -> throw new IllegalArgumentException("알 수 없는 옵션: " + name);
+                }
+            }
+            // rate 로 요청 간격을 나누므로 0 이하면 실행할 수 없다.
+            requirePositive("rate", options.rate);
+            requirePositive("max-outstanding", options.maxOutstanding);
+            requirePositive("client-threads", options.clientThreads);
+            return options;
+        }
+
+        private static void requirePositive(String name, int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " 는 0 보다 커야 합니다: " + value);
+            }
+        }
+    }
+}
@@ -2,12 +2,26 @@ package hello.springcoreadvanced1;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 public class AdvancedApplication {
 
+    /**
+     * 시작 단계 (Bean 생성 등) 기록 수, /trace/startup 으로 조회
+     */
+    static final int STARTUP_STEPS = 4096;
+
     public static void main(String[] args) {
-        SpringApplication.run(AdvancedApplication.class, args);
+        SpringApplication application = new SpringApplication(AdvancedApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+        ConfigurableApplicationContext context = application.run(args);
+
+        // CDS 아카이브 생성 (./gradlew cdsArchive) 처럼 시작만 하고 종료
+        if (context.getEnvironment().getProperty("startup.exit-on-ready", Boolean.class, false)) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 
 }
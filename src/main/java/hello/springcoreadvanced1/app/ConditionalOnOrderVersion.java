@@ -0,0 +1,25 @@
+package hello.springcoreadvanced1.app;
+
+import org.springframework.context.annotation.Conditional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * order.versions 에 포함된 버전의 Controller, Service, Repository 만 등록<br>
+ * - 예: order.versions=v3 이면 /v3 만 등록, 기본값 all 은 모든 버전 등록
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Conditional(OrderVersionCondition.class)
+public @interface ConditionalOnOrderVersion {
+
+    /**
+     * v0 ~ v6
+     */
+    String value();
+}
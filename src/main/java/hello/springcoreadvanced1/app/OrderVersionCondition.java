@@ -0,0 +1,30 @@
+package hello.springcoreadvanced1.app;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * {@link ConditionalOnOrderVersion} 판단, order.versions 는 쉼표로 구분 (대소문자 무시)
+ */
+public class OrderVersionCondition implements Condition {
+    public static final String PROPERTY = "order.versions";
+    public static final String ALL = "all";
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnOrderVersion.class.getName());
+        String version = (String) attributes.get("value");
+        String versions = context.getEnvironment().getProperty(PROPERTY, ALL);
+        return isEnabled(versions, version);
+    }
+
+    static boolean isEnabled(String versions, String version) {
+        return Arrays.stream(versions.split(","))
+                .map(String::trim)
+                .anyMatch(enabled -> enabled.equalsIgnoreCase(ALL) || enabled.equalsIgnoreCase(version));
+    }
+}
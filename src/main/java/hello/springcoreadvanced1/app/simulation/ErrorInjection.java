@@ -0,0 +1,38 @@
+package hello.springcoreadvanced1.app.simulation;
+
+/**
+ * 저장 실패 주입<br>
+ * - itemId = "ex" 외에도 일정 비율로 예외를 발생시킨다.
+ */
+public class ErrorInjection {
+    private final SimulationRandom random;
+    private final double rate;
+
+    /**
+     * @param rate 예외 발생 비율 (0.0 ~ 1.0)
+     */
+    public ErrorInjection(SimulationRandom random, double rate) {
+        if (rate < 0.0 || rate > 1.0) {
+            throw new IllegalArgumentException("rate 는 0.0 ~ 1.0 이어야 합니다: " + rate);
+        }
+        this.random = random;
+        this.rate = rate;
+    }
+
+    public static ErrorInjection none() {
+        return new ErrorInjection(null, 0.0);
+    }
+
+    /**
+     * 비율에 따라 예외 발생
+     */
+    public void inject() {
+        if (rate > 0.0 && random.nextDouble() < rate) {
+            throw new IllegalStateException("주입된 예외 발생!");
+        }
+    }
+
+    public double getRate() {
+        return rate;
+    }
+}
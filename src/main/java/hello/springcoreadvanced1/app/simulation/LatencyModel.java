@@ -0,0 +1,123 @@
+package hello.springcoreadvanced1.app.simulation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * 저장 지연 시간 분포
+ */
+public interface LatencyModel {
+
+    /**
+     * @return 다음 저장에 적용할 지연 시간 (ms)
+     */
+    long nextMillis();
+
+    /**
+     * @return 분포의 중앙값 (ms), 샘플과 무관하게 작업 예산을 잡을 때 사용
+     */
+    long medianMillis();
+
+    /**
+     * 고정 지연
+     */
+    static LatencyModel fixed(long millis) {
+        return of(millis, () -> millis);
+    }
+
+    /**
+     * [minMs, maxMs] 균등 분포
+     */
+    static LatencyModel uniform(SimulationRandom random, long minMs, long maxMs) {
+        if (minMs < 0 || maxMs < minMs) {
+            throw new IllegalArgumentException("0 <= minMs <= maxMs 이어야 합니다: minMs=" + minMs + ", maxMs=" + maxMs);
+        }
+        long range = maxMs - minMs + 1;
+        return of((minMs + maxMs) / 2, () -> minMs + (long) (random.nextDouble() * range));
+    }
+
+    /**
+     * 로그 정규 분포, 대부분 빠르고 일부가 느린 일반적인 저장소 응답
+     *
+     * @param medianMs 중앙값
+     * @param sigma    ln(지연 시간) 의 표준 편차, 클수록 꼬리가 길다.
+     * @param maxMs    상한
+     */
+    static LatencyModel logNormal(SimulationRandom random, double medianMs, double sigma, long maxMs) {
+        // NaN 도 거르도록 부정형으로 비교
+        if (!(medianMs > 0) || !(sigma >= 0) || maxMs < 0) {
+            throw new IllegalArgumentException("medianMs > 0, sigma >= 0, maxMs >= 0 이어야 합니다: medianMs=" + medianMs
+                    + ", sigma=" + sigma + ", maxMs=" + maxMs);
+        }
+        double mu = Math.log(medianMs);
+        return of(Math.min(maxMs, Math.round(medianMs)), () -> {
+            // Box-Muller, 두 난수를 카운터 값 하나에서 만든다.
+            long n = random.nextSequence();
+            double normal = Math.sqrt(-2.0 * Math.log(random.openDoubleAt(n, 0)))
+                    * Math.cos(2.0 * Math.PI * random.doubleAt(n, 1));
+            return Math.min(maxMs, Math.round(Math.exp(mu + sigma * normal)));
+        });
+    }
+
+    /**
+     * 파레토 분포, 드물지만 매우 느린 응답이 섞이는 두꺼운 꼬리
+     *
+     * @param scaleMs 최소값
+     * @param shape   꼬리 지수, 작을수록 꼬리가 두껍다.
+     * @param maxMs   상한
+     */
+    static LatencyModel pareto(SimulationRandom random, double scaleMs, double shape, long maxMs) {
+        if (!(scaleMs > 0) || !(shape > 0) || maxMs < 0) {
+            throw new IllegalArgumentException("scaleMs > 0, shape > 0, maxMs >= 0 이어야 합니다: scaleMs=" + scaleMs
+                    + ", shape=" + shape + ", maxMs=" + maxMs);
+        }
+        double inverseShape = 1.0 / shape;
+        long medianMs = Math.min(maxMs, Math.round(scaleMs * Math.pow(2.0, inverseShape)));
+        return of(medianMs, () -> Math.min(maxMs, Math.round(scaleMs / Math.pow(random.nextOpenDouble(), inverseShape))));
+    }
+
+    /**
+     * 기록된 지연 시간을 순서대로 반복 재생
+     *
+     * @param samples 지연 시간 (ms)
+     */
+    static LatencyModel replay(SimulationRandom random, long[] samples) {
+        if (samples.length == 0) {
+            throw new IllegalArgumentException("재생할 지연 시간이 없습니다.");
+        }
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return of(sorted[sorted.length / 2], () -> samples[(int) Math.floorMod(random.nextSequence(), (long) samples.length)]);
+    }
+
+    /**
+     * 한 줄에 하나씩 ms 단위 지연 시간이 기록된 파일 읽기, '#' 으로 시작하는 줄은 무시
+     */
+    static long[] readSamples(Path path) {
+        try (var lines = Files.lines(path)) {
+            return lines.map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .mapToLong(Long::parseLong)
+                    .toArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("지연 시간 파일을 읽을 수 없습니다: " + path, e);
+        }
+    }
+
+    private static LatencyModel of(long medianMs, LongSupplier sampler) {
+        return new LatencyModel() {
+            @Override
+            public long nextMillis() {
+                return sampler.getAsLong();
+            }
+
+            @Override
+            public long medianMillis() {
+                return medianMs;
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package hello.springcoreadvanced1.app.simulation;
+
+/**
+ * OrderRepository 저장 시뮬레이션<br>
+ * - 지연 시간: {@link LatencyModel}<br>
+ * - 실패: {@link ErrorInjection}<br>
+ * - suspend() ~ resume() 동안은 지연/실패 없이 바로 반환 (시작 시 warmup 용 no-op 저장소)
+ */
+public class OrderRepositorySimulation {
+    private final LatencyModel latencyModel;
+    private final ErrorInjection errorInjection;
+    private volatile boolean suspended;
+
+    public OrderRepositorySimulation(LatencyModel latencyModel, ErrorInjection errorInjection) {
+        this.latencyModel = latencyModel;
+        this.errorInjection = errorInjection;
+    }
+
+    /**
+     * @return 다음 저장에 적용할 지연 시간
+     */
+    public long nextMillis() {
+        return suspended ? 0L : latencyModel.nextMillis();
+    }
+
+    /**
+     * @return 저장 한 번의 예상 지연 시간 (분포의 중앙값), 마감 시간 예산 확인용
+     */
+    public long medianMillis() {
+        return suspended ? 0L : latencyModel.medianMillis();
+    }
+
+    /**
+     * 설정된 비율로 저장 실패
+     */
+    public void injectFailure() {
+        if (!suspended) {
+            errorInjection.inject();
+        }
+    }
+
+    /**
+     * 지연/실패 시뮬레이션 중지
+     */
+    public void suspend() {
+        suspended = true;
+    }
+
+    public void resume() {
+        suspended = false;
+    }
+
+    public boolean isSuspended() {
+        return suspended;
+    }
+}
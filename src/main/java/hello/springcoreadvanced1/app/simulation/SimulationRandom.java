@@ -0,0 +1,89 @@
+package hello.springcoreadvanced1.app.simulation;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 카운터 기반 난수 생성기<br>
+ * - n 번째 난수는 (seed, n) 으로만 결정되므로 여러 쓰레드가 나눠 써도 같은 seed 면 같은 값 집합을 만든다.<br>
+ * - 내부 상태는 카운터 하나뿐이라 잠금이 필요 없다.<br>
+ * - 샘플 하나에 난수가 여러 개 필요하면 카운터 값 n 하나를 받아 lane 별로 만든다 ({@link #doubleAt}).
+ * 카운터를 여러 번 증가시키면 쓰레드끼리 순서가 섞여 같은 seed 라도 다른 샘플이 나온다.<br>
+ * - 지연 시간/실패처럼 서로 독립인 용도는 {@link #fork(long)} 로 별도 난수열을 쓴다.
+ */
+public class SimulationRandom {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final long LANE_GAMMA = 0xd1b54a32d192ed03L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private final long seed;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SimulationRandom(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @return seed 가 없는 경우 실행마다 다른 난수 생성기
+     */
+    public static SimulationRandom unseeded() {
+        return new SimulationRandom(mix64(System.nanoTime()));
+    }
+
+    /**
+     * @param stream 용도 구분 번호
+     * @return seed 와 stream 으로 정해지는 별도 카운터의 난수 생성기
+     */
+    public SimulationRandom fork(long stream) {
+        return new SimulationRandom(mix64(seed ^ mix64(stream + GOLDEN_GAMMA)));
+    }
+
+    /**
+     * @return [0, 1) 범위의 난수
+     */
+    public double nextDouble() {
+        return doubleAt(nextSequence(), 0);
+    }
+
+    /**
+     * @return (0, 1) 범위의 난수, 역함수 변환에서 0 을 피하기 위함
+     */
+    public double nextOpenDouble() {
+        return openDoubleAt(nextSequence(), 0);
+    }
+
+    /**
+     * @param n    {@link #nextSequence()} 로 받은 카운터 값
+     * @param lane 같은 n 에서 서로 다른 난수를 만들기 위한 번호
+     * @return [0, 1) 범위의 난수
+     */
+    public double doubleAt(long n, int lane) {
+        return (bits(n, lane) >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * @return (0, 1) 범위의 난수, {@link #doubleAt} 과 같은 값을 반 칸 밀어 0 을 피한다.
+     */
+    public double openDoubleAt(long n, int lane) {
+        return ((bits(n, lane) >>> 11) + 0.5) * DOUBLE_UNIT;
+    }
+
+    /**
+     * @return 재생 위치 등 순서가 필요한 곳에 쓰는 증가 카운터
+     */
+    public long nextSequence() {
+        return sequence.getAndIncrement();
+    }
+
+    private long bits(long n, int lane) {
+        return mix64(seed + n * GOLDEN_GAMMA + lane * LANE_GAMMA);
+    }
+
+    /**
+     * SplitMix64 finalizer
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,11 +1,13 @@
 package hello.springcoreadvanced1.app.v0;
 
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+@ConditionalOnOrderVersion("v0")
 @RestController
 @RequestMapping("/v0")
 @RequiredArgsConstructor
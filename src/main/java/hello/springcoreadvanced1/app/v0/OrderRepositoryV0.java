@@ -1,22 +1,27 @@
 package hello.springcoreadvanced1.app.v0;
 
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
+import hello.springcoreadvanced1.app.simulation.OrderRepositorySimulation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
 @Slf4j
+@ConditionalOnOrderVersion("v0")
 @Repository
 @RequiredArgsConstructor
 public class OrderRepositoryV0 {
+    private final OrderRepositorySimulation simulation;
 
     public void save(String itemId) {
         if (itemId.equals("ex")) {
             throw new IllegalStateException("예외 발생!");
         }
-        this.sleep(1000);
+        this.sleep(simulation.nextMillis());
+        simulation.injectFailure();
     }
 
-    private void sleep(int millis) {
+    private void sleep(long millis) {
         try {
             Thread.sleep(millis);
         } catch (InterruptedException e) {
@@ -1,8 +1,10 @@
 package hello.springcoreadvanced1.app.v0;
 
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+@ConditionalOnOrderVersion("v0")
 @Service
 @RequiredArgsConstructor
 public class OrderServiceV0 {
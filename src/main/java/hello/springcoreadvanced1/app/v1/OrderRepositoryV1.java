@@ -1,5 +1,7 @@
 package hello.springcoreadvanced1.app.v1;
 
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
+import hello.springcoreadvanced1.app.simulation.OrderRepositorySimulation;
 import hello.springcoreadvanced1.trace.TraceStatus;
 import hello.springcoreadvanced1.trace.hellotrace.HelloTraceV1;
 import lombok.RequiredArgsConstructor;
@@ -7,11 +9,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
 @Slf4j
+@ConditionalOnOrderVersion("v1")
 @Repository
 @RequiredArgsConstructor
 public class OrderRepositoryV1 {
 
     private final HelloTraceV1 trace;
+    private final OrderRepositorySimulation simulation;
 
     public void save(String itemId) {
         TraceStatus status = null;
@@ -21,7 +25,8 @@ public class OrderRepositoryV1 {
             if (itemId.equals("ex")) {
                 throw new IllegalStateException("예외 발생!");
             }
-            this.sleep(1000);
+            this.sleep(simulation.nextMillis());
+            simulation.injectFailure();
 
             trace.end(status);
         } catch (Exception e) {
@@ -31,7 +36,7 @@ public class OrderRepositoryV1 {
 
     }
 
-    private void sleep(int millis) {
+    private void sleep(long millis) {
         try {
             Thread.sleep(millis);
         } catch (InterruptedException e) {
@@ -1,10 +1,12 @@
 package hello.springcoreadvanced1.app.v1;
 
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
 import hello.springcoreadvanced1.trace.TraceStatus;
 import hello.springcoreadvanced1.trace.hellotrace.HelloTraceV1;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+@ConditionalOnOrderVersion("v1")
 @Service
 @RequiredArgsConstructor
 public class OrderServiceV1 {
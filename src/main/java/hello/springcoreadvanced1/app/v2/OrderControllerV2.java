@@ -1,5 +1,6 @@
 package hello.springcoreadvanced1.app.v2;
 
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
 import hello.springcoreadvanced1.trace.TraceStatus;
 import hello.springcoreadvanced1.trace.hellotrace.HelloTraceV2;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +9,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+@ConditionalOnOrderVersion("v2")
 @RestController
 @RequestMapping("/v2")
 @RequiredArgsConstructor
@@ -1,5 +1,7 @@
 package hello.springcoreadvanced1.app.v2;
 
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
+import hello.springcoreadvanced1.app.simulation.OrderRepositorySimulation;
 import hello.springcoreadvanced1.trace.TraceId;
 import hello.springcoreadvanced1.trace.TraceStatus;
 import hello.springcoreadvanced1.trace.hellotrace.HelloTraceV2;
@@ -8,11 +10,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
 @Slf4j
+@ConditionalOnOrderVersion("v2")
 @Repository
 @RequiredArgsConstructor
 public class OrderRepositoryV2 {
 
     private final HelloTraceV2 trace;
+    private final OrderRepositorySimulation simulation;
 
     public void save(TraceId traceId, String itemId) {
         TraceStatus status = null;
@@ -23,7 +27,8 @@ public class OrderRepositoryV2 {
             if (itemId.equals("ex")) {
                 throw new IllegalStateException("예외 발생!");
             }
-            this.sleep(1000);
+            this.sleep(simulation.nextMillis());
+            simulation.injectFailure();
             // 로직 종료
 
             trace.end(status);
@@ -34,7 +39,7 @@ public class OrderRepositoryV2 {
 
     }
 
-    private void sleep(int millis) {
+    private void sleep(long millis) {
         try {
             Thread.sleep(millis);
         } catch (InterruptedException e) {
@@ -1,11 +1,13 @@
 package hello.springcoreadvanced1.app.v2;
 
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
 import hello.springcoreadvanced1.trace.TraceId;
 import hello.springcoreadvanced1.trace.TraceStatus;
 import hello.springcoreadvanced1.trace.hellotrace.HelloTraceV2;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+@ConditionalOnOrderVersion("v2")
 @Service
 @RequiredArgsConstructor
 public class OrderServiceV2 {
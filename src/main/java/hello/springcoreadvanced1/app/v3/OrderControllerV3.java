@@ -1,5 +1,6 @@
 package hello.springcoreadvanced1.app.v3;
 
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
 import hello.springcoreadvanced1.trace.TraceStatus;
 import hello.springcoreadvanced1.trace.logtrace.LogTrace;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +9,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+@ConditionalOnOrderVersion("v3")
 @RestController
 @RequestMapping("/v3")
 @RequiredArgsConstructor
@@ -23,6 +25,7 @@ public class OrderControllerV3 {
 
         try {
             status = trace.begin("OrderController.request()");
+            status.tag("itemId", itemId);
 
             // 로직 시작
             orderService.orderItem(itemId);
@@ -1,5 +1,7 @@
 package hello.springcoreadvanced1.app.v3;
 
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
+import hello.springcoreadvanced1.app.simulation.OrderRepositorySimulation;
 import hello.springcoreadvanced1.trace.TraceStatus;
 import hello.springcoreadvanced1.trace.logtrace.LogTrace;
 import lombok.RequiredArgsConstructor;
@@ -7,22 +9,26 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
 @Slf4j
+@ConditionalOnOrderVersion("v3")
 @Repository
 @RequiredArgsConstructor
 public class OrderRepositoryV3 {
 
     private final LogTrace trace;
+    private final OrderRepositorySimulation simulation;
 
     public void save(String itemId) {
         TraceStatus status = null;
         try {
             status = trace.begin("OrderRepository.save()");
+            status.tag("itemId", itemId);
 
             // 로직 시작
             if (itemId.equals("ex")) {
                 throw new IllegalStateException("예외 발생!");
             }
-            this.sleep(1000);
+            this.sleep(simulation.nextMillis());
+            simulation.injectFailure();
             // 로직 종료
 
             trace.end(status);
@@ -33,7 +39,7 @@ public class OrderRepositoryV3 {
 
     }
 
-    private void sleep(int millis) {
+    private void sleep(long millis) {
         try {
             Thread.sleep(millis);
         } catch (InterruptedException e) {
@@ -1,10 +1,12 @@
 package hello.springcoreadvanced1.app.v3;
 
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
 import hello.springcoreadvanced1.trace.TraceStatus;
 import hello.springcoreadvanced1.trace.logtrace.LogTrace;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+@ConditionalOnOrderVersion("v3")
 @Service
 @RequiredArgsConstructor
 public class OrderServiceV3 {
@@ -15,6 +17,7 @@ public class OrderServiceV3 {
         TraceStatus status = null;
         try {
             status = trace.begin("OrderService.orderItem()");
+            status.tag("itemId", itemId);
 
             // 로직 시작
             orderRepository.save(itemId);
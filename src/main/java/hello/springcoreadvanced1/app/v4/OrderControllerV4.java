@@ -1,5 +1,7 @@
 package hello.springcoreadvanced1.app.v4;
 
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
+import hello.springcoreadvanced1.trace.TraceStatus;
 import hello.springcoreadvanced1.trace.logtrace.LogTrace;
 import hello.springcoreadvanced1.trace.template.AbstractTemplate;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +10,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+@ConditionalOnOrderVersion("v4")
 @RestController
 @RequestMapping("/v4")
 @RequiredArgsConstructor
@@ -20,6 +23,11 @@ public class OrderControllerV4 {
             @RequestParam String itemId
     ) {
         AbstractTemplate<String> abstractTemplate = new AbstractTemplate<>(trace) {
+            @Override
+            protected void tag(TraceStatus status) {
+                status.tag("itemId", itemId);
+            }
+
             @Override
             protected String call() {
                 orderService.orderItem(itemId);
@@ -1,5 +1,8 @@
 package hello.springcoreadvanced1.app.v4;
 
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
+import hello.springcoreadvanced1.app.simulation.OrderRepositorySimulation;
+import hello.springcoreadvanced1.trace.TraceStatus;
 import hello.springcoreadvanced1.trace.logtrace.LogTrace;
 import hello.springcoreadvanced1.trace.template.AbstractTemplate;
 import lombok.RequiredArgsConstructor;
@@ -7,20 +10,28 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
 @Slf4j
+@ConditionalOnOrderVersion("v4")
 @Repository
 @RequiredArgsConstructor
 public class OrderRepositoryV4 {
 
     private final LogTrace trace;
+    private final OrderRepositorySimulation simulation;
 
     public void save(String itemId) {
         AbstractTemplate<Void> abstractTemplate = new AbstractTemplate<>(trace) {
+            @Override
+            protected void tag(TraceStatus status) {
+                status.tag("itemId", itemId);
+            }
+
             @Override
             protected Void call() {
                 if (itemId.equals("ex")) {
                     throw new IllegalStateException("예외 발생!");
                 }
-                sleep(1000);
+                sleep(simulation.nextMillis());
+                simulation.injectFailure();
 
                 return null;
             }
@@ -29,7 +40,7 @@ public class OrderRepositoryV4 {
         abstractTemplate.execute("OrderRepository.save()");
     }
 
-    private void sleep(int millis) {
+    private void sleep(long millis) {
         try {
             Thread.sleep(millis);
         } catch (InterruptedException e) {
@@ -1,10 +1,13 @@
 package hello.springcoreadvanced1.app.v4;
 
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
+import hello.springcoreadvanced1.trace.TraceStatus;
 import hello.springcoreadvanced1.trace.logtrace.LogTrace;
 import hello.springcoreadvanced1.trace.template.AbstractTemplate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+@ConditionalOnOrderVersion("v4")
 @Service
 @RequiredArgsConstructor
 public class OrderServiceV4 {
@@ -13,6 +16,11 @@ public class OrderServiceV4 {
 
     public void orderItem(String itemId) {
         AbstractTemplate<Void> abstractTemplate = new AbstractTemplate<>(trace) {
+            @Override
+            protected void tag(TraceStatus status) {
+                status.tag("itemId", itemId);
+            }
+
             @Override
             protected Void call() {
                 orderRepository.save(itemId);
@@ -1,5 +1,6 @@
 package hello.springcoreadvanced1.app.v5;
 
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
 import hello.springcoreadvanced1.trace.callback.TraceTemplate;
 import hello.springcoreadvanced1.trace.logtrace.LogTrace;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -7,6 +8,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+@ConditionalOnOrderVersion("v5")
 @RestController
 @RequestMapping("/v5")
 public class OrderControllerV5 {
@@ -24,7 +26,8 @@ public class OrderControllerV5 {
     ) {
         return template.execute(
                 "OrderController.request()",
-                () -> {
+                status -> {
+                    status.tag("itemId", itemId);
                     orderService.orderItem(itemId);
                     return itemId;
                 }
@@ -1,34 +1,43 @@
 package hello.springcoreadvanced1.app.v5;
 
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
+import hello.springcoreadvanced1.app.simulation.OrderRepositorySimulation;
 import hello.springcoreadvanced1.trace.callback.TraceTemplate;
 import hello.springcoreadvanced1.trace.logtrace.LogTrace;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
 @Slf4j
+@ConditionalOnOrderVersion("v5")
 @Repository
 public class OrderRepositoryV5 {
 
     private final TraceTemplate template;
+    private final OrderRepositorySimulation simulation;
 
-    public OrderRepositoryV5(LogTrace logTrace) {
+    public OrderRepositoryV5(LogTrace logTrace, OrderRepositorySimulation simulation) {
         this.template = new TraceTemplate(logTrace);
+        this.simulation = simulation;
     }
 
     public void save(String itemId) {
-        template.execute(
+        // 이번 샘플이 아닌 예상 (중앙값) 지연 시간으로 예산을 확인한다.
+        template.executeWithinDeadline(
                 "OrderRepository.save()",
-                () -> {
+                simulation.medianMillis(),
+                status -> {
+                    status.tag("itemId", itemId);
                     if (itemId.equals("ex")) {
                         throw new IllegalStateException("예외 발생!");
                     }
-                    sleep(1000);
+                    sleep(simulation.nextMillis());
+                    simulation.injectFailure();
                     return null;
                 }
         );
     }
 
-    private void sleep(int millis) {
+    private void sleep(long millis) {
         try {
             Thread.sleep(millis);
         } catch (InterruptedException e) {
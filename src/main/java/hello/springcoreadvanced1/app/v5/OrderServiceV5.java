@@ -1,9 +1,11 @@
 package hello.springcoreadvanced1.app.v5;
 
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
 import hello.springcoreadvanced1.trace.callback.TraceTemplate;
 import hello.springcoreadvanced1.trace.logtrace.LogTrace;
 import org.springframework.stereotype.Service;
 
+@ConditionalOnOrderVersion("v5")
 @Service
 public class OrderServiceV5 {
     private final OrderRepositoryV5 orderRepository;
@@ -15,9 +17,10 @@ public class OrderServiceV5 {
     }
 
     public void orderItem(String itemId) {
-        template.execute(
+        template.executeWithinDeadline(
                 "OrderService.orderItem()",
-                () -> {
+                status -> {
+                    status.tag("itemId", itemId);
                     orderRepository.save(itemId);
                     return null;
                 }
@@ -0,0 +1,36 @@
+package hello.springcoreadvanced1.app.v6;
+
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
+import hello.springcoreadvanced1.trace.callback.TraceTemplate;
+import hello.springcoreadvanced1.trace.logtrace.LogTrace;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@ConditionalOnOrderVersion("v6")
+@RestController
+@RequestMapping("/v6")
+public class OrderControllerV6 {
+    private final OrderServiceV6 orderService;
+    private final TraceTemplate template;
+
+    public OrderControllerV6(OrderServiceV6 orderService, LogTrace logTrace) {
+        this.orderService = orderService;
+        this.template = new TraceTemplate(logTrace);
+    }
+
+    @GetMapping("/request")
+    public String request(
+            @RequestParam String itemId
+    ) {
+        return template.execute(
+                "OrderController.request()",
+                status -> {
+                    status.tag("itemId", itemId);
+                    orderService.orderItem(itemId);
+                    return itemId;
+                }
+        );
+    }
+}
@@ -0,0 +1,62 @@
+package hello.springcoreadvanced1.app.v6;
+
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
+import hello.springcoreadvanced1.trace.callback.TraceTask;
+import hello.springcoreadvanced1.trace.callback.TraceTemplate;
+import hello.springcoreadvanced1.trace.logtrace.LogTrace;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * V6: 재고/결제/배송 저장을 병렬로 실행<br>
+ * - 전체 지연 시간: 단계 합계 -> 가장 느린 단계<br>
+ * - 한 단계가 실패하면 나머지 단계는 취소
+ */
+@ConditionalOnOrderVersion("v6")
+@Service
+public class OrderServiceV6 {
+    private final OrderStepRepositoryV6 inventoryRepository;
+    private final OrderStepRepositoryV6 paymentRepository;
+    private final OrderStepRepositoryV6 shippingRepository;
+    private final ExecutorService executor;
+    private final int maxParallelism;
+    private final TraceTemplate template;
+
+    public OrderServiceV6(
+            @Qualifier("inventoryRepositoryV6") OrderStepRepositoryV6 inventoryRepository,
+            @Qualifier("paymentRepositoryV6") OrderStepRepositoryV6 paymentRepository,
+            @Qualifier("shippingRepositoryV6") OrderStepRepositoryV6 shippingRepository,
+            @Qualifier("orderWorkflowExecutor") ExecutorService executor,
+            @Value("${order.workflow.max-parallelism:3}") int maxParallelism,
+            LogTrace logTrace
+    ) {
+        this.inventoryRepository = inventoryRepository;
+        this.paymentRepository = paymentRepository;
+        this.shippingRepository = shippingRepository;
+        this.executor = executor;
+        this.maxParallelism = maxParallelism;
+        this.template = new TraceTemplate(logTrace);
+    }
+
+    public void orderItem(String itemId) {
+        template.execute(
+                "OrderService.orderItem()",
+                () -> template.executeAll(executor, List.of(
+                        step(inventoryRepository, itemId),
+                        step(paymentRepository, itemId),
+                        step(shippingRepository, itemId)
+                ), maxParallelism)
+        );
+    }
+
+    private static TraceTask<Void> step(OrderStepRepositoryV6 repository, String itemId) {
+        return TraceTask.of(repository.spanName(), () -> {
+            repository.save(itemId);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package hello.springcoreadvanced1.app.v6;
+
+import hello.springcoreadvanced1.app.simulation.OrderRepositorySimulation;
+
+/**
+ * 재고/결제/배송 저장 단계, 단계마다 이름만 다르게 {@link hello.springcoreadvanced1.config.OrderWorkflowConfig} 에서 등록<br>
+ * - Span 은 {@link OrderServiceV6} 에서 하위 Span 으로 생성
+ */
+public class OrderStepRepositoryV6 {
+    private final String name;
+    private final OrderRepositorySimulation simulation;
+
+    /**
+     * @param name 단계 이름, 예: "InventoryRepository"
+     */
+    public OrderStepRepositoryV6(String name, OrderRepositorySimulation simulation) {
+        this.name = name;
+        this.simulation = simulation;
+    }
+
+    /**
+     * @return Span 이름, 예: "InventoryRepository.save()"
+     */
+    public String spanName() {
+        return name + ".save()";
+    }
+
+    public void save(String itemId) {
+        if (itemId.equals("ex")) {
+            throw new IllegalStateException("예외 발생!");
+        }
+        sleep(simulation.nextMillis());
+        simulation.injectFailure();
+    }
+
+    /**
+     * 다른 단계가 실패해 취소되면 인터럽트로 즉시 중단
+     */
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("취소됨", e);
+        }
+    }
+}
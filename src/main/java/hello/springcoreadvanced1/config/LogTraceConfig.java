@@ -1,14 +1,295 @@
 package hello.springcoreadvanced1.config;
 
+import hello.springcoreadvanced1.trace.clock.TraceClock;
+import hello.springcoreadvanced1.trace.deadline.DeadlineFilter;
+import hello.springcoreadvanced1.trace.deadline.DeadlineInterceptor;
+import hello.springcoreadvanced1.trace.exception.ExceptionAggregator;
+import hello.springcoreadvanced1.trace.flame.FlameGraphAggregator;
+import hello.springcoreadvanced1.trace.gc.GcPauseMonitor;
+import hello.springcoreadvanced1.trace.inflight.InFlightTraceRegistry;
+import hello.springcoreadvanced1.trace.inflight.InFlightTraceWatchdog;
+import hello.springcoreadvanced1.trace.json.JsonSpanEncoder;
+import hello.springcoreadvanced1.trace.json.JsonSpanListener;
+import hello.springcoreadvanced1.trace.json.OutputStreamSpanAppender;
+import hello.springcoreadvanced1.trace.leak.TraceLeakGuardFilter;
+import hello.springcoreadvanced1.trace.limit.AdaptiveConcurrencyLimiter;
+import hello.springcoreadvanced1.trace.limit.ConcurrencyLimitFilter;
 import hello.springcoreadvanced1.trace.logtrace.LogTrace;
 import hello.springcoreadvanced1.trace.logtrace.ThreadLocalLogTrace;
+import hello.springcoreadvanced1.trace.overhead.TracerOverheadRecorder;
+import hello.springcoreadvanced1.trace.propagation.TraceparentFilter;
+import hello.springcoreadvanced1.trace.propagation.TraceparentInterceptor;
+import hello.springcoreadvanced1.trace.servertiming.ServerTimingCollector;
+import hello.springcoreadvanced1.trace.sink.AsyncSpanSink;
+import hello.springcoreadvanced1.trace.sink.FileSpanSink;
+import hello.springcoreadvanced1.trace.sink.JfrSpanSink;
+import hello.springcoreadvanced1.trace.sink.LogSpanSink;
+import hello.springcoreadvanced1.trace.sink.MemorySpanSink;
+import hello.springcoreadvanced1.trace.sink.MetricsSpanSink;
+import hello.springcoreadvanced1.trace.sink.SpanSink;
+import hello.springcoreadvanced1.trace.sink.SpanSinkPipeline;
+import hello.springcoreadvanced1.trace.sketch.SpanLatencySketches;
+import hello.springcoreadvanced1.trace.span.SpanListener;
+import hello.springcoreadvanced1.trace.toggle.TraceMode;
+import hello.springcoreadvanced1.trace.topk.HeavyHitterTracker;
+import hello.springcoreadvanced1.trace.toggle.TraceToggles;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableMBeanExport;
+import org.springframework.core.env.Environment;
+import org.springframework.jmx.support.RegistrationPolicy;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
+@EnableMBeanExport(registration = RegistrationPolicy.REPLACE_EXISTING)
 public class LogTraceConfig {
+    /**
+     * trace.mdc.enabled=true 이면 최상위 Span 동안 MDC 에 traceId 기록<br>
+     * - 예: logging.pattern.level=%5p [%X{traceId:-}]
+     */
+    @Bean
+    public LogTrace logTrace(
+            InFlightTraceRegistry inFlightTraceRegistry,
+            ObjectProvider<SpanListener> spanListeners,
+            TraceToggles traceToggles,
+            ObjectProvider<ExceptionAggregator> exceptionAggregator,
+            ObjectProvider<TracerOverheadRecorder> overheadRecorder,
+            TraceClock traceClock,
+            @Value("${trace.sink.log.enabled:true}") boolean logEnabled,
+            @Value("${trace.mdc.enabled:false}") boolean mdcEnabled
+    ) {
+        return new ThreadLocalLogTrace(new ThreadLocalLogTrace.Options()
+                .registry(inFlightTraceRegistry)
+                .listeners(spanListeners.orderedStream().toList())
+                .toggles(traceToggles)
+                .output(logEnabled ? new LogSpanSink(exceptionAggregator.getIfAvailable()) : SpanSink.NONE)
+                .overheadRecorder(overheadRecorder.getIfAvailable())
+                .clock(traceClock)
+                .mdc(mdcEnabled));
+    }
+
+    /**
+     * Span 시간 측정 시계, trace.clock.type=system(기본), coarse, nano, calibrated
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public TraceClock traceClock(
+            @Value("${trace.clock.type:system}") String type,
+            @Value("${trace.clock.tick-ms:1}") long tickMs
+    ) {
+        return TraceClock.of(type, tickMs);
+    }
+
+    /**
+     * 요청별 추적기 자체 비용 측정, 켜면 begin/end 마다 System.nanoTime() 두 번이 추가된다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "trace.overhead.enabled", havingValue = "true")
+    public TracerOverheadRecorder tracerOverheadRecorder(
+            @Value("${trace.overhead.relative-accuracy:0.01}") double relativeAccuracy
+    ) {
+        return new TracerOverheadRecorder(relativeAccuracy);
+    }
+
+    /**
+     * 로그 외 Span 출력, 예: trace.sinks=metrics,memory,file,jfr<br>
+     * - trace.sink.{name}.async: 전용 쓰레드 사용 여부 (기본 true, jfr 은 false)<br>
+     * - trace.sink.{name}.queue-size, batch-size: 비동기 Sink 대기열 크기, 묶음 크기
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "trace.sinks")
+    public SpanSinkPipeline spanSinkPipeline(
+            @Value("${trace.sinks}") List<String> names,
+            Environment environment
+    ) throws FileNotFoundException {
+        Map<String, SpanSink> syncSinks = new LinkedHashMap<>();
+        List<AsyncSpanSink> asyncSinks = new ArrayList<>();
+        for (String name : names) {
+            String prefix = "trace.sink." + name + ".";
+            SpanSink sink = switch (name) {
+                case "metrics" -> new MetricsSpanSink(environment.getProperty(prefix + "max-spans", Integer.class, 256));
+                case "memory" -> new MemorySpanSink(environment.getProperty(prefix + "capacity", Integer.class, 1000));
+                case "file" -> new FileSpanSink(environment.getProperty(prefix + "path", "spans.ndjson"));
+                case "jfr" -> new JfrSpanSink();
+                default -> throw new IllegalArgumentException("알 수 없는 sink: " + name);
+            };
+
+            if (environment.getProperty(prefix + "async", Boolean.class, !name.equals("jfr"))) {
+                asyncSinks.add(new AsyncSpanSink(
+                        name,
+                        sink,
+                        environment.getProperty(prefix + "queue-size", Integer.class, 8192),
+                        environment.getProperty(prefix + "batch-size", Integer.class, 256)
+                ));
+            } else {
+                syncSinks.put(name, sink);
+            }
+        }
+        return new SpanSinkPipeline(syncSinks, asyncSinks);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "trace.exception-aggregation.enabled", havingValue = "true")
+    public ExceptionAggregator exceptionAggregator(
+            @Value("${trace.exception-aggregation.max-entries:1024}") int maxEntries,
+            @Value("${trace.exception-aggregation.interval-ms:10000}") long intervalMs
+    ) {
+        return new ExceptionAggregator(maxEntries, intervalMs);
+    }
+
+    @Bean
+    public TraceToggles traceToggles(@Value("${trace.toggles.default-mode:FULL}") TraceMode defaultMode) {
+        return new TraceToggles(defaultMode);
+    }
+
+    @Bean
+    public InFlightTraceRegistry inFlightTraceRegistry() {
+        return new InFlightTraceRegistry();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public InFlightTraceWatchdog inFlightTraceWatchdog(
+            InFlightTraceRegistry inFlightTraceRegistry,
+            @Value("${trace.watchdog.deadline-ms:5000}") long deadlineMs,
+            @Value("${trace.watchdog.interval-ms:1000}") long intervalMs
+    ) {
+        return new InFlightTraceWatchdog(inFlightTraceRegistry, deadlineMs, intervalMs);
+    }
+
     @Bean
-    public LogTrace logTrace() {
-        return new ThreadLocalLogTrace();
+    public TraceLeakGuardFilter traceLeakGuardFilter(LogTrace logTrace) {
+        return new TraceLeakGuardFilter(logTrace);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "trace.server-timing.enabled", havingValue = "true")
+    public ServerTimingCollector serverTimingCollector() {
+        return new ServerTimingCollector();
+    }
+
+    @Bean
+    public TraceparentFilter traceparentFilter() {
+        return new TraceparentFilter();
+    }
+
+    /**
+     * RestTemplateBuilder 로 만든 RestTemplate 에 traceparent 헤더 전파
+     */
+    @Bean
+    public RestTemplateCustomizer traceparentRestTemplateCustomizer(LogTrace logTrace) {
+        TraceparentInterceptor interceptor = new TraceparentInterceptor(logTrace);
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+
+    /**
+     * 경로별 기본 제한 시간, 예: trace.deadline.endpoints=/v5/request=800,/v6/request=500
+     */
+    @Bean
+    public DeadlineFilter deadlineFilter(@Value("${trace.deadline.endpoints:}") String endpoints) {
+        return new DeadlineFilter(DeadlineFilter.parseEndpointTimeouts(endpoints));
+    }
+
+    /**
+     * RestTemplateBuilder 로 만든 RestTemplate 에 남은 시간 전파
+     */
+    @Bean
+    public RestTemplateCustomizer deadlineRestTemplateCustomizer(LogTrace logTrace) {
+        DeadlineInterceptor interceptor = new DeadlineInterceptor(logTrace);
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "trace.limit.enabled", havingValue = "true")
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            @Value("${trace.limit.initial:20}") int initialLimit,
+            @Value("${trace.limit.min:1}") int minLimit,
+            @Value("${trace.limit.max:200}") int maxLimit
+    ) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "trace.limit.enabled", havingValue = "true")
+    public ConcurrencyLimitFilter concurrencyLimitFilter(AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter) {
+        return new ConcurrencyLimitFilter(adaptiveConcurrencyLimiter);
+    }
+
+    /**
+     * JSON Span 기록 대상, trace.json.file 이 없으면 표준 출력
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "trace.json.enabled", havingValue = "true")
+    public OutputStreamSpanAppender jsonSpanAppender(@Value("${trace.json.file:}") String file) throws FileNotFoundException {
+        if (file.isBlank()) {
+            return OutputStreamSpanAppender.stdout();
+        }
+        return new OutputStreamSpanAppender(new FileOutputStream(file, true));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "trace.json.enabled", havingValue = "true")
+    public JsonSpanListener jsonSpanListener(OutputStreamSpanAppender jsonSpanAppender) {
+        return new JsonSpanListener(new JsonSpanEncoder(), jsonSpanAppender);
+    }
+
+    /**
+     * Span 이름, 속성 값별 Top-K, 기본 범위는 10초 * 6 = 최근 1분
+     */
+    @Bean
+    @ConditionalOnProperty(name = "trace.topk.enabled", havingValue = "true")
+    public HeavyHitterTracker heavyHitterTracker(
+            @Value("${trace.topk.attributes:itemId}") List<String> attributes,
+            @Value("${trace.topk.capacity:64}") int capacity,
+            @Value("${trace.topk.window-ms:10000}") long windowMs,
+            @Value("${trace.topk.windows:6}") int windows,
+            @Value("${trace.topk.stripes:4}") int stripes
+    ) {
+        return new HeavyHitterTracker(attributes, capacity, windowMs, windows, stripes);
+    }
+
+    /**
+     * Span 이름별 걸린 시간 DDSketch, 기본 상대 오차 1%
+     */
+    @Bean
+    @ConditionalOnProperty(name = "trace.sketch.enabled", havingValue = "true")
+    public SpanLatencySketches spanLatencySketches(
+            @Value("${trace.sketch.relative-accuracy:0.01}") double relativeAccuracy,
+            @Value("${trace.sketch.max-bins:2048}") int maxBins,
+            @Value("${trace.sketch.max-spans:256}") int maxSpans
+    ) {
+        return new SpanLatencySketches(relativeAccuracy, maxBins, maxSpans);
+    }
+
+    /**
+     * Span 경로별 자기 시간 Flame Graph, 기본 구간 1분
+     */
+    @Bean
+    @ConditionalOnProperty(name = "trace.flame.enabled", havingValue = "true")
+    public FlameGraphAggregator flameGraphAggregator(
+            @Value("${trace.flame.window-ms:60000}") long windowMs,
+            @Value("${trace.flame.max-nodes:10000}") int maxNodes
+    ) {
+        return new FlameGraphAggregator(windowMs, maxNodes);
+    }
+
+    /**
+     * GC 멈춤 시간을 겹친 Span 에 gcPauseMs 속성으로 기록
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "trace.gc.enabled", havingValue = "true")
+    public GcPauseMonitor gcPauseMonitor(
+            @Value("${trace.gc.history:256}") int history,
+            @Value("${trace.gc.max-spans:256}") int maxSpans
+    ) {
+        return new GcPauseMonitor(history, maxSpans);
     }
 }
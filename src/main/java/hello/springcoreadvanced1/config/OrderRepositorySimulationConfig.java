@@ -0,0 +1,84 @@
+package hello.springcoreadvanced1.config;
+
+import hello.springcoreadvanced1.app.simulation.ErrorInjection;
+import hello.springcoreadvanced1.app.simulation.LatencyModel;
+import hello.springcoreadvanced1.app.simulation.OrderRepositorySimulation;
+import hello.springcoreadvanced1.app.simulation.SimulationRandom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * OrderRepository 지연/실패 시뮬레이션 설정<br>
+ * - order.repository.latency.model: fixed, uniform, lognormal, pareto, replay<br>
+ * - order.repository.latency.seed: 지정 시 같은 지연 시간/실패 순서 재현
+ */
+@Configuration
+public class OrderRepositorySimulationConfig {
+    @Value("${order.repository.latency.model:fixed}")
+    private String model;
+
+    @Value("${order.repository.sleep-ms:1000}")
+    private long sleepMs;
+
+    @Value("${order.repository.latency.min-ms:0}")
+    private long minMs;
+
+    @Value("${order.repository.latency.max-ms:60000}")
+    private long maxMs;
+
+    @Value("${order.repository.latency.median-ms:100}")
+    private double medianMs;
+
+    @Value("${order.repository.latency.sigma:0.5}")
+    private double sigma;
+
+    @Value("${order.repository.latency.scale-ms:50}")
+    private double scaleMs;
+
+    @Value("${order.repository.latency.shape:1.5}")
+    private double shape;
+
+    @Value("${order.repository.latency.replay-file:}")
+    private String replayFile;
+
+    @Value("${order.repository.latency.seed:#{null}}")
+    private Long seed;
+
+    @Value("${order.repository.error.rate:0.0}")
+    private double errorRate;
+
+    @Bean
+    public OrderRepositorySimulation orderRepositorySimulation() {
+        return new OrderRepositorySimulation(latencyModel(), errorInjection());
+    }
+
+    private LatencyModel latencyModel() {
+        SimulationRandom random = random(0);
+        return switch (model) {
+            case "fixed" -> LatencyModel.fixed(sleepMs);
+            case "uniform" -> LatencyModel.uniform(random, minMs, maxMs);
+            case "lognormal" -> LatencyModel.logNormal(random, medianMs, sigma, maxMs);
+            case "pareto" -> LatencyModel.pareto(random, scaleMs, shape, maxMs);
+            case "replay" -> LatencyModel.replay(random, LatencyModel.readSamples(Path.of(replayFile)));
+            default -> throw new IllegalArgumentException("알 수 없는 지연 모델: " + model);
+        };
+    }
+
+    private ErrorInjection errorInjection() {
+        if (errorRate == 0.0) {
+            return ErrorInjection.none();
+        }
+        return new ErrorInjection(random(1), errorRate);
+    }
+
+    /**
+     * 지연 시간과 실패가 서로 다른 난수열을 쓰도록 stream 으로 구분
+     */
+    private SimulationRandom random(long stream) {
+        SimulationRandom root = seed == null ? SimulationRandom.unseeded() : new SimulationRandom(seed);
+        return root.fork(stream);
+    }
+}
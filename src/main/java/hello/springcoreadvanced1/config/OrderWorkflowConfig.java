@@ -0,0 +1,45 @@
+package hello.springcoreadvanced1.config;
+
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
+import hello.springcoreadvanced1.app.simulation.OrderRepositorySimulation;
+import hello.springcoreadvanced1.app.v6.OrderStepRepositoryV6;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * V6 주문 단계 저장소와 병렬 실행용 쓰레드 풀, V6 를 등록할 때만 생성
+ */
+@ConditionalOnOrderVersion("v6")
+@Configuration
+public class OrderWorkflowConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService orderWorkflowExecutor(@Value("${order.workflow.pool-size:32}") int poolSize) {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "order-workflow-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean
+    public OrderStepRepositoryV6 inventoryRepositoryV6(OrderRepositorySimulation simulation) {
+        return new OrderStepRepositoryV6("InventoryRepository", simulation);
+    }
+
+    @Bean
+    public OrderStepRepositoryV6 paymentRepositoryV6(OrderRepositorySimulation simulation) {
+        return new OrderStepRepositoryV6("PaymentRepository", simulation);
+    }
+
+    @Bean
+    public OrderStepRepositoryV6 shippingRepositoryV6(OrderRepositorySimulation simulation) {
+        return new OrderStepRepositoryV6("ShippingRepository", simulation);
+    }
+}
@@ -0,0 +1,116 @@
+package hello.springcoreadvanced1.config;
+
+import hello.springcoreadvanced1.app.simulation.OrderRepositorySimulation;
+import hello.springcoreadvanced1.app.v0.OrderControllerV0;
+import hello.springcoreadvanced1.app.v1.OrderControllerV1;
+import hello.springcoreadvanced1.app.v2.OrderControllerV2;
+import hello.springcoreadvanced1.app.v3.OrderControllerV3;
+import hello.springcoreadvanced1.app.v4.OrderControllerV4;
+import hello.springcoreadvanced1.app.v5.OrderControllerV5;
+import hello.springcoreadvanced1.app.v6.OrderControllerV6;
+import hello.springcoreadvanced1.trace.warmup.TraceWarmupFilter;
+import hello.springcoreadvanced1.trace.warmup.TraceWarmupRunner;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 시작 시 주문 API 로 Trace 경로 warmup, trace.warmup.enabled=true<br>
+ * - trace.warmup.mode: http(기본) 는 localhost 로 요청해 Servlet/Filter 경로까지, direct 는 Controller 만 직접 호출<br>
+ * - trace.warmup.iterations: 버전별 호출 수<br>
+ * - trace.warmup.max-ms: 최대 warmup 시간
+ */
+@Configuration
+@ConditionalOnProperty(name = "trace.warmup.enabled", havingValue = "true")
+public class TraceWarmupConfig {
+
+    @Bean
+    public TraceWarmupRunner traceWarmupRunner(
+            ObjectProvider<OrderControllerV0> v0,
+            ObjectProvider<OrderControllerV1> v1,
+            ObjectProvider<OrderControllerV2> v2,
+            ObjectProvider<OrderControllerV3> v3,
+            ObjectProvider<OrderControllerV4> v4,
+            ObjectProvider<OrderControllerV5> v5,
+            ObjectProvider<OrderControllerV6> v6,
+            OrderRepositorySimulation simulation,
+            Environment environment,
+            @Value("${trace.warmup.mode:http}") String mode,
+            @Value("${trace.warmup.iterations:1000}") int iterations,
+            @Value("${trace.warmup.max-ms:30000}") long maxMs
+    ) {
+        // 등록되지 않은 버전은 건너뛴다.
+        Map<String, Consumer<String>> targets = new LinkedHashMap<>();
+        v0.ifAvailable(controller -> targets.put("v0", controller::request));
+        v1.ifAvailable(controller -> targets.put("v1", controller::request));
+        v2.ifAvailable(controller -> targets.put("v2", controller::request));
+        v3.ifAvailable(controller -> targets.put("v3", controller::request));
+        v4.ifAvailable(controller -> targets.put("v4", controller::request));
+        v5.ifAvailable(controller -> targets.put("v5", controller::request));
+        v6.ifAvailable(controller -> targets.put("v6", controller::request));
+
+        if (mode.equals("http")) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            targets.replaceAll((version, controller) -> http(client, environment, version));
+        } else if (!mode.equals("direct")) {
+            throw new IllegalArgumentException("알 수 없는 warmup 방식: " + mode);
+        }
+
+        return new TraceWarmupRunner(
+                targets,
+                iterations,
+                maxMs,
+                simulation::suspend,
+                simulation::resume
+        );
+    }
+
+    @Bean
+    public TraceWarmupFilter traceWarmupFilter(TraceWarmupRunner traceWarmupRunner) {
+        return new TraceWarmupFilter(traceWarmupRunner);
+    }
+
+    /**
+     * ApplicationRunner 실행 시점에는 서버가 이미 열려 있으므로 호출할 때 포트를 읽는다.<br>
+     * - {@link TraceWarmupFilter#HEADER_NAME} 헤더로 합성 요청임을 표시
+     */
+    private static Consumer<String> http(HttpClient client, Environment environment, String version) {
+        return itemId -> {
+            URI uri = URI.create("http://localhost:" + environment.getProperty("local.server.port")
+                    + "/" + version + "/request?itemId=" + itemId);
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header(TraceWarmupFilter.HEADER_NAME, "true")
+                    .timeout(Duration.ofSeconds(10))
+                    .GET()
+                    .build();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 400) {
+                    throw new IllegalStateException(uri + " 응답 코드: " + response.statusCode());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("warmup 중단", e);
+            }
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package hello.springcoreadvanced1.trace;
+
+import java.util.Arrays;
+
+/**
+ * Span 속성 (key-value) 저장소<br>
+ * - 값은 참조/원시값 그대로 보관하고, Span 이 실제로 출력될 때만 문자열로 만든다.<br>
+ * - 원시값은 long 으로 보관해 박싱하지 않는다.<br>
+ * - 배열은 key/값 한 개와 (원시값이 있을 때만) long[] 한 개로, 태그 1~2개면 문자열 연결보다 적게 할당한다.<br>
+ * - Span 을 시작한 쓰레드에서만 기록/조회한다. 다른 쓰레드로는 {@link #copy()} 를 넘긴다.
+ */
+public class SpanAttributes {
+    public static final byte TYPE_OBJECT = 0;
+    public static final byte TYPE_LONG = 1;
+    public static final byte TYPE_DOUBLE = 2;
+    public static final byte TYPE_BOOLEAN = 3;
+
+    private static final int INITIAL_CAPACITY = 2;
+
+    /**
+     * 원시값 자리에 넣는 타입 표시, 사용자 값과 겹치지 않는 전용 객체
+     */
+    private static final Object[] MARKERS = {null, new Object(), new Object(), new Object()};
+
+    /**
+     * key, 값(참조 또는 타입 표시) 을 번갈아 보관
+     */
+    private Object[] entries = new Object[INITIAL_CAPACITY * 2];
+
+    /**
+     * 원시값, 처음 원시값을 넣을 때 생성
+     */
+    private long[] values;
+
+    private int size;
+
+    void put(String key, byte type, Object ref, long value) {
+        if (size * 2 == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[size * 2] = key;
+
+        if (type == TYPE_OBJECT) {
+            entries[size * 2 + 1] = ref;
+        } else {
+            entries[size * 2 + 1] = MARKERS[type];
+            if (values == null) {
+                values = new long[entries.length / 2];
+            } else if (values.length < entries.length / 2) {
+                values = Arrays.copyOf(values, entries.length / 2);
+            }
+            values[size] = value;
+        }
+        size++;
+    }
+
+    /**
+     * @return 지금까지 기록한 속성의 복사본
+     */
+    SpanAttributes copy() {
+        SpanAttributes copy = new SpanAttributes();
+        copy.entries = Arrays.copyOf(entries, entries.length);
+        copy.values = values == null ? null : Arrays.copyOf(values, values.length);
+        copy.size = size;
+        return copy;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String key(int index) {
+        return (String) entries[index * 2];
+    }
+
+    /**
+     * @return TYPE_OBJECT, TYPE_LONG, TYPE_DOUBLE, TYPE_BOOLEAN 중 하나
+     */
+    public byte type(int index) {
+        Object value = entries[index * 2 + 1];
+        for (byte type = TYPE_LONG; type < MARKERS.length; type++) {
+            if (value == MARKERS[type]) {
+                return type;
+            }
+        }
+        return TYPE_OBJECT;
+    }
+
+    /**
+     * @return TYPE_OBJECT 값
+     */
+    public Object ref(int index) {
+        return entries[index * 2 + 1];
+    }
+
+    /**
+     * @return TYPE_LONG 값
+     */
+    public long longValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * @return TYPE_DOUBLE 값
+     */
+    public double doubleValue(int index) {
+        return Double.longBitsToDouble(values[index]);
+    }
+
+    /**
+     * @return TYPE_BOOLEAN 값
+     */
+    public boolean booleanValue(int index) {
+        return values[index] != 0;
+    }
+
+    /**
+     * 텍스트 로그용, " key=value key=value" 형식<br>
+     * - 로그 인자로 넘기면 실제로 출력될 때만 호출된다.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            sb.append(' ').append(key(i)).append('=');
+            switch (type(i)) {
+                case TYPE_LONG -> sb.append(longValue(i));
+                case TYPE_DOUBLE -> sb.append(doubleValue(i));
+                case TYPE_BOOLEAN -> sb.append(booleanValue(i));
+                default -> sb.append(ref(i));
+            }
+        }
+        return sb.toString();
+    }
+}
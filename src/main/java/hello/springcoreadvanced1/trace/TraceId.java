@@ -1,8 +1,11 @@
 package hello.springcoreadvanced1.trace;
 
+import hello.springcoreadvanced1.trace.inflight.InFlightTrace;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 로그 추적기의 트랜잭션 ID와 깊이 표현
@@ -19,20 +22,65 @@ public class TraceId {
      */
     private final int level;
 
+    /**
+     * 현재 Span ID (W3C traceparent 의 parent-id)
+     */
+    private final long spanId;
+
+    /**
+     * 상위 Span ID, 없으면 0<br>
+     * - 최상위 Trace 가 다른 서비스에서 이어진 경우 호출한 쪽의 Span ID
+     */
+    private final long parentSpanId;
+
+    /**
+     * 상위 Trace, 하위 Trace 종료 시 그대로 복원
+     */
+    @Getter(AccessLevel.NONE)
+    private final TraceId parent;
+
+    /**
+     * 진행 중인 최상위 Trace 정보, 하위 Trace 에 그대로 전달
+     */
+    private final InFlightTrace inFlight;
+
     /**
      * 새로운 Trace 생성
      */
     public TraceId() {
         this.id = this.createId();
         this.level = 0;
+        this.spanId = createSpanId();
+        this.parentSpanId = 0L;
+        this.parent = null;
+        this.inFlight = null;
+    }
+
+    /**
+     * 다른 서비스에서 시작된 Trace 를 이어받아 생성
+     *
+     * @param id           전달받은 Trace ID
+     * @param parentSpanId 호출한 쪽의 Span ID
+     */
+    public TraceId(String id, long parentSpanId) {
+        this.id = id;
+        this.level = 0;
+        this.spanId = createSpanId();
+        this.parentSpanId = parentSpanId;
+        this.parent = null;
+        this.inFlight = null;
     }
 
     /**
      * 내부 호출용 생성자
      */
-    private TraceId(String ID, int LEVEL) {
+    private TraceId(String ID, int LEVEL, long SPAN_ID, long PARENT_SPAN_ID, TraceId PARENT, InFlightTrace IN_FLIGHT) {
         this.id = ID;
         this.level = LEVEL;
+        this.spanId = SPAN_ID;
+        this.parentSpanId = PARENT_SPAN_ID;
+        this.parent = PARENT;
+        this.inFlight = IN_FLIGHT;
     }
 
     /**
@@ -42,18 +90,40 @@ public class TraceId {
         return UUID.randomUUID().toString().substring(0, 8);
     }
 
+    /**
+     * 새로운 Span ID 생성, 0 은 "없음" 을 뜻하므로 제외
+     */
+    private static long createSpanId() {
+        long spanId;
+        do {
+            spanId = ThreadLocalRandom.current().nextLong();
+        } while (spanId == 0L);
+        return spanId;
+    }
+
     /**
      * @return 다음 LEVEL Trace
      */
     public TraceId createNextId() {
-        return new TraceId(id, level + 1);
+        return new TraceId(id, level + 1, createSpanId(), spanId, this, inFlight);
     }
 
     /**
      * @return 이전 LEVEL Trace
      */
     public TraceId createPreviousId() {
-        return new TraceId(id, level - 1);
+        if (parent != null) {
+            return parent;
+        }
+        return new TraceId(id, level - 1, createSpanId(), 0L, null, inFlight);
+    }
+
+    /**
+     * @param inFlight 진행 중인 최상위 Trace 정보
+     * @return inFlight 가 연결된 현재 LEVEL Trace
+     */
+    public TraceId withInFlight(InFlightTrace inFlight) {
+        return new TraceId(id, level, spanId, parentSpanId, parent, inFlight);
     }
 
     /**
@@ -3,10 +3,16 @@ package hello.springcoreadvanced1.trace;
 import lombok.Getter;
 
 /**
- * 로그 상태 정보
+ * 로그 상태 정보<br>
+ * - tag() 로 붙인 속성은 Span 이 출력될 때만 문자열로 만든다.
  */
 @Getter
 public class TraceStatus {
+    /**
+     * 꺼진 Span 을 나타내는 공용 상태, 시간 측정/TraceId 변경/로그 출력을 모두 건너뛴다.
+     */
+    public static final TraceStatus DISABLED = new TraceStatus(null, 0L, null);
+
     /**
      * 최초 Trace
      */
@@ -22,6 +28,11 @@ public class TraceStatus {
      */
     private final String message;
 
+    /**
+     * Span 속성, tag() 를 처음 호출할 때 생성
+     */
+    private SpanAttributes attributes;
+
     /**
      * @param traceId     최초 Trace
      * @param startTimeMs 시작 시간
@@ -32,4 +43,62 @@ public class TraceStatus {
         this.startTimeMs = startTimeMs;
         this.message = message;
     }
+
+    /**
+     * 속성 추가, 꺼진 Span 이면 무시
+     *
+     * @param key   속성 이름
+     * @param value 속성 값, 출력할 때 String.valueOf() 로 변환
+     * @return this
+     */
+    public TraceStatus tag(String key, Object value) {
+        return put(key, SpanAttributes.TYPE_OBJECT, value, 0L);
+    }
+
+    public TraceStatus tag(String key, long value) {
+        return put(key, SpanAttributes.TYPE_LONG, null, value);
+    }
+
+    public TraceStatus tag(String key, double value) {
+        return put(key, SpanAttributes.TYPE_DOUBLE, null, Double.doubleToRawLongBits(value));
+    }
+
+    public TraceStatus tag(String key, boolean value) {
+        return put(key, SpanAttributes.TYPE_BOOLEAN, null, value ? 1L : 0L);
+    }
+
+    private TraceStatus put(String key, byte type, Object ref, long value) {
+        if (isDisabled()) {
+            // 공용 인스턴스이므로 기록하지 않는다.
+            return this;
+        }
+        if (attributes == null) {
+            attributes = new SpanAttributes();
+        }
+        attributes.put(key, type, ref, value);
+        return this;
+    }
+
+    /**
+     * 다른 쓰레드로 넘길 복사본, 이후 tag() 는 반영되지 않는다.
+     *
+     * @param withAttributes false 면 속성 없이 복사
+     */
+    public TraceStatus snapshot(boolean withAttributes) {
+        if (isDisabled()) {
+            return this;
+        }
+        TraceStatus copy = new TraceStatus(traceId, startTimeMs, message);
+        if (withAttributes && attributes != null) {
+            copy.attributes = attributes.copy();
+        }
+        return copy;
+    }
+
+    /**
+     * @return 꺼진 Span 여부
+     */
+    public boolean isDisabled() {
+        return this == DISABLED;
+    }
 }
@@ -0,0 +1,16 @@
+package hello.springcoreadvanced1.trace.callback;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+
+/**
+ * 템플릿 콜백 패턴 - 현재 Span 에 속성을 붙일 수 있는 콜백
+ */
+public interface TraceStatusCallback<T> {
+
+    /**
+     * 비즈니스 로직
+     *
+     * @param status 현재 Span, {@link TraceStatus#tag} 로 속성 추가
+     */
+    T call(TraceStatus status);
+}
@@ -0,0 +1,28 @@
+package hello.springcoreadvanced1.trace.callback;
+
+import lombok.Getter;
+
+/**
+ * 병렬로 실행할 하위 Span
+ */
+@Getter
+public class TraceTask<T> {
+    /**
+     * 로그 메시지
+     */
+    private final String message;
+
+    /**
+     * 비즈니스 로직
+     */
+    private final TraceCallback<T> callback;
+
+    private TraceTask(String message, TraceCallback<T> callback) {
+        this.message = message;
+        this.callback = callback;
+    }
+
+    public static <T> TraceTask<T> of(String message, TraceCallback<T> callback) {
+        return new TraceTask<>(message, callback);
+    }
+}
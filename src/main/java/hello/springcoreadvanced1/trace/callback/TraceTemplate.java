@@ -1,12 +1,31 @@
 package hello.springcoreadvanced1.trace.callback;
 
+import hello.springcoreadvanced1.trace.TraceId;
 import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.deadline.DeadlineExceededException;
+import hello.springcoreadvanced1.trace.deadline.Deadlines;
 import hello.springcoreadvanced1.trace.logtrace.LogTrace;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * 템플릿 콜백 패턴 - 템플릿
  */
 public class TraceTemplate {
+    /**
+     * 실패 후 취소한 하위 Span 이 끝나기를 기다리는 최대 시간
+     */
+    static final long CANCEL_WAIT_MS = 1_000;
+
     private final LogTrace trace;
 
     public TraceTemplate(LogTrace trace) {
@@ -14,18 +33,219 @@ public class TraceTemplate {
     }
 
     public <T> T execute(String message, TraceCallback<T> callback) {
+        return execute(message, status -> callback.call());
+    }
+
+    /**
+     * 콜백에 현재 Span 을 넘겨 속성을 붙일 수 있게 실행
+     */
+    public <T> T execute(String message, TraceStatusCallback<T> callback) {
         TraceStatus status = null;
 
         try {
             status = trace.begin(message);
 
-            T result = callback.call();
+            T result = callback.call(status);
 
             trace.end(status);
             return result;
         } catch (Exception e) {
-            trace.exception(status, e);
+            if (status != null) {
+                trace.exception(status, e);
+            }
             throw e;
         }
     }
+
+    /**
+     * {@link #executeWithinDeadline(String, long, TraceCallback)} 의 requiredMs = 0
+     */
+    public <T> T executeWithinDeadline(String message, TraceCallback<T> callback) {
+        return executeWithinDeadline(message, 0, callback);
+    }
+
+    public <T> T executeWithinDeadline(String message, TraceStatusCallback<T> callback) {
+        return executeWithinDeadline(message, 0, callback);
+    }
+
+    /**
+     * 요청 마감 시간을 확인한 뒤 실행<br>
+     * - 남은 시간이 requiredMs 보다 적으면 callback 을 실행하지 않고 {@link DeadlineExceededException} 으로 Span 종료<br>
+     * - 마감 시간이 없는 요청은 {@link #execute} 와 같다.
+     *
+     * @param requiredMs 작업에 필요한 최소 시간
+     */
+    public <T> T executeWithinDeadline(String message, long requiredMs, TraceCallback<T> callback) {
+        return executeWithinDeadline(message, requiredMs, status -> callback.call());
+    }
+
+    /**
+     * {@link #executeWithinDeadline(String, long, TraceCallback)} 와 같으나 콜백에 현재 Span 을 넘긴다.
+     */
+    public <T> T executeWithinDeadline(String message, long requiredMs, TraceStatusCallback<T> callback) {
+        return execute(message, status -> {
+            Deadlines.check(trace.currentTraceId(), message, requiredMs);
+            return callback.call(status);
+        });
+    }
+
+    /**
+     * 하위 Span 들을 executor 에서 병렬로 실행하고 모두 끝날 때까지 대기 (fork/join)<br>
+     * - 각 하위 Span 은 현재 Span 을 부모로 갖는다.<br>
+     * - 하나라도 실패하면 나머지를 취소(interrupt)하고, 실행 중이던 하위 Span 이 끝나기를 기다린 뒤
+     * ({@link #CANCEL_WAIT_MS} 까지) 처음 실패한 예외를 던진다.<br>
+     * - 마감 시간이 지났으면 아직 시작하지 않은 하위 Span 은 실행하지 않는다.
+     *
+     * @param executor 하위 Span 을 실행할 쓰레드 풀
+     * @param tasks    하위 Span 목록
+     * @return tasks 순서대로 정렬된 결과
+     */
+    public <T> List<T> executeAll(ExecutorService executor, List<TraceTask<T>> tasks) {
+        return executeAll(executor, tasks, tasks.size());
+    }
+
+    /**
+     * {@link #executeAll(ExecutorService, List)} 와 같으나 동시에 실행되는 하위 Span 을 maxParallelism 개로 제한<br>
+     * - 하나가 끝나면 다음 하위 Span 을 시작하고, 실패 후에는 새로 시작하지 않는다.
+     *
+     * @param maxParallelism 동시에 실행할 최대 하위 Span 수
+     */
+    public <T> List<T> executeAll(ExecutorService executor, List<TraceTask<T>> tasks, int maxParallelism) {
+        if (maxParallelism < 1) {
+            throw new IllegalArgumentException("maxParallelism 은 1 이상이어야 합니다: " + maxParallelism);
+        }
+
+        TraceId parent = trace.currentTraceId();
+        ExecutorCompletionService<T> completionService = new ExecutorCompletionService<>(executor);
+
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        List<AttachedTask<T>> attached = new ArrayList<>(tasks.size());
+        int submitted = 0;
+        try {
+            while (submitted < Math.min(maxParallelism, tasks.size())) {
+                futures.add(submit(completionService, attached, parent, tasks.get(submitted++)));
+            }
+            for (int completed = 0; completed < tasks.size(); completed++) {
+                completionService.take().get();
+                if (submitted < tasks.size()) {
+                    futures.add(submit(completionService, attached, parent, tasks.get(submitted++)));
+                }
+            }
+            return collect(futures);
+        } catch (ExecutionException e) {
+            cancelAll(futures, attached);
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            cancelAll(futures, attached);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("하위 Span 대기 중 인터럽트", e);
+        }
+    }
+
+    private <T> Future<T> submit(
+            ExecutorCompletionService<T> completionService,
+            List<AttachedTask<T>> attached,
+            TraceId parent,
+            TraceTask<T> task
+    ) {
+        AttachedTask<T> attachedTask = new AttachedTask<>(parent, task);
+        attached.add(attachedTask);
+        return completionService.submit(attachedTask);
+    }
+
+    /**
+     * 작업 쓰레드에 부모 Span 을 연결한 상태로 하위 Span 실행, 종료 후 원래 상태로 복원
+     */
+    private <T> T executeAttached(TraceId parent, TraceTask<T> task) {
+        TraceId previous = trace.attach(parent);
+        try {
+            return executeWithinDeadline(task.getMessage(), task.getCallback());
+        } finally {
+            trace.attach(previous);
+        }
+    }
+
+    /**
+     * 모두 완료된 상태이므로 get() 은 대기하지 않는다.
+     */
+    private static <T> List<T> collect(List<Future<T>> futures) throws ExecutionException, InterruptedException {
+        List<T> results = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    /**
+     * 모두 취소(interrupt)한 뒤 이미 시작한 하위 Span 이 끝나기를 기다린다.<br>
+     * - 취소된 Future 는 작업 쓰레드가 멈추기 전에 완료되므로 get() 대신 {@link AttachedTask} 종료를 기다린다.<br>
+     * - 기다리지 않으면 부모 Span 이 끝난 뒤에 하위 Span 이 끝날 수 있다.
+     */
+    private static void cancelAll(List<? extends Future<?>> futures, List<? extends AttachedTask<?>> attached) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+
+        boolean interrupted = Thread.interrupted();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CANCEL_WAIT_MS);
+        try {
+            for (AttachedTask<?> task : attached) {
+                if (!task.awaitFinished(deadline - System.nanoTime())) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 작업 쓰레드에서 부모 Span 에 연결해 실행하는 하위 Span, 종료를 기다릴 수 있다.
+     */
+    private class AttachedTask<T> implements Callable<T> {
+        private final TraceId parent;
+        private final TraceTask<T> task;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        AttachedTask(TraceId parent, TraceTask<T> task) {
+            this.parent = parent;
+            this.task = task;
+        }
+
+        @Override
+        public T call() {
+            if (!started.compareAndSet(false, true)) {
+                return null;
+            }
+            try {
+                return executeAttached(parent, task);
+            } finally {
+                finished.countDown();
+            }
+        }
+
+        /**
+         * 아직 시작하지 않았으면 시작하지 못하게 막고, 시작했으면 끝날 때까지 기다린다.
+         *
+         * @return timeoutNanos 안에 끝났으면 true
+         */
+        boolean awaitFinished(long timeoutNanos) throws InterruptedException {
+            return started.compareAndSet(false, true) || finished.await(timeoutNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
 }
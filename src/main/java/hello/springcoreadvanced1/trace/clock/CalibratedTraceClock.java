@@ -0,0 +1,94 @@
+package hello.springcoreadvanced1.trace.clock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * System.nanoTime() 기반 시계를 벽시계에 맞춰 주기적으로 보정<br>
+ * - calibrationMs 마다 벽시계와의 차이를 재고, 다음 구간 동안 진행 속도를 최대 ±maxSlew 만큼 바꿔 천천히 따라간다. (NTP slew 방식)<br>
+ * - 값을 건너뛰지 않으므로 걸린 시간이 음수가 되지 않고, 쓰레드 사이에서도 마지막으로 읽힌 값보다 작아지지 않는다.<br>
+ * - 보정은 읽는 쓰레드 중 하나가 CAS 로 한 번만 수행
+ */
+public class CalibratedTraceClock implements TraceClock {
+    private static final double DEFAULT_MAX_SLEW = 0.05;
+
+    private final LongSupplier wallMillis;
+    private final LongSupplier nanoTime;
+    private final long calibrationNanos;
+    private final double maxSlew;
+
+    private final AtomicReference<State> state;
+
+    /**
+     * 지금까지 반환한 가장 큰 값, 보정 직후의 경쟁에서도 뒤로 가지 않도록
+     */
+    private final AtomicLong lastMs = new AtomicLong();
+
+    public CalibratedTraceClock() {
+        this(System::currentTimeMillis, System::nanoTime, 1000, DEFAULT_MAX_SLEW);
+    }
+
+    CalibratedTraceClock(LongSupplier wallMillis, LongSupplier nanoTime, long calibrationMs, double maxSlew) {
+        this.wallMillis = wallMillis;
+        this.nanoTime = nanoTime;
+        this.calibrationNanos = TimeUnit.MILLISECONDS.toNanos(calibrationMs);
+        this.maxSlew = maxSlew;
+        this.state = new AtomicReference<>(
+                new State(nanoTime.getAsLong(), TimeUnit.MILLISECONDS.toNanos(wallMillis.getAsLong()), 1.0)
+        );
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        long now = nanoTime.getAsLong();
+        State current = state.get();
+        if (now - current.baseNanos >= calibrationNanos) {
+            current = calibrate(current, now);
+        }
+
+        long ms = current.epochNanos(now) / 1_000_000;
+        long last = lastMs.get();
+        if (ms <= last) {
+            return last;
+        }
+        // CAS 에 실패하면 다른 쓰레드가 더 큰 값을 반환했을 수 있으므로 둘 중 큰 값을 반환
+        return lastMs.accumulateAndGet(ms, Math::max);
+    }
+
+    /**
+     * 현재 값에서 이어지도록 기준점을 옮기고, 벽시계와의 차이만큼 다음 구간의 속도 조절
+     */
+    private State calibrate(State current, long now) {
+        long epochNanos = current.epochNanos(now);
+        long errorNanos = TimeUnit.MILLISECONDS.toNanos(wallMillis.getAsLong()) - epochNanos;
+        double rate = 1.0 + Math.max(-maxSlew, Math.min(maxSlew, (double) errorNanos / calibrationNanos));
+
+        State next = new State(now, epochNanos, rate);
+        return state.compareAndSet(current, next) ? next : state.get();
+    }
+
+    /**
+     * @return 현재 진행 속도 (1.0 = 실제 시간과 같음)
+     */
+    double getRate() {
+        return state.get().rate;
+    }
+
+    private static class State {
+        private final long baseNanos;
+        private final long baseEpochNanos;
+        private final double rate;
+
+        private State(long baseNanos, long baseEpochNanos, double rate) {
+            this.baseNanos = baseNanos;
+            this.baseEpochNanos = baseEpochNanos;
+            this.rate = rate;
+        }
+
+        private long epochNanos(long now) {
+            return baseEpochNanos + (long) ((now - baseNanos) * rate);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package hello.springcoreadvanced1.trace.clock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 전용 쓰레드가 tickMs 마다 갱신하는 시계<br>
+ * - 읽기는 volatile 읽기 한 번<br>
+ * - 갱신 값은 이전 값보다 작아지지 않는다. (벽시계가 뒤로 가면 따라잡을 때까지 멈춤)<br>
+ * - tickMs 보다 짧은 Span 은 0ms 로 보일 수 있다.
+ */
+public class CoarseTraceClock implements TraceClock {
+    private final long tickNanos;
+    private final Thread ticker;
+
+    private volatile long nowMs = System.currentTimeMillis();
+    private volatile boolean running = true;
+
+    public CoarseTraceClock(long tickMs) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        this.ticker = new Thread(this::run, "trace-clock");
+        this.ticker.setDaemon(true);
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return nowMs;
+    }
+
+    @Override
+    public void start() {
+        ticker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(ticker);
+    }
+
+    private void run() {
+        while (running) {
+            tick();
+            LockSupport.parkNanos(tickNanos);
+        }
+    }
+
+    void tick() {
+        long wallMs = System.currentTimeMillis();
+        if (wallMs > nowMs) {
+            nowMs = wallMs;
+        }
+    }
+}
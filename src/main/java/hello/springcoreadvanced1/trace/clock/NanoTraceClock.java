@@ -0,0 +1,16 @@
+package hello.springcoreadvanced1.trace.clock;
+
+/**
+ * 생성 시점의 벽시계 + System.nanoTime() 경과 시간<br>
+ * - 벽시계 조정의 영향을 받지 않아 걸린 시간이 음수가 되지 않는다.<br>
+ * - 오래 실행하면 벽시계와 조금씩 벌어질 수 있다. ({@link CalibratedTraceClock} 참고)
+ */
+public class NanoTraceClock implements TraceClock {
+    private final long baseMs = System.currentTimeMillis();
+    private final long baseNanos = System.nanoTime();
+
+    @Override
+    public long currentTimeMillis() {
+        return baseMs + (System.nanoTime() - baseNanos) / 1_000_000;
+    }
+}
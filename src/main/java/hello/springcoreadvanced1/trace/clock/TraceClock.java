@@ -0,0 +1,42 @@
+package hello.springcoreadvanced1.trace.clock;
+
+/**
+ * LogTrace 가 Span 시작/종료 시간을 읽는 시계<br>
+ * - 값은 epoch ms 이므로 요청 마감 시각, JSON startMs 등 벽시계 시간과 그대로 비교할 수 있다.<br>
+ * - {@link #SYSTEM}: System.currentTimeMillis(), 벽시계가 조정되면 뒤로 갈 수 있다.<br>
+ * - {@link CoarseTraceClock}: 전용 쓰레드가 갱신한 값을 읽기만 함, 가장 싸고 tick 만큼 부정확<br>
+ * - {@link NanoTraceClock}: System.nanoTime() 기반, 뒤로 가지 않음<br>
+ * - {@link CalibratedTraceClock}: System.nanoTime() 기반 + 벽시계와의 차이를 속도 조절로 천천히 보정
+ */
+public interface TraceClock {
+
+    TraceClock SYSTEM = System::currentTimeMillis;
+
+    /**
+     * @return epoch ms
+     */
+    long currentTimeMillis();
+
+    /**
+     * 전용 쓰레드 등을 시작
+     */
+    default void start() {
+    }
+
+    default void stop() {
+    }
+
+    /**
+     * @param type system, coarse, nano, calibrated
+     * @param tickMs coarse 시계 갱신 주기
+     */
+    static TraceClock of(String type, long tickMs) {
+        return switch (type) {
+            case "system" -> SYSTEM;
+            case "coarse" -> new CoarseTraceClock(tickMs);
+            case "nano" -> new NanoTraceClock();
+            case "calibrated" -> new CalibratedTraceClock();
+            default -> throw new IllegalArgumentException("알 수 없는 clock: " + type);
+        };
+    }
+}
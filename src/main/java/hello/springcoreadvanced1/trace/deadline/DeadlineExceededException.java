@@ -0,0 +1,30 @@
+package hello.springcoreadvanced1.trace.deadline;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 마감 시간이 지나 하위 작업을 시작하지 않음
+ */
+@Getter
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class DeadlineExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 시작하지 않은 Span 이름
+     */
+    private final String span;
+
+    /**
+     * 남은 시간 (음수면 이미 지남)
+     */
+    private final long remainingMs;
+
+    public DeadlineExceededException(String span, long remainingMs) {
+        super("마감 시간 초과: " + span + " remaining = " + remainingMs + "ms");
+        this.span = span;
+        this.remainingMs = remainingMs;
+    }
+}
@@ -0,0 +1,89 @@
+package hello.springcoreadvanced1.trace.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 요청의 마감 시간을 정해 {@link DeadlineHolder} 에 보관<br>
+ * - 헤더 {@value #HEADER_NAME}: 클라이언트가 기다릴 시간 (ms)<br>
+ * - 경로별 기본값: 헤더가 없거나 더 길면 기본값 사용
+ */
+public class DeadlineFilter extends OncePerRequestFilter {
+    public static final String HEADER_NAME = "X-Request-Timeout-Ms";
+
+    private final Map<String, Long> endpointTimeouts;
+
+    /**
+     * @param endpointTimeouts 경로별 기본 제한 시간 (ms)
+     */
+    public DeadlineFilter(Map<String, Long> endpointTimeouts) {
+        this.endpointTimeouts = Map.copyOf(endpointTimeouts);
+    }
+
+    /**
+     * "/v5/request=800,/v6/request=500" 형식 해석
+     *
+     * @param value 경로=제한 시간 목록, 비어 있으면 빈 Map
+     */
+    public static Map<String, Long> parseEndpointTimeouts(String value) {
+        Map<String, Long> timeouts = new HashMap<>();
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("경로=제한시간 형식이 아닙니다: " + entry);
+            }
+            timeouts.put(entry.substring(0, separator).trim(), Long.parseLong(entry.substring(separator + 1).trim()));
+        }
+        return timeouts;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        long timeoutMs = timeoutOf(request);
+        if (timeoutMs <= 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        DeadlineHolder.set(System.currentTimeMillis() + timeoutMs);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DeadlineHolder.clear();
+        }
+    }
+
+    /**
+     * @return 헤더와 경로별 기본값 중 짧은 쪽, 둘 다 없으면 0
+     */
+    private long timeoutOf(HttpServletRequest request) {
+        long timeoutMs = endpointTimeouts.getOrDefault(request.getRequestURI(), 0L);
+
+        String header = request.getHeader(HEADER_NAME);
+        if (header != null) {
+            try {
+                long requested = Long.parseLong(header.trim());
+                if (requested > 0 && (timeoutMs <= 0 || requested < timeoutMs)) {
+                    timeoutMs = requested;
+                }
+            } catch (NumberFormatException ignored) {
+                // 잘못된 헤더는 무시하고 기본값 사용
+            }
+        }
+        return timeoutMs;
+    }
+}
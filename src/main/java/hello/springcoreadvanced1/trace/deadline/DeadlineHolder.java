@@ -0,0 +1,38 @@
+package hello.springcoreadvanced1.trace.deadline;
+
+/**
+ * 요청의 마감 시간 보관<br>
+ * - {@link DeadlineFilter} 가 요청 시작 시 저장하고 종료 시 정리<br>
+ * - 최상위 Trace 를 시작할 때 {@link hello.springcoreadvanced1.trace.inflight.InFlightTrace} 로 옮겨
+ * 다른 쓰레드에서 실행되는 하위 Span 도 같은 마감 시간을 본다.
+ */
+public final class DeadlineHolder {
+    /**
+     * 마감 시간 없음
+     */
+    public static final long NONE = 0L;
+
+    private static final ThreadLocal<Long> holder = new ThreadLocal<>();
+
+    private DeadlineHolder() {
+    }
+
+    /**
+     * @param deadlineMs 마감 시각 (epoch ms)
+     */
+    public static void set(long deadlineMs) {
+        holder.set(deadlineMs);
+    }
+
+    /**
+     * @return 마감 시각, 없으면 {@link #NONE}
+     */
+    public static long get() {
+        Long deadlineMs = holder.get();
+        return deadlineMs != null ? deadlineMs : NONE;
+    }
+
+    public static void clear() {
+        holder.remove();
+    }
+}
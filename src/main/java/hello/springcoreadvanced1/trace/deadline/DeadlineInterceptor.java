@@ -0,0 +1,38 @@
+package hello.springcoreadvanced1.trace.deadline;
+
+import hello.springcoreadvanced1.trace.logtrace.LogTrace;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * RestTemplate 요청에 남은 시간을 {@value DeadlineFilter#HEADER_NAME} 헤더로 추가<br>
+ * - 절대 시각이 아닌 남은 시간을 보내므로 노드 간 시계 차이의 영향을 받지 않는다.
+ */
+public class DeadlineInterceptor implements ClientHttpRequestInterceptor {
+    private final LogTrace trace;
+
+    public DeadlineInterceptor(LogTrace trace) {
+        this.trace = trace;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request,
+            byte[] body,
+            ClientHttpRequestExecution execution
+    ) throws IOException {
+        long deadlineMs = Deadlines.deadlineOf(trace.currentTraceId());
+        if (deadlineMs != DeadlineHolder.NONE && !request.getHeaders().containsKey(DeadlineFilter.HEADER_NAME)) {
+            long remainingMs = deadlineMs - System.currentTimeMillis();
+            if (remainingMs <= 0) {
+                throw new DeadlineExceededException(request.getURI().toString(), remainingMs);
+            }
+            request.getHeaders().set(DeadlineFilter.HEADER_NAME, Long.toString(remainingMs));
+        }
+        return execution.execute(request, body);
+    }
+}
@@ -0,0 +1,44 @@
+package hello.springcoreadvanced1.trace.deadline;
+
+import hello.springcoreadvanced1.trace.TraceId;
+import hello.springcoreadvanced1.trace.inflight.InFlightTrace;
+
+/**
+ * 현재 Trace 의 마감 시간 조회
+ */
+public final class Deadlines {
+
+    private Deadlines() {
+    }
+
+    /**
+     * Trace 에 저장된 마감 시간, Trace 가 없으면(꺼진 최상위 Span 등) 요청의 마감 시간
+     *
+     * @param traceId 현재 TraceId, 없으면 null
+     * @return 마감 시각, 없으면 {@link DeadlineHolder#NONE}
+     */
+    public static long deadlineOf(TraceId traceId) {
+        InFlightTrace inFlight = traceId != null ? traceId.getInFlight() : null;
+        return inFlight != null ? inFlight.getDeadlineMs() : DeadlineHolder.get();
+    }
+
+    /**
+     * 남은 시간이 requiredMs 보다 적으면 실패
+     *
+     * @param traceId    현재 TraceId
+     * @param span       시작하려는 Span 이름
+     * @param requiredMs 작업에 필요한 최소 시간
+     * @throws DeadlineExceededException 남은 시간 부족
+     */
+    public static void check(TraceId traceId, String span, long requiredMs) {
+        long deadlineMs = deadlineOf(traceId);
+        if (deadlineMs == DeadlineHolder.NONE) {
+            return;
+        }
+
+        long remainingMs = deadlineMs - System.currentTimeMillis();
+        if (remainingMs <= 0 || remainingMs < requiredMs) {
+            throw new DeadlineExceededException(span, remainingMs);
+        }
+    }
+}
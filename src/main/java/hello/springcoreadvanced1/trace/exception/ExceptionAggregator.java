@@ -0,0 +1,131 @@
+package hello.springcoreadvanced1.trace.exception;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 예외 로그 집계<br>
+ * - (예외 타입, Span) 별 첫 발생만 전체 내용을 로그로 남기고, 이후는 {@link LongAdder} 로 개수만 센다.<br>
+ * - 주기마다 "IllegalStateException at OrderRepository.save() x 12,430 in 10s" 형식으로 요약<br>
+ * - 한 주기 동안 발생하지 않은 항목은 제거해 다음 발생 시 다시 전체 내용을 남긴다.<br>
+ * - 항목 수는 maxEntries 로 제한하고, 넘치는 예외는 개수만 합산한다.
+ */
+@Slf4j
+public class ExceptionAggregator {
+    private final int maxEntries;
+    private final long intervalMs;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder overflow = new LongAdder();
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param maxEntries 집계할 최대 (예외 타입, Span) 수
+     * @param intervalMs 요약 주기
+     */
+    public ExceptionAggregator(int maxEntries, long intervalMs) {
+        this.maxEntries = maxEntries;
+        this.intervalMs = intervalMs;
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "trace-exception-summary");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::logSummary, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        logSummary();
+    }
+
+    /**
+     * 예외 발생 기록
+     *
+     * @param span Span 이름
+     * @param e    발생한 예외
+     * @return 처음 발생한 경우 true, 호출한 쪽이 전체 내용을 로그로 남긴다.
+     */
+    public boolean record(String span, Exception e) {
+        String key = e.getClass().getSimpleName() + " at " + span;
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size() >= maxEntries) {
+                overflow.increment();
+                return false;
+            }
+            Entry created = new Entry();
+            entry = entries.putIfAbsent(key, created);
+            if (entry == null) {
+                created.count.increment();
+                return true;
+            }
+        }
+        entry.count.increment();
+        return false;
+    }
+
+    /**
+     * 지난 요약 이후 발생 수를 모으고, 발생하지 않은 항목은 제거<br>
+     * - 요약 쓰레드 하나만 호출한다.
+     *
+     * @return "예외 at Span x 개수" 목록
+     */
+    public List<String> summarize() {
+        List<String> lines = new ArrayList<>();
+        entries.forEach((key, entry) -> {
+            long total = entry.count.sum();
+            long delta = total - entry.reported;
+            entry.reported = total;
+            if (delta > 0) {
+                lines.add(String.format(Locale.ROOT, "%s x %,d", key, delta));
+            } else {
+                // 제거 직전에 증가한 개수는 유실될 수 있으나, 다음 발생이 첫 발생으로 다시 기록된다.
+                entries.remove(key, entry);
+            }
+        });
+
+        long overflowed = overflow.sumThenReset();
+        if (overflowed > 0) {
+            lines.add(String.format(Locale.ROOT, "(untracked) x %,d", overflowed));
+        }
+        return lines;
+    }
+
+    private void logSummary() {
+        for (String line : summarize()) {
+            log.warn("{} in {}s", line, TimeUnit.MILLISECONDS.toSeconds(intervalMs));
+        }
+    }
+
+    /**
+     * @return 집계 중인 (예외 타입, Span) 수
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private static class Entry {
+        private final LongAdder count = new LongAdder();
+
+        /**
+         * 요약 쓰레드만 읽고 쓴다.
+         */
+        private long reported;
+    }
+}
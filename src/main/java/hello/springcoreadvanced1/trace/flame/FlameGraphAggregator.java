@@ -0,0 +1,273 @@
+package hello.springcoreadvanced1.trace.flame;
+
+import hello.springcoreadvanced1.trace.TraceId;
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.span.SpanListener;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 끝난 Span 을 이름 경로 (예: OrderController.request();OrderService.orderItem()) 별로 모은 Prefix Tree<br>
+ * - 경로마다 자기 시간(걸린 시간 - 하위 Span 시간)과 호출 수를 더해 Flame Graph 의 collapsed-stack 형식으로 내보낸다.<br>
+ * - 진행 중인 Span 은 Span ID 로 찾고, 트리는 ConcurrentHashMap + LongAdder 라 잠금 없이 갱신한다.<br>
+ * - windowMs 마다 새 트리로 바꾸고, 직전 구간 트리 하나만 남긴다.<br>
+ * - 구간당 경로 수는 maxNodes 로 제한하고, 넘치는 경로는 상위 경로에 더한다.<br>
+ * - LogTrace.clear() 는 SpanListener 에 알리지 않으므로 끝나지 않은 Span 이 남을 수 있다.
+ * 진행 중인 Span 이 가득 차면 구간 길이보다 오래 열린 Span 을 버리고 (evicted), 그래도 가득 차 있으면 새 Span 을 건너뛴다 (rejected).
+ */
+public class FlameGraphAggregator implements SpanListener {
+    /**
+     * clear() 등으로 끝나지 않은 Span 이 쌓여도 메모리가 무한히 늘지 않도록
+     */
+    static final int MAX_OPEN_SPANS = 100_000;
+
+    private final long windowMs;
+    private final int maxNodes;
+    private final int maxOpenSpans;
+
+    private final Map<Long, OpenSpan> open = new ConcurrentHashMap<>();
+    private final AtomicReference<Tree> current;
+    private volatile Tree previous;
+
+    /**
+     * 가득 찬 동안 매 Span 마다 전체를 훑지 않도록 다음 정리 시각 (구간 길이 간격)
+     */
+    private final AtomicLong nextEvictionMs = new AtomicLong();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param windowMs 구간 길이
+     * @param maxNodes 구간당 최대 경로 수
+     */
+    public FlameGraphAggregator(long windowMs, int maxNodes) {
+        this(windowMs, maxNodes, MAX_OPEN_SPANS);
+    }
+
+    FlameGraphAggregator(long windowMs, int maxNodes, int maxOpenSpans) {
+        this.windowMs = windowMs;
+        this.maxNodes = maxNodes;
+        this.maxOpenSpans = maxOpenSpans;
+        this.current = new AtomicReference<>(new Tree(System.currentTimeMillis() / windowMs));
+    }
+
+    @Override
+    public void onBegin(TraceStatus status) {
+        begin(System.currentTimeMillis(), status);
+    }
+
+    void begin(long nowMs, TraceStatus status) {
+        if (open.size() >= maxOpenSpans && evict(nowMs) == 0) {
+            rejected.increment();
+            return;
+        }
+        TraceId traceId = status.getTraceId();
+        OpenSpan parent = traceId.isFirstLevel() ? null : open.get(traceId.getParentSpanId());
+        open.put(traceId.getSpanId(), new OpenSpan(parent, status.getMessage(), nowMs));
+    }
+
+    /**
+     * 구간 길이보다 오래 열린 Span 을 버린다, 구간 길이마다 한 쓰레드만 실행
+     *
+     * @return 버린 Span 수
+     */
+    private int evict(long nowMs) {
+        long next = nextEvictionMs.get();
+        if (nowMs < next || !nextEvictionMs.compareAndSet(next, nowMs + windowMs)) {
+            return 0;
+        }
+        long oldestMs = nowMs - windowMs;
+        int count = 0;
+        for (Iterator<OpenSpan> it = open.values().iterator(); it.hasNext(); ) {
+            if (it.next().beginMs < oldestMs) {
+                it.remove();
+                count++;
+            }
+        }
+        evicted.add(count);
+        return count;
+    }
+
+    @Override
+    public void onEnd(TraceStatus status, long resultTimeMs, Exception e) {
+        record(System.currentTimeMillis(), status, resultTimeMs);
+    }
+
+    void record(long nowMs, TraceStatus status, long resultTimeMs) {
+        OpenSpan span = open.remove(status.getTraceId().getSpanId());
+        if (span == null) {
+            // 등록 전에 시작된 Span
+            return;
+        }
+
+        // fork/join 으로 하위 Span 이 겹치면 하위 시간 합이 더 클 수 있다.
+        long selfMs = Math.max(0, resultTimeMs - span.childTimeMs.sum());
+        Node node = span.resolve(tree(nowMs));
+        node.selfMs.add(selfMs);
+        node.count.increment();
+
+        if (span.parent != null) {
+            span.parent.childTimeMs.add(resultTimeMs);
+        }
+    }
+
+    /**
+     * @param previousWindow true: 직전 구간, false: 진행 중인 구간
+     * @param weight         TIME: 자기 시간(ms), COUNT: 호출 수
+     * @return collapsed-stack 형식 ("경로 값" 줄 목록, 경로 순 정렬)
+     */
+    public String collapsed(boolean previousWindow, Weight weight) {
+        return collapsed(System.currentTimeMillis(), previousWindow, weight);
+    }
+
+    String collapsed(long nowMs, boolean previousWindow, Weight weight) {
+        Tree tree = tree(nowMs);
+        if (previousWindow) {
+            Tree last = previous;
+            if (last == null || last.window != tree.window - 1) {
+                return "";
+            }
+            tree = last;
+        }
+
+        Map<String, Long> lines = new TreeMap<>();
+        tree.root.children.values().forEach(child -> collect(child, new StringBuilder(), weight, lines));
+
+        StringBuilder result = new StringBuilder();
+        lines.forEach((path, value) -> result.append(path).append(' ').append(value).append('\n'));
+        return result.toString();
+    }
+
+    private static void collect(Node node, StringBuilder path, Weight weight, Map<String, Long> lines) {
+        int length = path.length();
+        if (length > 0) {
+            path.append(';');
+        }
+        path.append(node.name.replace(';', ':'));
+
+        long value = weight == Weight.TIME ? node.selfMs.sum() : node.count.sum();
+        if (value > 0) {
+            lines.put(path.toString(), value);
+        }
+        node.children.values().forEach(child -> collect(child, path, weight, lines));
+        path.setLength(length);
+    }
+
+    /**
+     * @return 진행 중인 구간의 트리, 구간이 지났으면 새 트리로 교체
+     */
+    private Tree tree(long nowMs) {
+        long window = nowMs / windowMs;
+        Tree tree = current.get();
+        if (tree.window >= window) {
+            return tree;
+        }
+
+        Tree next = new Tree(window);
+        if (current.compareAndSet(tree, next)) {
+            previous = tree;
+            return next;
+        }
+        return current.get();
+    }
+
+    /**
+     * @return maxNodes 를 넘어 상위 경로에 더한 Span 수 (진행 중인 구간)
+     */
+    public long getDropped() {
+        return current.get().dropped.sum();
+    }
+
+    /**
+     * @return 끝나지 않아 버린 Span 수 (누적)
+     */
+    public long getEvicted() {
+        return evicted.sum();
+    }
+
+    /**
+     * @return 진행 중인 Span 이 가득 차 건너뛴 Span 수 (누적)
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return 진행 중인 Span 수
+     */
+    public int getOpenSpans() {
+        return open.size();
+    }
+
+    public enum Weight {
+        TIME, COUNT
+    }
+
+    /**
+     * 진행 중인 Span, 하위 Span 이 끝날 때마다 걸린 시간을 더한다.
+     */
+    private static class OpenSpan {
+        private final OpenSpan parent;
+        private final String name;
+        private final long beginMs;
+        private final LongAdder childTimeMs = new LongAdder();
+
+        private OpenSpan(OpenSpan parent, String name, long beginMs) {
+            this.parent = parent;
+            this.name = name;
+            this.beginMs = beginMs;
+        }
+
+        /**
+         * 상위 Span 을 따라 경로를 만든다, 보통 깊이가 얕아 Map 조회 몇 번이면 끝난다.
+         */
+        private Node resolve(Tree tree) {
+            Node parentNode = parent == null ? tree.root : parent.resolve(tree);
+            return tree.child(parentNode, name);
+        }
+    }
+
+    private class Tree {
+        private final long window;
+        private final Node root = new Node("");
+        private final AtomicInteger nodes = new AtomicInteger();
+        private final LongAdder dropped = new LongAdder();
+
+        private Tree(long window) {
+            this.window = window;
+        }
+
+        private Node child(Node parent, String name) {
+            Node child = parent.children.get(name);
+            if (child != null) {
+                return child;
+            }
+            if (nodes.get() >= maxNodes) {
+                dropped.increment();
+                return parent == root ? parent.children.computeIfAbsent("(dropped)", Node::new) : parent;
+            }
+            return parent.children.computeIfAbsent(name, key -> {
+                nodes.incrementAndGet();
+                return new Node(key);
+            });
+        }
+    }
+
+    private static class Node {
+        private final String name;
+        private final Map<String, Node> children = new ConcurrentHashMap<>();
+        private final LongAdder selfMs = new LongAdder();
+        private final LongAdder count = new LongAdder();
+
+        private Node(String name) {
+            this.name = name;
+        }
+    }
+}
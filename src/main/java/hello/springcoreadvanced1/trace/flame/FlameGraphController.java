@@ -0,0 +1,49 @@
+package hello.springcoreadvanced1.trace.flame;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Span 경로별 collapsed-stack 조회<br>
+ * - 예: curl -s localhost:8080/trace/flame?window=previous | flamegraph.pl &gt; flame.svg
+ */
+@RestController
+@RequestMapping("/trace")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "trace.flame.enabled", havingValue = "true")
+public class FlameGraphController {
+    private final FlameGraphAggregator aggregator;
+
+    /**
+     * @param window current: 진행 중인 구간, previous: 직전 구간
+     * @param weight TIME: 자기 시간(ms), COUNT: 호출 수
+     */
+    @GetMapping(value = "/flame", produces = MediaType.TEXT_PLAIN_VALUE)
+    public String flame(
+            @RequestParam(defaultValue = "current") String window,
+            @RequestParam(defaultValue = "TIME") FlameGraphAggregator.Weight weight
+    ) {
+        return aggregator.collapsed("previous".equals(window), weight);
+    }
+
+    /**
+     * 진행 중인 Span 수와 버린 Span 수
+     */
+    @GetMapping("/flame/stats")
+    public Map<String, Long> stats() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        result.put("openSpans", (long) aggregator.getOpenSpans());
+        result.put("evicted", aggregator.getEvicted());
+        result.put("rejected", aggregator.getRejected());
+        result.put("droppedPaths", aggregator.getDropped());
+        return result;
+    }
+}
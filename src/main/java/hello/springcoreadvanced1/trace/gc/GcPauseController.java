@@ -0,0 +1,30 @@
+package hello.springcoreadvanced1.trace.gc;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GC 멈춤 합계와 Span 이름별 멈춤 시간 조회
+ */
+@RestController
+@RequestMapping("/trace")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "trace.gc.enabled", havingValue = "true")
+public class GcPauseController {
+    private final GcPauseMonitor monitor;
+
+    @GetMapping("/gc")
+    public Map<String, Object> gc() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("pauses", monitor.getPauses());
+        result.put("totalPauseMs", monitor.getTotalPauseMs());
+        result.put("spans", monitor.snapshot());
+        return result;
+    }
+}
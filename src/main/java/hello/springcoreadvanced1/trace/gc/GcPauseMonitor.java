@@ -0,0 +1,188 @@
+package hello.springcoreadvanced1.trace.gc;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.span.SpanListener;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * GC 멈춤 시간을 그 시간에 진행 중이던 Span 에 나눠 기록<br>
+ * - GarbageCollectorMXBean 알림으로 멈춤 구간(시작/종료 시각)을 최근 history 개까지 보관<br>
+ * - Span 종료 직전({@link #beforeEnd}) 에 Span 구간과 겹친 멈춤 시간을 합해 gcPauseMs 속성으로 추가<br>
+ *   (로그, JSON 등 종료 기록에 함께 남는다.)<br>
+ * - 동시 수집(G1 Concurrent GC, ZGC Cycles 등)은 애플리케이션을 멈추지 않으므로 제외<br>
+ * - 알림은 멈춤이 끝난 뒤 도착하므로 Span 종료 직전에 끝난 멈춤은 빠질 수 있다.
+ */
+@Slf4j
+public class GcPauseMonitor implements SpanListener, NotificationListener {
+    public static final String ATTRIBUTE = "gcPauseMs";
+
+    private final long[] pauseStartMs;
+    private final long[] pauseEndMs;
+
+    /**
+     * 기록된 멈춤 수, 알림 쓰레드 하나만 쓴다.
+     */
+    private volatile long pauses;
+
+    private final LongAdder totalPauseMs = new LongAdder();
+    private final Map<String, SpanPauses> spans = new ConcurrentHashMap<>();
+    private final int maxSpans;
+    private final long jvmStartMs = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+
+    /**
+     * @param history  보관할 최근 멈춤 수
+     * @param maxSpans 집계할 최대 Span 이름 수
+     */
+    public GcPauseMonitor(int history, int maxSpans) {
+        this.pauseStartMs = new long[history];
+        this.pauseEndMs = new long[history];
+        this.maxSpans = maxSpans;
+    }
+
+    public void start() {
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (bean instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    public void stop() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException e) {
+                log.debug("gc listener already removed", e);
+            }
+        }
+        emitters.clear();
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        if (isConcurrent(info.getGcName())) {
+            return;
+        }
+
+        GcInfo gcInfo = info.getGcInfo();
+        recordPause(jvmStartMs + gcInfo.getStartTime(), jvmStartMs + gcInfo.getEndTime());
+    }
+
+    static boolean isConcurrent(String gcName) {
+        return gcName.contains("Concurrent") || gcName.contains("Cycles");
+    }
+
+    /**
+     * 알림 쓰레드에서만 호출
+     */
+    synchronized void recordPause(long startMs, long endMs) {
+        int slot = (int) (pauses % pauseStartMs.length);
+        pauseStartMs[slot] = startMs;
+        pauseEndMs[slot] = endMs;
+        pauses++;
+        totalPauseMs.add(endMs - startMs);
+    }
+
+    /**
+     * @return [startMs, endMs] 구간과 겹친 멈춤 시간 합
+     */
+    long pausedMsBetween(long startMs, long endMs) {
+        long count = pauses;
+        long paused = 0;
+        for (long i = count - 1; i >= 0 && i >= count - pauseStartMs.length; i--) {
+            int slot = (int) (i % pauseStartMs.length);
+            long pauseEnd = pauseEndMs[slot];
+            if (pauseEnd < startMs) {
+                // 이전 멈춤은 모두 Span 시작 전
+                break;
+            }
+            long overlap = Math.min(endMs, pauseEnd) - Math.max(startMs, pauseStartMs[slot]);
+            if (overlap > 0) {
+                paused += overlap;
+            }
+        }
+        return paused;
+    }
+
+    @Override
+    public void beforeEnd(TraceStatus status, long resultTimeMs) {
+        if (pauses == 0) {
+            return;
+        }
+        long startMs = status.getStartTimeMs();
+        long paused = pausedMsBetween(startMs, startMs + resultTimeMs);
+        if (paused <= 0) {
+            return;
+        }
+
+        status.tag(ATTRIBUTE, paused);
+        SpanPauses span = spans.get(status.getMessage());
+        if (span == null) {
+            if (spans.size() >= maxSpans) {
+                return;
+            }
+            span = spans.computeIfAbsent(status.getMessage(), name -> new SpanPauses());
+        }
+        span.add(paused);
+    }
+
+    @Override
+    public void onEnd(TraceStatus status, long resultTimeMs, Exception e) {
+    }
+
+    public long getPauses() {
+        return pauses;
+    }
+
+    public long getTotalPauseMs() {
+        return totalPauseMs.sum();
+    }
+
+    /**
+     * @return Span 이름 순, 멈춤과 겹친 Span 수와 멈춤 시간 합
+     */
+    public Map<String, SpanPauses> snapshot() {
+        return new TreeMap<>(spans);
+    }
+
+    public static class SpanPauses {
+        private final LongAdder affectedSpans = new LongAdder();
+        private final LongAdder pausedMs = new LongAdder();
+
+        private void add(long paused) {
+            affectedSpans.increment();
+            pausedMs.add(paused);
+        }
+
+        public long getAffectedSpans() {
+            return affectedSpans.sum();
+        }
+
+        public long getPausedMs() {
+            return pausedMs.sum();
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package hello.springcoreadvanced1.trace.hellotrace;
 
+import hello.springcoreadvanced1.app.ConditionalOnOrderVersion;
 import hello.springcoreadvanced1.trace.TraceId;
 import hello.springcoreadvanced1.trace.TraceStatus;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 @Slf4j
+@ConditionalOnOrderVersion("v2")
 @Component
 public class HelloTraceV2 {
     private static final String START_PREFIX = "-->";
@@ -0,0 +1,171 @@
+package hello.springcoreadvanced1.trace.inflight;
+
+import hello.springcoreadvanced1.trace.servertiming.ServerTimingEntries;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 진행 중인 최상위 Trace 정보<br>
+ * - 최상위 Span 시작 시 설정하는 값 (마감 시각, 합성 요청, Server-Timing 수집) 은 소유 쓰레드가 fork 전에 한 번만 쓴다.<br>
+ * - enter/exit/addOverheadNs 는 attach() 로 같은 Trace 를 이어받은 fork/join 작업 쓰레드도 동시에 호출한다.
+ * 비용은 LongAdder 로 더하고, 현재 Span 은 형제 Span 이 겹치면 진행 중인 형제 또는 공통 상위 Span 중 하나를 가리키는 진단용 근사값이다.<br>
+ * - 다른 쓰레드(Watchdog, 조회 API)는 읽기만 한다.
+ */
+@Getter
+public class InFlightTrace {
+    /**
+     * 현재 Span 이름을 보관하는 최대 깊이
+     */
+    static final int MAX_DEPTH = 32;
+
+    /**
+     * Trace ID
+     */
+    private final String traceId;
+
+    /**
+     * Trace 를 시작한 쓰레드 이름
+     */
+    private final String threadName;
+
+    /**
+     * 최상위 Trace 시작 시간
+     */
+    private final long startTimeMs;
+
+    /**
+     * 현재 깊이
+     */
+    private volatile int level;
+
+    /**
+     * Watchdog 보고 여부
+     */
+    private volatile boolean reported;
+
+    /**
+     * 요청 마감 시각 (epoch ms), 없으면 0
+     */
+    private volatile long deadlineMs;
+
+    /**
+     * warmup 합성 요청 여부, SpanListener/SpanSink 통지와 비용 기록을 건너뛴다.
+     */
+    private volatile boolean synthetic;
+
+    /**
+     * 종료된 Span 을 모으는 Server-Timing 수집, 없으면 null<br>
+     * - fork/join 하위 작업 쓰레드도 같은 객체에 더한다.
+     */
+    private volatile ServerTimingEntries serverTiming;
+
+    /**
+     * 추적기 자체에서 쓴 시간, fork/join 하위 작업 쓰레드도 더하므로 LongAdder
+     */
+    @Getter(AccessLevel.NONE)
+    private final LongAdder overheadNs = new LongAdder();
+
+    /**
+     * 깊이별 Span 이름, 여러 작업 쓰레드가 같은 깊이에 쓸 수 있다.
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicReferenceArray<String> spans = new AtomicReferenceArray<>(MAX_DEPTH);
+
+    public InFlightTrace(String traceId, String threadName, long startTimeMs) {
+        this.traceId = traceId;
+        this.threadName = threadName;
+        this.startTimeMs = startTimeMs;
+    }
+
+    /**
+     * 하위 Span 시작
+     *
+     * @param level   시작한 Span 의 깊이
+     * @param message Span 이름
+     */
+    public void enter(int level, String message) {
+        if (level < MAX_DEPTH) {
+            // 뒤따르는 level 의 volatile 쓰기가 공개하므로 release 로 충분
+            spans.setRelease(level, message);
+        }
+        this.level = level;
+    }
+
+    /**
+     * 하위 Span 종료
+     *
+     * @param level 돌아갈 상위 Span 의 깊이
+     */
+    public void exit(int level) {
+        this.level = level;
+    }
+
+    /**
+     * @return 현재 진행 중인 Span 이름
+     */
+    public String getCurrentSpan() {
+        int current = level;
+        return spans.get(Math.min(current, MAX_DEPTH - 1));
+    }
+
+    /**
+     * @param nowMs 현재 시간
+     * @return 최상위 Trace 시작 후 경과 시간
+     */
+    public long getAgeMs(long nowMs) {
+        return nowMs - startTimeMs;
+    }
+
+    /**
+     * 최상위 Trace 시작 시 소유 쓰레드가 한 번 설정
+     *
+     * @param deadlineMs 요청 마감 시각 (epoch ms), 없으면 0
+     */
+    public void setDeadlineMs(long deadlineMs) {
+        this.deadlineMs = deadlineMs;
+    }
+
+    /**
+     * 최상위 Trace 시작 시 소유 쓰레드가 한 번 설정
+     */
+    public void markSynthetic() {
+        this.synthetic = true;
+    }
+
+    /**
+     * 최상위 Span 시작 시 소유 쓰레드가 한 번 설정
+     */
+    public void setServerTiming(ServerTimingEntries serverTiming) {
+        this.serverTiming = serverTiming;
+    }
+
+    /**
+     * @param nanos begin/end 한 번에 추적기가 쓴 시간
+     */
+    public void addOverheadNs(long nanos) {
+        overheadNs.add(nanos);
+    }
+
+    /**
+     * @return 지금까지 추적기가 쓴 시간 합
+     */
+    public long getOverheadNs() {
+        return overheadNs.sum();
+    }
+
+    /**
+     * Watchdog 보고 표시
+     *
+     * @return 처음 보고되는 경우 true
+     */
+    boolean markReported() {
+        if (reported) {
+            return false;
+        }
+        reported = true;
+        return true;
+    }
+}
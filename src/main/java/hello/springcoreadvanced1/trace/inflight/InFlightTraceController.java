@@ -0,0 +1,59 @@
+package hello.springcoreadvanced1.trace.inflight;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 진행 중인 요청 조회
+ */
+@RestController
+@RequestMapping("/trace")
+@RequiredArgsConstructor
+public class InFlightTraceController {
+    private final InFlightTraceRegistry registry;
+    private final InFlightTraceWatchdog watchdog;
+
+    @GetMapping("/in-flight")
+    public InFlightSummary inFlight(
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        long now = System.currentTimeMillis();
+        List<InFlightView> oldest = registry.oldest(limit).stream()
+                .map(trace -> new InFlightView(trace, now))
+                .toList();
+
+        return new InFlightSummary(registry.size(), watchdog.getStuckCount(), watchdog.getDeadlineMs(), oldest);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class InFlightSummary {
+        private final int size;
+        private final long stuckCount;
+        private final long deadlineMs;
+        private final List<InFlightView> oldest;
+    }
+
+    @Getter
+    public static class InFlightView {
+        private final String traceId;
+        private final String threadName;
+        private final String span;
+        private final int level;
+        private final long ageMs;
+
+        InFlightView(InFlightTrace trace, long nowMs) {
+            this.traceId = trace.getTraceId();
+            this.threadName = trace.getThreadName();
+            this.span = trace.getCurrentSpan();
+            this.level = trace.getLevel();
+            this.ageMs = trace.getAgeMs(nowMs);
+        }
+    }
+}
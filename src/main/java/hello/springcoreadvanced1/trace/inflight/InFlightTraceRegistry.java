@@ -0,0 +1,84 @@
+package hello.springcoreadvanced1.trace.inflight;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 진행 중인 최상위 Trace 저장소<br>
+ * - {@link ConcurrentHashMap} 의 bin 단위 잠금으로 전역 잠금 없이 등록/해제<br>
+ * - 항목 자체가 키이므로 별도의 ID 발급(공유 카운터)이 필요 없다.
+ */
+public class InFlightTraceRegistry {
+    private static final Comparator<InFlightTrace> OLDEST_FIRST =
+            Comparator.comparingLong(InFlightTrace::getStartTimeMs);
+
+    private final Set<InFlightTrace> traces = ConcurrentHashMap.newKeySet(256);
+
+    /**
+     * 최상위 Trace 등록
+     *
+     * @param traceId     Trace ID
+     * @param startTimeMs 시작 시간
+     * @return 등록된 {@link InFlightTrace}
+     */
+    public InFlightTrace register(String traceId, long startTimeMs) {
+        InFlightTrace trace = new InFlightTrace(traceId, Thread.currentThread().getName(), startTimeMs);
+        traces.add(trace);
+        return trace;
+    }
+
+    /**
+     * 최상위 Trace 해제
+     *
+     * @param trace 등록된 {@link InFlightTrace}
+     */
+    public void unregister(InFlightTrace trace) {
+        if (trace != null) {
+            traces.remove(trace);
+        }
+    }
+
+    /**
+     * @return 진행 중인 최상위 Trace 수
+     */
+    public int size() {
+        return traces.size();
+    }
+
+    /**
+     * @return 진행 중인 모든 최상위 Trace (순서 없음)
+     */
+    public Iterable<InFlightTrace> traces() {
+        return traces;
+    }
+
+    /**
+     * 가장 오래된 Trace 를 크기 limit 의 Heap 으로 선별
+     *
+     * @param limit 최대 개수
+     * @return 오래된 순으로 정렬된 Trace 목록
+     */
+    public List<InFlightTrace> oldest(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        PriorityQueue<InFlightTrace> heap = new PriorityQueue<>(limit, OLDEST_FIRST.reversed());
+        for (InFlightTrace trace : traces) {
+            if (heap.size() < limit) {
+                heap.offer(trace);
+            } else if (trace.getStartTimeMs() < heap.peek().getStartTimeMs()) {
+                heap.poll();
+                heap.offer(trace);
+            }
+        }
+
+        List<InFlightTrace> result = new ArrayList<>(heap);
+        result.sort(OLDEST_FIRST);
+        return result;
+    }
+}
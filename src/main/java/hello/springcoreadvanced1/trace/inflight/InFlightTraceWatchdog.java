@@ -0,0 +1,82 @@
+package hello.springcoreadvanced1.trace.inflight;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 기한을 넘긴 최상위 Trace 를 주기적으로 찾아 로그를 남기고 개수를 센다.<br>
+ * - Trace 하나당 한 번만 보고
+ */
+@Slf4j
+public class InFlightTraceWatchdog {
+    private final InFlightTraceRegistry registry;
+    private final long deadlineMs;
+    private final long intervalMs;
+    private final LongAdder stuckCount = new LongAdder();
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param registry   감시할 {@link InFlightTraceRegistry}
+     * @param deadlineMs 정상으로 볼 최대 경과 시간
+     * @param intervalMs 검사 주기
+     */
+    public InFlightTraceWatchdog(InFlightTraceRegistry registry, long deadlineMs, long intervalMs) {
+        this.registry = registry;
+        this.deadlineMs = deadlineMs;
+        this.intervalMs = intervalMs;
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "trace-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 기한을 넘긴 Trace 검사
+     *
+     * @return 이번 검사에서 새로 발견한 Trace 수
+     */
+    public int check() {
+        long now = System.currentTimeMillis();
+        int found = 0;
+
+        for (InFlightTrace trace : registry.traces()) {
+            long ageMs = trace.getAgeMs(now);
+            if (ageMs > deadlineMs && trace.markReported()) {
+                found++;
+                stuckCount.increment();
+                log.warn("[{}] stuck request thread = {} span = {} level = {} age = {}ms",
+                        trace.getTraceId(), trace.getThreadName(),
+                        trace.getCurrentSpan(), trace.getLevel(), ageMs
+                );
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return 지금까지 기한을 넘긴 Trace 수
+     */
+    public long getStuckCount() {
+        return stuckCount.sum();
+    }
+
+    public long getDeadlineMs() {
+        return deadlineMs;
+    }
+}
@@ -0,0 +1,101 @@
+package hello.springcoreadvanced1.trace.json;
+
+import hello.springcoreadvanced1.trace.SpanAttributes;
+import hello.springcoreadvanced1.trace.TraceId;
+import hello.springcoreadvanced1.trace.TraceStatus;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Span 종료 기록을 한 줄짜리 JSON 으로 쓰레드별 {@link SpanBuffer} 에 직접 기록<br>
+ * - 문자열 포맷팅 → JSON 변환의 2단계를 거치지 않고, 필드를 바로 UTF-8 바이트로 쓴다.<br>
+ * - 반환한 버퍼는 같은 쓰레드의 다음 encode() 호출 전까지만 유효하다.
+ * <pre>
+ * {"traceId":"e98458c8","spanId":"...","parentSpanId":"...","level":2,"name":"OrderRepository.save()",
+ *  "startMs":1697700000000,"durationMs":1,"attributes":{"itemId":"ex"},
+ *  "outcome":"error","exception":"java.lang.IllegalStateException"}
+ * </pre>
+ */
+public class JsonSpanEncoder {
+    private static final int INITIAL_CAPACITY = 512;
+
+    private static final byte[] TRACE_ID = ascii("{\"traceId\":");
+    private static final byte[] SPAN_ID = ascii(",\"spanId\":\"");
+    private static final byte[] PARENT_SPAN_ID = ascii("\",\"parentSpanId\":\"");
+    private static final byte[] LEVEL = ascii("\",\"level\":");
+    private static final byte[] NAME = ascii(",\"name\":");
+    private static final byte[] START_MS = ascii(",\"startMs\":");
+    private static final byte[] DURATION_MS = ascii(",\"durationMs\":");
+    private static final byte[] ATTRIBUTES = ascii(",\"attributes\":{");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] OUTCOME_OK = ascii(",\"outcome\":\"ok\"}\n");
+    private static final byte[] OUTCOME_ERROR = ascii(",\"outcome\":\"error\",\"exception\":");
+    private static final byte[] END = ascii("}\n");
+
+    private final ThreadLocal<SpanBuffer> buffers = ThreadLocal.withInitial(() -> new SpanBuffer(INITIAL_CAPACITY));
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @param status       종료한 Span
+     * @param resultTimeMs 걸린 시간
+     * @param e            발생한 예외, 정상 종료 시 null
+     * @return 줄바꿈으로 끝나는 JSON 이 담긴 현재 쓰레드의 버퍼
+     */
+    public SpanBuffer encode(TraceStatus status, long resultTimeMs, Exception e) {
+        TraceId traceId = status.getTraceId();
+        SpanBuffer buffer = buffers.get();
+        buffer.reset();
+
+        buffer.writeRaw(TRACE_ID).writeString(traceId.getId())
+                .writeRaw(SPAN_ID).writeHex16(traceId.getSpanId())
+                .writeRaw(PARENT_SPAN_ID).writeHex16(traceId.getParentSpanId())
+                .writeRaw(LEVEL).writeLong(traceId.getLevel())
+                .writeRaw(NAME).writeString(status.getMessage())
+                .writeRaw(START_MS).writeLong(status.getStartTimeMs())
+                .writeRaw(DURATION_MS).writeLong(resultTimeMs);
+
+        if (status.getAttributes() != null) {
+            writeAttributes(buffer, status.getAttributes());
+        }
+
+        if (e == null) {
+            buffer.writeRaw(OUTCOME_OK);
+        } else {
+            buffer.writeRaw(OUTCOME_ERROR).writeString(e.getClass().getName()).writeRaw(END);
+        }
+        return buffer;
+    }
+
+    private static void writeAttributes(SpanBuffer buffer, SpanAttributes attributes) {
+        buffer.writeRaw(ATTRIBUTES);
+        for (int i = 0; i < attributes.size(); i++) {
+            if (i > 0) {
+                buffer.writeByte(',');
+            }
+            buffer.writeString(attributes.key(i)).writeByte(':');
+            switch (attributes.type(i)) {
+                case SpanAttributes.TYPE_LONG -> buffer.writeLong(attributes.longValue(i));
+                case SpanAttributes.TYPE_BOOLEAN -> buffer.writeRaw(attributes.booleanValue(i) ? TRUE : FALSE);
+                case SpanAttributes.TYPE_DOUBLE -> writeDouble(buffer, attributes.doubleValue(i));
+                default -> buffer.writeString(String.valueOf(attributes.ref(i)));
+            }
+        }
+        buffer.writeByte('}');
+    }
+
+    /**
+     * NaN, Infinity 는 JSON 숫자가 아니므로 문자열로 기록
+     */
+    private static void writeDouble(SpanBuffer buffer, double value) {
+        String text = Double.toString(value);
+        if (Double.isFinite(value)) {
+            buffer.writeRaw(text.getBytes(StandardCharsets.US_ASCII));
+        } else {
+            buffer.writeString(text);
+        }
+    }
+}
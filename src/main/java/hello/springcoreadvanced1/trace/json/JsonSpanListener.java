@@ -0,0 +1,23 @@
+package hello.springcoreadvanced1.trace.json;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.span.SpanListener;
+
+/**
+ * Span 종료 시 {@link JsonSpanEncoder} 로 인코딩한 JSON 을 {@link SpanAppender} 로 전달
+ */
+public class JsonSpanListener implements SpanListener {
+    private final JsonSpanEncoder encoder;
+    private final SpanAppender appender;
+
+    public JsonSpanListener(JsonSpanEncoder encoder, SpanAppender appender) {
+        this.encoder = encoder;
+        this.appender = appender;
+    }
+
+    @Override
+    public void onEnd(TraceStatus status, long resultTimeMs, Exception e) {
+        SpanBuffer buffer = encoder.encode(status, resultTimeMs, e);
+        appender.append(buffer.getBytes(), 0, buffer.getLength());
+    }
+}
@@ -0,0 +1,57 @@
+package hello.springcoreadvanced1.trace.json;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * {@link OutputStream} (파일, 표준 출력) 으로 Span 기록을 쓰는 Appender<br>
+ * - 여러 쓰레드의 기록이 섞이지 않도록 한 기록 단위로 동기화<br>
+ * - 기록마다 flush (logback 의 immediateFlush 기본값과 같음)<br>
+ * - 표준 출력은 종료 시 flush 만 하고 닫지 않는다. (닫으면 이후 콘솔 로그가 사라짐)
+ */
+public class OutputStreamSpanAppender implements SpanAppender, AutoCloseable {
+    private final OutputStream out;
+    private final boolean closeTarget;
+
+    public OutputStreamSpanAppender(OutputStream out) {
+        this(out, true);
+    }
+
+    /**
+     * @param closeTarget close() 시 out 까지 닫을지 여부
+     */
+    public OutputStreamSpanAppender(OutputStream out, boolean closeTarget) {
+        this.out = new BufferedOutputStream(out, 8192);
+        this.closeTarget = closeTarget;
+    }
+
+    /**
+     * 표준 출력 (fd 1) 으로 기록, close() 해도 닫지 않는다.
+     */
+    public static OutputStreamSpanAppender stdout() {
+        return new OutputStreamSpanAppender(new FileOutputStream(FileDescriptor.out), false);
+    }
+
+    @Override
+    public synchronized void append(byte[] bytes, int offset, int length) {
+        try {
+            out.write(bytes, offset, length);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closeTarget) {
+            out.close();
+        } else {
+            out.flush();
+        }
+    }
+}
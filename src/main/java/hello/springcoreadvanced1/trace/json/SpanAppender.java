@@ -0,0 +1,16 @@
+package hello.springcoreadvanced1.trace.json;
+
+/**
+ * 인코딩된 Span 기록을 받아 내보내는 대상
+ */
+public interface SpanAppender {
+
+    /**
+     * 호출이 끝난 뒤 bytes 는 재사용되므로 보관하려면 복사해야 한다.
+     *
+     * @param bytes  인코딩된 기록
+     * @param offset 시작 위치
+     * @param length 길이
+     */
+    void append(byte[] bytes, int offset, int length);
+}
@@ -0,0 +1,142 @@
+package hello.springcoreadvanced1.trace.json;
+
+import java.util.Arrays;
+
+/**
+ * 재사용하는 UTF-8 바이트 버퍼<br>
+ * - 한 쓰레드에서만 사용하며, 기록할 때마다 {@link #reset()} 후 다시 채운다.<br>
+ * - 필요할 때만 배열을 키우므로 정상 상태에서는 할당이 없다.
+ */
+public class SpanBuffer {
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes();
+
+    private byte[] bytes;
+    private int length;
+
+    public SpanBuffer(int initialCapacity) {
+        this.bytes = new byte[initialCapacity];
+    }
+
+    public void reset() {
+        length = 0;
+    }
+
+    /**
+     * @return 내부 배열, 유효한 길이는 {@link #getLength()}
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+
+    public SpanBuffer writeByte(int b) {
+        ensure(1);
+        bytes[length++] = (byte) b;
+        return this;
+    }
+
+    /**
+     * 이스케이프가 필요 없는 ASCII 상수 (필드 이름, 구분자)
+     */
+    public SpanBuffer writeRaw(byte[] ascii) {
+        ensure(ascii.length);
+        System.arraycopy(ascii, 0, bytes, length, ascii.length);
+        length += ascii.length;
+        return this;
+    }
+
+    /**
+     * 10진수, 문자열을 만들지 않고 직접 기록
+     */
+    public SpanBuffer writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            return writeRaw(MIN_LONG);
+        }
+        if (value < 0) {
+            writeByte('-');
+            value = -value;
+        }
+
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        ensure(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+        return this;
+    }
+
+    /**
+     * 16자리 소문자 hex (W3C parent-id 형식)
+     */
+    public SpanBuffer writeHex16(long value) {
+        ensure(16);
+        for (int i = 15; i >= 0; i--) {
+            bytes[length + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        length += 16;
+        return this;
+    }
+
+    /**
+     * 따옴표로 감싼 JSON 문자열, 필요한 문자는 이스케이프하고 UTF-8 로 기록
+     */
+    public SpanBuffer writeString(String s) {
+        // 최악의 경우(모두 \\u00XX) 를 한 번에 확보
+        ensure(s.length() * 6 + 2);
+        byte[] b = bytes;
+        int pos = length;
+
+        b[pos++] = '"';
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                b[pos++] = (byte) c;
+            } else if (c == '"' || c == '\\') {
+                b[pos++] = '\\';
+                b[pos++] = (byte) c;
+            } else if (c < 0x20) {
+                b[pos++] = '\\';
+                b[pos++] = 'u';
+                b[pos++] = '0';
+                b[pos++] = '0';
+                b[pos++] = HEX[c >> 4];
+                b[pos++] = HEX[c & 0xF];
+            } else if (c < 0x800) {
+                b[pos++] = (byte) (0xC0 | (c >> 6));
+                b[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                b[pos++] = (byte) (0xF0 | (cp >> 18));
+                b[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                b[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                b[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                b[pos++] = '?';
+            } else {
+                b[pos++] = (byte) (0xE0 | (c >> 12));
+                b[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                b[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        b[pos++] = '"';
+
+        length = pos;
+        return this;
+    }
+}
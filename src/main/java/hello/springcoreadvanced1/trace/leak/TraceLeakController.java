@@ -0,0 +1,26 @@
+package hello.springcoreadvanced1.trace.leak;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Trace 누수 통계 조회
+ */
+@RestController
+@RequestMapping("/trace")
+@RequiredArgsConstructor
+public class TraceLeakController {
+    private final TraceLeakGuardFilter leakGuardFilter;
+
+    @GetMapping("/leaks")
+    public Map<String, Long> leaks() {
+        return Map.of(
+                "leakedRequests", leakGuardFilter.getLeakedRequests(),
+                "leakedFrames", leakGuardFilter.getLeakedFrames()
+        );
+    }
+}
@@ -0,0 +1,67 @@
+package hello.springcoreadvanced1.trace.leak;
+
+import hello.springcoreadvanced1.trace.logtrace.LogTrace;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 경계에서 쓰레드에 남은 Trace 를 강제로 정리<br>
+ * - 요청 시작 전: 이전 요청이 남긴 Trace 정리<br>
+ * - 요청 종료 후: 이번 요청이 남긴 Trace 정리
+ */
+@Slf4j
+public class TraceLeakGuardFilter extends OncePerRequestFilter {
+    private final LogTrace trace;
+
+    /**
+     * Trace 가 남아있던 요청 수
+     */
+    private final LongAdder leakedRequests = new LongAdder();
+
+    /**
+     * 정리된 Trace 깊이의 합
+     */
+    private final LongAdder leakedFrames = new LongAdder();
+
+    public TraceLeakGuardFilter(LogTrace trace) {
+        this.trace = trace;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        guard(request, "before");
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            guard(request, "after");
+        }
+    }
+
+    private void guard(HttpServletRequest request, String phase) {
+        int frames = trace.clear();
+        if (frames > 0) {
+            leakedRequests.increment();
+            leakedFrames.add(frames);
+            log.warn("trace leak {} {} frames = {}", phase, request.getRequestURI(), frames);
+        }
+    }
+
+    public long getLeakedRequests() {
+        return leakedRequests.sum();
+    }
+
+    public long getLeakedFrames() {
+        return leakedFrames.sum();
+    }
+}
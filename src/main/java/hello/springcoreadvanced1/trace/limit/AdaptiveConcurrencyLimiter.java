@@ -0,0 +1,110 @@
+package hello.springcoreadvanced1.trace.limit;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.span.SpanListener;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 최상위 Span 지연 시간으로 동시 처리 한도를 조절하는 Limiter (Gradient 방식)<br>
+ * - baseRtt: 최소 지연 시간, 표본마다 조금씩 올라가 부하 없는 상태의 변화를 따라간다.<br>
+ * - gradient = baseRtt * TOLERANCE / 최근 지연 시간, 지연 시간이 허용치를 넘으면 1 보다 작아져 한도를 줄인다.<br>
+ * - newLimit = limit * gradient + sqrt(limit), 대기열 여유분만큼은 항상 늘려본다.<br>
+ * <p>
+ * 표본 갱신은 tryLock 으로 처리해 다른 쓰레드가 갱신 중이면 그 표본은 건너뛴다.
+ * 요청 쓰레드가 Limiter 갱신 때문에 대기하지 않는다.
+ */
+public class AdaptiveConcurrencyLimiter implements SpanListener {
+    private static final double SMOOTHING = 0.2;
+    private static final double TOLERANCE = 2.0;
+    private static final double BASE_RTT_DRIFT = 1.001;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile double limit;
+    private double baseRttMs = Double.MAX_VALUE;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * @return 한도 안이면 true, 이 경우 반드시 {@link #release()} 호출
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * 정상 종료한 최상위 Span 종료 시간만 표본으로 사용<br>
+     * - 예외 (itemId=ex, 마감 초과, 주입된 실패) 는 0~1ms 에 끝나 baseRtt 를 무너뜨리므로 제외
+     */
+    @Override
+    public void onEnd(TraceStatus status, long resultTimeMs, Exception e) {
+        if (e == null && status.getTraceId().isFirstLevel()) {
+            onSample(resultTimeMs);
+        }
+    }
+
+    /**
+     * @param rttMs 최상위 Span 지연 시간
+     */
+    public void onSample(long rttMs) {
+        if (!updateLock.tryLock()) {
+            return;
+        }
+
+        try {
+            double sample = Math.max(1.0, rttMs);
+            baseRttMs = Math.min(sample, baseRttMs * BASE_RTT_DRIFT);
+
+            double current = limit;
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, baseRttMs * TOLERANCE / sample));
+            double newLimit = current * gradient + Math.sqrt(current);
+
+            // 한도를 다 쓰지 않는 상태에서는 늘리지 않는다.
+            if (newLimit > current && inFlight.get() < current / 2) {
+                return;
+            }
+
+            newLimit = current * (1 - SMOOTHING) + newLimit * SMOOTHING;
+            limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,29 @@
+package hello.springcoreadvanced1.trace.limit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 동시 처리 한도 조회
+ */
+@RestController
+@RequestMapping("/trace")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "trace.limit.enabled", havingValue = "true")
+public class ConcurrencyLimitController {
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    @GetMapping("/limit")
+    public Map<String, Object> limit() {
+        return Map.of(
+                "limit", limiter.getLimit(),
+                "inFlight", limiter.getInFlight(),
+                "rejected", limiter.getRejected()
+        );
+    }
+}
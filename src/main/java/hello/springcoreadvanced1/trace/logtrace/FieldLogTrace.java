@@ -2,6 +2,7 @@ package hello.springcoreadvanced1.trace.logtrace;
 
 import hello.springcoreadvanced1.trace.TraceId;
 import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.clock.TraceClock;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -15,6 +16,19 @@ public class FieldLogTrace implements LogTrace {
      */
     private TraceId traceIdHolder;
 
+    /**
+     * Span 시작/종료 시간
+     */
+    private final TraceClock clock;
+
+    public FieldLogTrace() {
+        this(TraceClock.SYSTEM);
+    }
+
+    public FieldLogTrace(TraceClock clock) {
+        this.clock = clock;
+    }
+
     /**
      * Trace Level 에 따라 공간을 확보하는 메서드
      * <p>- LEVEL 0: </p>
@@ -65,7 +79,7 @@ public class FieldLogTrace implements LogTrace {
      * @param e      발생한 예외
      */
     private void complete(TraceStatus status, Exception e) {
-        Long stopTimeMs = System.currentTimeMillis();
+        Long stopTimeMs = clock.currentTimeMillis();
         long resultTimeMs = stopTimeMs - status.getStartTimeMs();
         TraceId traceId = status.getTraceId();
 
@@ -91,7 +105,7 @@ public class FieldLogTrace implements LogTrace {
         syncTraceId();
 
         TraceId traceId = traceIdHolder;
-        Long startTimeMs = System.currentTimeMillis();
+        Long startTimeMs = clock.currentTimeMillis();
         log.info("[{}] {}{}", traceId.getId(), addSpace(START_PREFIX, traceId.getLevel()), message);
 
         return new TraceStatus(traceId, startTimeMs, message);
@@ -106,4 +120,27 @@ public class FieldLogTrace implements LogTrace {
     public void exception(TraceStatus status, Exception e) {
         complete(status, e);
     }
+
+    @Override
+    public int clear() {
+        if (traceIdHolder == null) {
+            return 0;
+        }
+
+        int frames = traceIdHolder.getLevel() + 1;
+        traceIdHolder = null;
+        return frames;
+    }
+
+    @Override
+    public TraceId currentTraceId() {
+        return traceIdHolder;
+    }
+
+    @Override
+    public TraceId attach(TraceId traceId) {
+        TraceId previous = traceIdHolder;
+        traceIdHolder = traceId;
+        return previous;
+    }
 }
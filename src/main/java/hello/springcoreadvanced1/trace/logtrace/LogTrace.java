@@ -1,5 +1,6 @@
 package hello.springcoreadvanced1.trace.logtrace;
 
+import hello.springcoreadvanced1.trace.TraceId;
 import hello.springcoreadvanced1.trace.TraceStatus;
 
 /**
@@ -28,4 +29,26 @@ public interface LogTrace {
      * @param e      발생한 예외
      */
     void exception(TraceStatus status, Exception e);
+
+    /**
+     * 현재 쓰레드에 남아있는 Trace 를 강제로 정리<br>
+     * - end(), exception() 누락으로 남은 Trace 가 다음 요청에 이어지지 않도록 요청 경계에서 호출
+     *
+     * @return 정리된 Trace 깊이 (남은 Trace 가 없으면 0)
+     */
+    int clear();
+
+    /**
+     * @return 현재 쓰레드에서 진행 중인 Trace, 없으면 null
+     */
+    TraceId currentTraceId();
+
+    /**
+     * 다른 쓰레드의 Trace 를 현재 쓰레드에 연결<br>
+     * - 작업을 다른 쓰레드로 넘길 때 사용, 작업 종료 후 반환값으로 다시 호출해 복원
+     *
+     * @param traceId 연결할 Trace, null 이면 연결 해제
+     * @return 기존에 연결되어 있던 Trace
+     */
+    TraceId attach(TraceId traceId);
 }
@@ -2,13 +2,29 @@ package hello.springcoreadvanced1.trace.logtrace;
 
 import hello.springcoreadvanced1.trace.TraceId;
 import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.clock.TraceClock;
+import hello.springcoreadvanced1.trace.deadline.DeadlineHolder;
+import hello.springcoreadvanced1.trace.inflight.InFlightTrace;
+import hello.springcoreadvanced1.trace.inflight.InFlightTraceRegistry;
+import hello.springcoreadvanced1.trace.overhead.TracerOverheadRecorder;
+import hello.springcoreadvanced1.trace.propagation.InboundTraceHolder;
+import hello.springcoreadvanced1.trace.sink.LogSpanSink;
+import hello.springcoreadvanced1.trace.sink.SpanSink;
+import hello.springcoreadvanced1.trace.span.SpanListener;
+import hello.springcoreadvanced1.trace.toggle.TraceMode;
+import hello.springcoreadvanced1.trace.toggle.TraceToggles;
+import hello.springcoreadvanced1.trace.warmup.WarmupHolder;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+
+import java.util.List;
 
 @Slf4j
 public class ThreadLocalLogTrace implements LogTrace {
-    private static final String START_PREFIX = "-->";
-    private static final String COMPLETE_PREFIX = "<--";
-    private static final String EX_PREFIX = "<X-";
+    /**
+     * MDC 에 Trace ID 를 넣을 때의 키, 예: logging.pattern.level=%5p [%X{traceId:-}]
+     */
+    public static final String MDC_TRACE_ID = "traceId";
 
     /**
      * Thread Local 적용
@@ -16,96 +32,339 @@ public class ThreadLocalLogTrace implements LogTrace {
     private final ThreadLocal<TraceId> traceIdHolder = new ThreadLocal<>();
 
     /**
-     * Trace Level 에 따라 공간을 확보하는 메서드
-     * <p>- LEVEL 0: </p>
-     * <p>- LEVEL 1: |--></p>
-     * <p>- LEVEL 2: |   |--></p>
-     *
-     * @param prefix 적용할 접두사
-     * @param level  현재 Trace Level
+     * 진행 중인 최상위 Trace 저장소
+     */
+    private final InFlightTraceRegistry registry;
+
+    /**
+     * Span 시작/종료 통지 대상
+     */
+    private final SpanListener[] listeners;
+
+    /**
+     * Span 별 추적 수준
+     */
+    private final TraceToggles toggles;
+
+    /**
+     * Trace 로그 출력, 요청 쓰레드에서 바로 호출
+     */
+    private final SpanSink output;
+
+    /**
+     * 요청별 추적기 비용 기록, null 이면 측정하지 않는다.
+     */
+    private final TracerOverheadRecorder overheadRecorder;
+
+    /**
+     * Span 시작/종료 시간
+     */
+    private final TraceClock clock;
+
+    /**
+     * MDC 에 Trace ID 기록 여부<br>
+     * - 최상위 Span 시작/종료, attach() 로 다른 쓰레드에 이어질 때만 기록하고 하위 Span 에서는 건드리지 않는다.
+     */
+    private final boolean mdc;
+
+    public ThreadLocalLogTrace() {
+        this(new Options());
+    }
+
+    public ThreadLocalLogTrace(Options options) {
+        this.registry = options.registry;
+        this.listeners = options.listeners.toArray(new SpanListener[0]);
+        this.toggles = options.toggles;
+        this.output = options.output;
+        this.overheadRecorder = options.overheadRecorder;
+        this.clock = options.clock;
+        this.mdc = options.mdc;
+    }
+
+    /**
+     * {@link ThreadLocalLogTrace} 생성 옵션, 지정하지 않은 값은 기본값을 쓴다.
      */
-    private static String addSpace(String prefix, int level) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < level; i++) {
-            sb.append((i == level - 1) ? "|" + prefix : "|   ");
+    public static final class Options {
+        private InFlightTraceRegistry registry = new InFlightTraceRegistry();
+        private List<SpanListener> listeners = List.of();
+        private TraceToggles toggles = TraceToggles.allEnabled();
+        private SpanSink output = new LogSpanSink();
+        private TracerOverheadRecorder overheadRecorder;
+        private TraceClock clock = TraceClock.SYSTEM;
+        private boolean mdc;
+
+        public Options registry(InFlightTraceRegistry registry) {
+            this.registry = registry;
+            return this;
+        }
+
+        public Options listeners(List<SpanListener> listeners) {
+            this.listeners = listeners;
+            return this;
+        }
+
+        public Options toggles(TraceToggles toggles) {
+            this.toggles = toggles;
+            return this;
+        }
+
+        /**
+         * @param output Trace 로그 출력, {@link SpanSink#NONE} 이면 로그 없이 SpanListener 만 통지
+         */
+        public Options output(SpanSink output) {
+            this.output = output;
+            return this;
+        }
+
+        /**
+         * @param overheadRecorder 요청별 추적기 비용 기록, null 이면 측정하지 않는다.
+         */
+        public Options overheadRecorder(TracerOverheadRecorder overheadRecorder) {
+            this.overheadRecorder = overheadRecorder;
+            return this;
+        }
+
+        /**
+         * @param clock Span 시작/종료 시간을 읽을 시계
+         */
+        public Options clock(TraceClock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * @param mdc MDC 에 Trace ID ({@link #MDC_TRACE_ID}) 기록 여부
+         */
+        public Options mdc(boolean mdc) {
+            this.mdc = mdc;
+            return this;
         }
-        return sb.toString();
     }
 
     /**
      * TraceId 동기화<br>
-     * - 최초 호출: 새로운 TraceId 생성<br>
+     * - 최초 호출: 새로운 TraceId 생성 (전달받은 Trace 가 있으면 이어받음), {@link InFlightTraceRegistry} 등록, 요청 마감 시간 저장,
+     * warmup 합성 요청 표시<br>
      * - 이후 호출: 다음 Level TraceId 생성
+     *
+     * @return 동기화된 TraceId
      */
-    private void syncTraceId() {
+    private TraceId syncTraceId(String message, long startTimeMs) {
         TraceId traceId = traceIdHolder.get();
         if (traceId == null) {
-            traceIdHolder.set(new TraceId());
+            TraceId inbound = InboundTraceHolder.get();
+            traceId = inbound != null ? inbound : new TraceId();
+            traceId = traceId.withInFlight(registry.register(traceId.getId(), startTimeMs));
+            traceId.getInFlight().setDeadlineMs(DeadlineHolder.get());
+            if (WarmupHolder.isActive()) {
+                traceId.getInFlight().markSynthetic();
+            }
+            if (mdc) {
+                MDC.put(MDC_TRACE_ID, traceId.getId());
+            }
         } else {
-            traceIdHolder.set(traceId.createNextId());
+            traceId = traceId.createNextId();
         }
+        traceIdHolder.set(traceId);
+        traceId.getInFlight().enter(traceId.getLevel(), message);
+        return traceId;
     }
 
     /**
      * TraceId LEVEL 감소<br>
-     * - Level 0 : null<br>
+     * - Level 0 : null, {@link InFlightTraceRegistry} 해제<br>
      * - Level 1~: 이전 Level TraceId 생성
      */
     private void releaseTraceId() {
         TraceId traceId = traceIdHolder.get();
+        if (traceId == null) {
+            // clear() 로 이미 정리된 Trace
+            return;
+        }
+
+        InFlightTrace inFlight = traceId.getInFlight();
         if (traceId.isFirstLevel()) {
             traceIdHolder.remove();
+            registry.unregister(inFlight);
+            if (mdc) {
+                MDC.remove(MDC_TRACE_ID);
+            }
         } else {
-            traceIdHolder.set(traceId.createPreviousId());
+            TraceId previousId = traceId.createPreviousId();
+            traceIdHolder.set(previousId);
+            inFlight.exit(previousId.getLevel());
         }
     }
 
     /**
-     * 현재 Trace가 종료됨에 따라 로그를 출력하기 위함
+     * 현재 Trace가 종료됨에 따라 로그를 출력하기 위함<br>
+     * - warmup 합성 요청은 출력, SpanListener 통지, 비용 기록 없이 Level 만 되돌린다.
      *
      * @param status {@link TraceStatus}
      * @param e      발생한 예외
      */
     private void complete(TraceStatus status, Exception e) {
-        Long stopTimeMs = System.currentTimeMillis();
+        if (status.getTraceId().getInFlight().isSynthetic()) {
+            releaseTraceId();
+            return;
+        }
+
+        long overheadStartNs = overheadRecorder != null ? System.nanoTime() : 0L;
+        Long stopTimeMs = clock.currentTimeMillis();
         long resultTimeMs = stopTimeMs - status.getStartTimeMs();
-        TraceId traceId = status.getTraceId();
-
-        if (e == null) {
-            log.info("[{}] {}{} time = {}ms",
-                    traceId.getId(),
-                    addSpace(COMPLETE_PREFIX, traceId.getLevel()),
-                    status.getMessage(), resultTimeMs
-            );
-        } else {
-            log.info("[{}] {}{} time = {}ms ex = {}",
-                    traceId.getId(),
-                    addSpace(EX_PREFIX, traceId.getLevel()),
-                    status.getMessage(), resultTimeMs, e.toString()
-            );
+        try {
+            notifyBeforeEnd(status, resultTimeMs);
+            output.end(status, resultTimeMs, e);
+            notifyEnd(status, resultTimeMs, e);
+        } finally {
+            if (overheadRecorder != null) {
+                recordOverhead(status.getTraceId(), overheadStartNs, resultTimeMs);
+            }
+            releaseTraceId();
         }
+    }
 
-        releaseTraceId();
+    /**
+     * begin/end 한 번의 비용을 최상위 Trace 에 더하고, 최상위 Span 종료 시 요청 전체 비용 기록<br>
+     * - releaseTraceId() 이후의 정리 비용과 기록하는 record() 자신의 시간은 포함하지 않는다.
+     * record() 는 쓰레드별 Stripe 로 나눠 잠금 경합 없이 짧게 끝난다.
+     */
+    private void recordOverhead(TraceId traceId, long startNs, long resultTimeMs) {
+        InFlightTrace inFlight = traceId.getInFlight();
+        inFlight.addOverheadNs(System.nanoTime() - startNs);
+        if (traceId.isFirstLevel()) {
+            overheadRecorder.record(inFlight.getOverheadNs(), resultTimeMs);
+        }
     }
 
     @Override
     public TraceStatus begin(String message) {
-        syncTraceId();
+        TraceMode mode = toggles.modeOf(message);
+        if (mode == TraceMode.OFF) {
+            return TraceStatus.DISABLED;
+        }
 
-        TraceId traceId = traceIdHolder.get();
-        Long startTimeMs = System.currentTimeMillis();
-        log.info("[{}] {}{}", traceId.getId(), addSpace(START_PREFIX, traceId.getLevel()), message);
+        long overheadStartNs = overheadRecorder != null ? System.nanoTime() : 0L;
+
+        Long startTimeMs = clock.currentTimeMillis();
+        TraceId traceId = syncTraceId(message, startTimeMs);
+
+        TraceStatus status = new TraceStatus(traceId, startTimeMs, message);
+        if (traceId.getInFlight().isSynthetic()) {
+            return status;
+        }
+
+        try {
+            if (mode == TraceMode.FULL) {
+                output.begin(status);
+            }
+        } catch (RuntimeException e) {
+            releaseTraceId();
+            throw e;
+        }
+
+        notifyBegin(status);
+        if (overheadRecorder != null) {
+            traceId.getInFlight().addOverheadNs(System.nanoTime() - overheadStartNs);
+        }
+        return status;
+    }
+
+    /**
+     * {@link SpanListener} 의 실패가 비즈니스 로직으로 전파되지 않도록 격리
+     */
+    private void notifyBegin(TraceStatus status) {
+        for (SpanListener listener : listeners) {
+            try {
+                listener.onBegin(status);
+            } catch (RuntimeException ex) {
+                log.warn("SpanListener.onBegin failed: {}", listener, ex);
+            }
+        }
+    }
 
-        return new TraceStatus(traceId, startTimeMs, message);
+    private void notifyBeforeEnd(TraceStatus status, long resultTimeMs) {
+        for (SpanListener listener : listeners) {
+            try {
+                listener.beforeEnd(status, resultTimeMs);
+            } catch (RuntimeException ex) {
+                log.warn("SpanListener.beforeEnd failed: {}", listener, ex);
+            }
+        }
     }
 
+    private void notifyEnd(TraceStatus status, long resultTimeMs, Exception e) {
+        for (SpanListener listener : listeners) {
+            try {
+                listener.onEnd(status, resultTimeMs, e);
+            } catch (RuntimeException ex) {
+                log.warn("SpanListener.onEnd failed: {}", listener, ex);
+            }
+        }
+    }
+
+    /**
+     * begin() 이 실패해 status 가 null 이거나, 꺼진 Span 인 경우 무시
+     */
     @Override
     public void end(TraceStatus status) {
-        complete(status, null);
+        if (status != null && !status.isDisabled()) {
+            complete(status, null);
+        }
     }
 
+    /**
+     * begin() 이 실패해 status 가 null 이거나, 꺼진 Span 인 경우 무시
+     */
     @Override
     public void exception(TraceStatus status, Exception e) {
-        complete(status, e);
+        if (status != null && !status.isDisabled()) {
+            complete(status, e);
+        }
+    }
+
+    @Override
+    public int clear() {
+        TraceId traceId = traceIdHolder.get();
+        if (traceId == null) {
+            return 0;
+        }
+
+        traceIdHolder.remove();
+        registry.unregister(traceId.getInFlight());
+        if (mdc) {
+            MDC.remove(MDC_TRACE_ID);
+        }
+        return traceId.getLevel() + 1;
+    }
+
+    @Override
+    public TraceId currentTraceId() {
+        return traceIdHolder.get();
+    }
+
+    @Override
+    public TraceId attach(TraceId traceId) {
+        TraceId previous = traceIdHolder.get();
+        if (traceId == null) {
+            traceIdHolder.remove();
+        } else {
+            traceIdHolder.set(traceId);
+        }
+        if (mdc) {
+            attachMdc(previous, traceId);
+        }
+        return previous;
+    }
+
+    /**
+     * 같은 Trace 안에서 옮겨 다니는 경우(fork/join 후 복원 등)는 MDC 를 다시 쓰지 않는다.
+     */
+    private static void attachMdc(TraceId previous, TraceId traceId) {
+        if (traceId == null) {
+            MDC.remove(MDC_TRACE_ID);
+        } else if (previous == null || !previous.getId().equals(traceId.getId())) {
+            MDC.put(MDC_TRACE_ID, traceId.getId());
+        }
     }
 }
@@ -0,0 +1,25 @@
+package hello.springcoreadvanced1.trace.overhead;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 요청별 추적기 비용 분포 조회
+ */
+@RestController
+@RequestMapping("/trace")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "trace.overhead.enabled", havingValue = "true")
+public class TracerOverheadController {
+    private final TracerOverheadRecorder recorder;
+
+    @GetMapping("/overhead")
+    public Map<String, Object> overhead() {
+        return recorder.snapshot();
+    }
+}
@@ -0,0 +1,98 @@
+package hello.springcoreadvanced1.trace.overhead;
+
+import hello.springcoreadvanced1.trace.sketch.DDSketch;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 요청(최상위 Trace)별 추적기 자체 비용 분포<br>
+ * - 비용: LogTrace.begin/end/exception 안에서 쓴 시간 (로그 출력, SpanListener, 동기 Sink 포함)<br>
+ * - 절대 값(µs)과 최상위 Span 시간 대비 비율(%)을 각각 {@link DDSketch} 로 누적<br>
+ * - 요청 쓰레드마다 record() 를 부르므로 쓰레드 ID 로 나눈 stripes 개의 Sketch 묶음으로 잠금 경합을 줄이고, 조회 시 병합한다.
+ */
+public class TracerOverheadRecorder {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+    private static final int MAX_BINS = 2048;
+    static final int DEFAULT_STRIPES = 8;
+
+    private final double relativeAccuracy;
+    private final Stripe[] stripes;
+
+    /**
+     * @param relativeAccuracy 분위수 상대 오차
+     */
+    public TracerOverheadRecorder(double relativeAccuracy) {
+        this(relativeAccuracy, DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param relativeAccuracy 분위수 상대 오차
+     * @param stripes          Sketch 묶음 수 (2의 거듭제곱)
+     */
+    public TracerOverheadRecorder(double relativeAccuracy, int stripes) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes 는 2의 거듭제곱이어야 합니다: " + stripes);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * @param overheadNs 요청 하나에서 추적기가 쓴 시간
+     * @param rootTimeMs 최상위 Span 걸린 시간
+     */
+    public void record(long overheadNs, long rootTimeMs) {
+        double micros = overheadNs / 1_000.0;
+        // 1ms 미만 요청은 1ms 로 보고 비율을 계산 (0 으로 나누지 않도록)
+        double percent = overheadNs / 1e6 / Math.max(1, rootTimeMs) * 100;
+
+        Stripe stripe = stripes[(int) Thread.currentThread().getId() & (stripes.length - 1)];
+        synchronized (stripe) {
+            stripe.micros.add(micros);
+            stripe.percent.add(percent);
+        }
+    }
+
+    /**
+     * @return count, meanMicros, p50/p90/p99 (µs, %), maxMicros
+     */
+    public Map<String, Object> snapshot() {
+        DDSketch micros = new DDSketch(relativeAccuracy, MAX_BINS);
+        DDSketch percent = new DDSketch(relativeAccuracy, MAX_BINS);
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                micros.merge(stripe.micros);
+                percent.merge(stripe.percent);
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        long count = micros.getCount();
+        result.put("count", count);
+        if (count == 0) {
+            return result;
+        }
+        result.put("meanMicros", micros.getSum() / count);
+        for (double q : QUANTILES) {
+            result.put("p" + (int) (q * 100) + "Micros", micros.quantile(q));
+        }
+        result.put("maxMicros", micros.getMax());
+        for (double q : QUANTILES) {
+            result.put("p" + (int) (q * 100) + "Percent", percent.quantile(q));
+        }
+        result.put("maxPercent", percent.getMax());
+        return result;
+    }
+
+    /**
+     * 쓰레드 묶음 하나의 Sketch, 자기 자신으로 동기화
+     */
+    private class Stripe {
+        private final DDSketch micros = new DDSketch(relativeAccuracy, MAX_BINS);
+        private final DDSketch percent = new DDSketch(relativeAccuracy, MAX_BINS);
+    }
+}
@@ -0,0 +1,30 @@
+package hello.springcoreadvanced1.trace.propagation;
+
+import hello.springcoreadvanced1.trace.TraceId;
+
+/**
+ * 요청으로 전달받은 Trace 보관<br>
+ * - {@link TraceparentFilter} 가 요청 시작 시 저장하고 종료 시 정리<br>
+ * - 최상위 Trace 를 시작할 때 새 Trace 대신 이 Trace 를 이어받는다.
+ */
+public final class InboundTraceHolder {
+    private static final ThreadLocal<TraceId> holder = new ThreadLocal<>();
+
+    private InboundTraceHolder() {
+    }
+
+    public static void set(TraceId traceId) {
+        holder.set(traceId);
+    }
+
+    /**
+     * @return 전달받은 Trace, 없으면 null
+     */
+    public static TraceId get() {
+        return holder.get();
+    }
+
+    public static void clear() {
+        holder.remove();
+    }
+}
@@ -0,0 +1,147 @@
+package hello.springcoreadvanced1.trace.propagation;
+
+import hello.springcoreadvanced1.trace.TraceId;
+
+/**
+ * W3C Trace Context traceparent 헤더 변환<br>
+ * - 형식: {version}-{trace-id 32hex}-{parent-id 16hex}-{flags 2hex}<br>
+ * - 정규식/split 없이 문자 단위로 검사, 변환 결과 외의 할당 없음<br>
+ * <p>
+ * 로컬에서 만든 8자리 Trace ID 는 앞을 0 으로 채워 32자리로 보내고,
+ * 받을 때 앞 24자리가 모두 0 이면 다시 8자리로 줄여 로그의 Trace ID 가 서비스 간에 같게 보이도록 한다.
+ */
+public final class Traceparent {
+    public static final String HEADER_NAME = "traceparent";
+
+    private static final int LENGTH = 55;
+    private static final int TRACE_ID_OFFSET = 3;
+    private static final int TRACE_ID_LENGTH = 32;
+    private static final int PARENT_ID_OFFSET = 36;
+    private static final int PARENT_ID_LENGTH = 16;
+    private static final int FLAGS_OFFSET = 53;
+    private static final int COMPACT_PADDING = 24;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private Traceparent() {
+    }
+
+    /**
+     * @param header traceparent 헤더 값
+     * @return 전달받은 Trace 를 이어받은 최상위 {@link TraceId}, 형식이 잘못되면 null
+     */
+    public static TraceId parse(String header) {
+        if (header == null || header.length() < LENGTH
+                || header.charAt(2) != '-' || header.charAt(35) != '-' || header.charAt(52) != '-') {
+            return null;
+        }
+
+        int version = hexValue(header, 0, 2);
+        if (version < 0 || version == 0xff || (version == 0 && header.length() != LENGTH)) {
+            return null;
+        }
+        if (version > 0 && header.length() > LENGTH && header.charAt(LENGTH) != '-') {
+            return null;
+        }
+        if (hexValue(header, FLAGS_OFFSET, 2) < 0) {
+            return null;
+        }
+
+        boolean compact = true;
+        boolean allZero = true;
+        for (int i = TRACE_ID_OFFSET; i < TRACE_ID_OFFSET + TRACE_ID_LENGTH; i++) {
+            int digit = hexDigit(header.charAt(i));
+            if (digit < 0) {
+                return null;
+            }
+            if (digit != 0) {
+                allZero = false;
+                if (i < TRACE_ID_OFFSET + COMPACT_PADDING) {
+                    compact = false;
+                }
+            }
+        }
+
+        long parentSpanId = 0L;
+        for (int i = PARENT_ID_OFFSET; i < PARENT_ID_OFFSET + PARENT_ID_LENGTH; i++) {
+            int digit = hexDigit(header.charAt(i));
+            if (digit < 0) {
+                return null;
+            }
+            parentSpanId = (parentSpanId << 4) | digit;
+        }
+
+        if (allZero || parentSpanId == 0L) {
+            return null;
+        }
+
+        int traceIdStart = compact ? TRACE_ID_OFFSET + COMPACT_PADDING : TRACE_ID_OFFSET;
+        return new TraceId(header.substring(traceIdStart, TRACE_ID_OFFSET + TRACE_ID_LENGTH), parentSpanId);
+    }
+
+    /**
+     * @param traceId 현재 Trace
+     * @return traceparent 헤더 값, Trace ID 를 32자리 hex 로 만들 수 없으면 null
+     */
+    public static String format(TraceId traceId) {
+        String id = traceId.getId();
+        int length = id.length();
+        if (length == 0 || length > TRACE_ID_LENGTH) {
+            return null;
+        }
+
+        char[] chars = new char[LENGTH];
+        chars[0] = '0';
+        chars[1] = '0';
+        chars[2] = '-';
+
+        int padding = TRACE_ID_LENGTH - length;
+        for (int i = 0; i < padding; i++) {
+            chars[TRACE_ID_OFFSET + i] = '0';
+        }
+        for (int i = 0; i < length; i++) {
+            char c = Character.toLowerCase(id.charAt(i));
+            if (hexDigit(c) < 0) {
+                return null;
+            }
+            chars[TRACE_ID_OFFSET + padding + i] = c;
+        }
+        chars[35] = '-';
+
+        long spanId = traceId.getSpanId();
+        for (int i = PARENT_ID_LENGTH - 1; i >= 0; i--) {
+            chars[PARENT_ID_OFFSET + i] = HEX[(int) (spanId & 0xf)];
+            spanId >>>= 4;
+        }
+        chars[52] = '-';
+
+        // sampled
+        chars[53] = '0';
+        chars[54] = '1';
+        return new String(chars);
+    }
+
+    private static int hexValue(String s, int offset, int length) {
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int digit = hexDigit(s.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    /**
+     * W3C 규격은 소문자 hex 만 허용
+     */
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,36 @@
+package hello.springcoreadvanced1.trace.propagation;
+
+import hello.springcoreadvanced1.trace.TraceId;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 요청의 traceparent 헤더를 읽어 {@link InboundTraceHolder} 에 보관
+ */
+public class TraceparentFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        TraceId inbound = Traceparent.parse(request.getHeader(Traceparent.HEADER_NAME));
+        if (inbound == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        InboundTraceHolder.set(inbound);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            InboundTraceHolder.clear();
+        }
+    }
+}
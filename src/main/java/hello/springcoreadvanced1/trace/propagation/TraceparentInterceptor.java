@@ -0,0 +1,37 @@
+package hello.springcoreadvanced1.trace.propagation;
+
+import hello.springcoreadvanced1.trace.TraceId;
+import hello.springcoreadvanced1.trace.logtrace.LogTrace;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * RestTemplate 요청에 현재 Span 을 traceparent 헤더로 추가
+ */
+public class TraceparentInterceptor implements ClientHttpRequestInterceptor {
+    private final LogTrace trace;
+
+    public TraceparentInterceptor(LogTrace trace) {
+        this.trace = trace;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request,
+            byte[] body,
+            ClientHttpRequestExecution execution
+    ) throws IOException {
+        TraceId traceId = trace.currentTraceId();
+        if (traceId != null && !request.getHeaders().containsKey(Traceparent.HEADER_NAME)) {
+            String traceparent = Traceparent.format(traceId);
+            if (traceparent != null) {
+                request.getHeaders().set(Traceparent.HEADER_NAME, traceparent);
+            }
+        }
+        return execution.execute(request, body);
+    }
+}
@@ -0,0 +1,46 @@
+package hello.springcoreadvanced1.trace.servertiming;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 응답 본문을 쓰기 직전에 Server-Timing 헤더 추가<br>
+ * - 컨트롤러의 최상위 Span 은 반환 전에 종료되므로 이 시점에는 모든 Span 이 모여 있다.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "trace.server-timing.enabled", havingValue = "true")
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+    private final ServerTimingCollector collector;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response
+    ) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            String value = collector.headerValue(servletRequest.getServletRequest());
+            if (value != null) {
+                response.getHeaders().add(ServerTimingCollector.HEADER_NAME, value);
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,128 @@
+package hello.springcoreadvanced1.trace.servertiming;
+
+import hello.springcoreadvanced1.trace.TraceId;
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.inflight.InFlightTrace;
+import hello.springcoreadvanced1.trace.span.SpanListener;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 현재 요청에서 종료된 Span 을 모아 Server-Timing 헤더 값을 만든다.<br>
+ * - 요청마다 크기가 고정된 {@link ServerTimingEntries} 하나만 할당<br>
+ * - 최상위 Span 시작 시 (요청 쓰레드) ServerTimingEntries 를 요청 속성과 {@link InFlightTrace} 에 함께 넣고,
+ * 종료된 Span 은 InFlightTrace 로 찾아 더한다. 따라서 RequestContextHolder 가 없는 fork/join 작업 쓰레드의 Span 도 모인다.<br>
+ * - {@link ServerTimingEntries#MAX_ENTRIES} 를 넘는 Span 은 버린다.<br>
+ * - 추적기 비용을 재고 있으면 (trace.overhead.enabled) 최상위 Span 종료 시점까지의 비용을 "tracer" 로 추가
+ */
+public class ServerTimingCollector implements SpanListener {
+    public static final String HEADER_NAME = "Server-Timing";
+
+    private static final int MAX_CACHED_NAMES = 256;
+    private static final String ATTRIBUTE_NAME = ServerTimingCollector.class.getName() + ".ENTRIES";
+
+    /**
+     * Span 이름 -> Server-Timing metric 이름 (token)
+     */
+    private final Map<String, String> metricNames = new ConcurrentHashMap<>();
+
+    @Override
+    public void onBegin(TraceStatus status) {
+        TraceId traceId = status.getTraceId();
+        if (!traceId.isFirstLevel() || traceId.getInFlight() == null) {
+            return;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+
+        // 한 요청에서 최상위 Span 이 여러 번 시작되면 같은 ServerTimingEntries 에 모은다.
+        ServerTimingEntries entries =
+                (ServerTimingEntries) attributes.getAttribute(ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+        if (entries == null) {
+            entries = new ServerTimingEntries();
+            attributes.setAttribute(ATTRIBUTE_NAME, entries, RequestAttributes.SCOPE_REQUEST);
+        }
+        traceId.getInFlight().setServerTiming(entries);
+    }
+
+    @Override
+    public void onEnd(TraceStatus status, long resultTimeMs, Exception e) {
+        TraceId traceId = status.getTraceId();
+        InFlightTrace inFlight = traceId.getInFlight();
+        ServerTimingEntries entries = inFlight != null ? inFlight.getServerTiming() : null;
+        if (entries == null) {
+            return;
+        }
+
+        entries.add(status.getMessage(), resultTimeMs);
+        if (traceId.isFirstLevel()) {
+            entries.tracerNs = inFlight.getOverheadNs();
+        }
+    }
+
+    /**
+     * @param request 현재 요청
+     * @return Server-Timing 헤더 값, 종료된 Span 이 없으면 null
+     */
+    public String headerValue(HttpServletRequest request) {
+        ServerTimingEntries entries = (ServerTimingEntries) request.getAttribute(ATTRIBUTE_NAME);
+        if (entries == null) {
+            return null;
+        }
+        synchronized (entries) {
+            return entries.size == 0 ? null : headerValue(entries);
+        }
+    }
+
+    private String headerValue(ServerTimingEntries entries) {
+        // "name;dur=123, " 기준으로 미리 크기를 잡아 재할당을 피한다.
+        StringBuilder sb = new StringBuilder(entries.size * 48);
+        for (int i = 0; i < entries.size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(metricName(entries.names[i])).append(";dur=").append(entries.durations[i]);
+        }
+        if (entries.tracerNs > 0) {
+            sb.append(", tracer;dur=").append(String.format(Locale.ROOT, "%.3f", entries.tracerNs / 1e6));
+        }
+        return sb.toString();
+    }
+
+    private String metricName(String message) {
+        String name = metricNames.get(message);
+        if (name == null) {
+            name = toToken(message);
+            if (metricNames.size() < MAX_CACHED_NAMES) {
+                metricNames.put(message, name);
+            }
+        }
+        return name;
+    }
+
+    /**
+     * RFC 7230 token 으로 변환<br>
+     * - "OrderController.request()" -> "OrderController.request"
+     */
+    static String toToken(String message) {
+        String name = message.endsWith("()") ? message.substring(0, message.length() - 2) : message;
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            sb.append(isTokenChar(c) ? c : '_');
+        }
+        return sb.length() == 0 ? "span" : sb.toString();
+    }
+
+    private static boolean isTokenChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || "!#$%&'*+-.^_`|~".indexOf(c) >= 0;
+    }
+}
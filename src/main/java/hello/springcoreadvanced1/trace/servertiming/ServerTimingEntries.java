@@ -0,0 +1,22 @@
+package hello.springcoreadvanced1.trace.servertiming;
+
+/**
+ * 요청 하나의 종료된 Span, 종료 순서(하위 Span 먼저)로 저장<br>
+ * - 병렬 하위 작업 쓰레드도 더하므로 ServerTimingEntries 자체로 동기화
+ */
+public class ServerTimingEntries {
+    static final int MAX_ENTRIES = 16;
+
+    final String[] names = new String[MAX_ENTRIES];
+    final long[] durations = new long[MAX_ENTRIES];
+    int size;
+    volatile long tracerNs;
+
+    synchronized void add(String name, long duration) {
+        if (size < MAX_ENTRIES) {
+            names[size] = name;
+            durations[size] = duration;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package hello.springcoreadvanced1.trace.sink;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 전용 쓰레드와 대기열로 {@link SpanSink} 를 요청 쓰레드에서 분리<br>
+ * - 요청 쓰레드는 대기열에 넣기만 하고, 가득 차면 기다리지 않고 버린 뒤 개수만 센다.<br>
+ * - 전용 쓰레드는 최대 batchSize 개씩 꺼내 전달한 뒤 flush() 한 번 호출<br>
+ * - Sink 의 예외는 개수만 세고 다음 기록을 계속 처리한다. (로그는 intervalMs 에 한 번)
+ */
+@Slf4j
+public class AsyncSpanSink {
+    private static final long FAILURE_LOG_INTERVAL_MS = 10_000;
+
+    @Getter
+    private final String name;
+    @Getter
+    private final SpanSink sink;
+    private final int batchSize;
+    private final BlockingQueue<SpanRecord> queue;
+    private final Thread worker;
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private long lastFailureLogMs;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param name      Sink 이름, 쓰레드 이름에 사용
+     * @param sink      감쌀 Sink
+     * @param queueSize 대기열 크기
+     * @param batchSize 한 번에 전달할 최대 기록 수
+     */
+    public AsyncSpanSink(String name, SpanSink sink, int queueSize, int batchSize) {
+        this.name = name;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.worker = new Thread(this::run, "span-sink-" + name);
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        worker.start();
+    }
+
+    /**
+     * 남은 기록을 모두 전달하고 Sink 를 닫는다.
+     */
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+        sink.close();
+    }
+
+    /**
+     * @return false: 대기열이 가득 차 버림
+     */
+    boolean offer(SpanRecord record) {
+        if (queue.offer(record)) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    private void run() {
+        List<SpanRecord> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                SpanRecord first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                // stop(): 남은 기록을 마저 전달
+                continue;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            deliver(batch);
+            batch.clear();
+        }
+    }
+
+    private void deliver(List<SpanRecord> batch) {
+        for (SpanRecord record : batch) {
+            try {
+                record.deliverTo(sink);
+                delivered.increment();
+            } catch (RuntimeException e) {
+                failed(e);
+            }
+        }
+        try {
+            sink.flush();
+        } catch (RuntimeException e) {
+            failed(e);
+        }
+    }
+
+    private void failed(RuntimeException e) {
+        failures.increment();
+        long nowMs = System.currentTimeMillis();
+        if (nowMs - lastFailureLogMs >= FAILURE_LOG_INTERVAL_MS) {
+            lastFailureLogMs = nowMs;
+            log.warn("span sink {} failed, failures = {}", name, failures.sum(), e);
+        }
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+}
@@ -0,0 +1,53 @@
+package hello.springcoreadvanced1.trace.sink;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.json.JsonSpanEncoder;
+import hello.springcoreadvanced1.trace.json.SpanBuffer;
+
+import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * 끝난 Span 을 JSON 한 줄씩 파일 끝에 추가 (spool)<br>
+ * - 기록마다가 아니라 flush() (묶음 단위) 에만 내보내 쓰기 횟수를 줄인다.
+ */
+public class FileSpanSink implements SpanSink {
+    private final JsonSpanEncoder encoder = new JsonSpanEncoder();
+    private final OutputStream out;
+
+    public FileSpanSink(String file) throws FileNotFoundException {
+        this.out = new BufferedOutputStream(new FileOutputStream(file, true), 64 * 1024);
+    }
+
+    @Override
+    public void end(TraceStatus status, long resultTimeMs, Exception e) {
+        SpanBuffer buffer = encoder.encode(status, resultTimeMs, e);
+        try {
+            out.write(buffer.getBytes(), 0, buffer.getLength());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package hello.springcoreadvanced1.trace.sink;
+
+import hello.springcoreadvanced1.trace.TraceId;
+import hello.springcoreadvanced1.trace.TraceStatus;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * 끝난 Span 을 JFR 이벤트 (hello.Span) 로 기록<br>
+ * - JFR 이 쓰레드별 버퍼에 모아 쓰므로 요청 쓰레드에서 바로 호출해도 가볍다.<br>
+ * - 녹화 중이 아니면 isEnabled() 에서 끝난다.
+ */
+public class JfrSpanSink implements SpanSink {
+
+    @Override
+    public void end(TraceStatus status, long resultTimeMs, Exception e) {
+        SpanEvent event = new SpanEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        TraceId traceId = status.getTraceId();
+        event.traceId = traceId.getId();
+        event.spanId = Long.toHexString(traceId.getSpanId());
+        event.level = traceId.getLevel();
+        event.name = status.getMessage();
+        event.duration = resultTimeMs;
+        event.exception = e == null ? null : e.getClass().getName();
+        event.commit();
+    }
+
+    @Name("hello.Span")
+    @Label("Span")
+    @Category("Trace")
+    static class SpanEvent extends Event {
+        @Label("Trace ID")
+        String traceId;
+
+        @Label("Span ID")
+        String spanId;
+
+        @Label("Level")
+        int level;
+
+        @Label("Name")
+        String name;
+
+        @Label("Duration")
+        @Timespan(Timespan.MILLISECONDS)
+        long duration;
+
+        @Label("Exception")
+        String exception;
+    }
+}
@@ -0,0 +1,114 @@
+package hello.springcoreadvanced1.trace.sink;
+
+import hello.springcoreadvanced1.trace.TraceId;
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.exception.ExceptionAggregator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SLF4J 로 Trace 로그 출력<br>
+ * - "[id] |   |-->이름", "[id] |   |<--이름 time = 1ms" 형식<br>
+ * - exceptionAggregator 가 있으면 반복되는 예외는 첫 발생만 Stack Trace 까지 남긴다.
+ */
+@Slf4j
+public class LogSpanSink implements SpanSink {
+    private static final String START_PREFIX = "-->";
+    private static final String COMPLETE_PREFIX = "<--";
+    private static final String EX_PREFIX = "<X-";
+
+    /**
+     * 접두사를 그릴 최대 Level, 누수로 Level 이 계속 증가해도 접두사 길이는 고정
+     */
+    static final int MAX_PREFIX_LEVEL = 32;
+
+    private static final String[] START_SPACES = createSpaces(START_PREFIX);
+    private static final String[] COMPLETE_SPACES = createSpaces(COMPLETE_PREFIX);
+    private static final String[] EX_SPACES = createSpaces(EX_PREFIX);
+
+    /**
+     * 예외 로그 집계, null 이면 모든 예외를 로그로 남긴다.
+     */
+    private final ExceptionAggregator exceptionAggregator;
+
+    public LogSpanSink() {
+        this(null);
+    }
+
+    public LogSpanSink(ExceptionAggregator exceptionAggregator) {
+        this.exceptionAggregator = exceptionAggregator;
+    }
+
+    /**
+     * Trace Level 에 따라 공간을 확보하는 메서드
+     * <p>- LEVEL 0: </p>
+     * <p>- LEVEL 1: |--></p>
+     * <p>- LEVEL 2: |   |--></p>
+     *
+     * @param prefix 적용할 접두사
+     * @param level  현재 Trace Level
+     */
+    private static String addSpace(String prefix, int level) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < level; i++) {
+            sb.append((i == level - 1) ? "|" + prefix : "|   ");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Level 별 접두사를 미리 만들어 둔다.
+     *
+     * @param prefix 적용할 접두사
+     * @return 0 ~ {@link #MAX_PREFIX_LEVEL} Level 의 접두사
+     */
+    private static String[] createSpaces(String prefix) {
+        String[] spaces = new String[MAX_PREFIX_LEVEL + 1];
+        for (int level = 0; level <= MAX_PREFIX_LEVEL; level++) {
+            spaces[level] = addSpace(prefix, level);
+        }
+        return spaces;
+    }
+
+    /**
+     * @param spaces {@link #createSpaces} 로 만든 접두사
+     * @param level  현재 Trace Level
+     * @return Level 에 맞는 접두사, {@link #MAX_PREFIX_LEVEL} 초과 시 최대 Level 접두사
+     */
+    private static String space(String[] spaces, int level) {
+        return spaces[Math.min(level, MAX_PREFIX_LEVEL)];
+    }
+
+    @Override
+    public void begin(TraceStatus status) {
+        TraceId traceId = status.getTraceId();
+        log.info("[{}] {}{}", traceId.getId(), space(START_SPACES, traceId.getLevel()), status.getMessage());
+    }
+
+    @Override
+    public void end(TraceStatus status, long resultTimeMs, Exception e) {
+        TraceId traceId = status.getTraceId();
+        String message = status.getMessage();
+        Object attributes = status.getAttributes() != null ? status.getAttributes() : "";
+
+        if (e == null) {
+            log.info("[{}] {}{} time = {}ms{}",
+                    traceId.getId(),
+                    space(COMPLETE_SPACES, traceId.getLevel()),
+                    message, resultTimeMs, attributes
+            );
+        } else if (exceptionAggregator == null) {
+            log.info("[{}] {}{} time = {}ms ex = {}{}",
+                    traceId.getId(),
+                    space(EX_SPACES, traceId.getLevel()),
+                    message, resultTimeMs, e.toString(), attributes
+            );
+        } else if (exceptionAggregator.record(message, e)) {
+            // 첫 발생만 Stack Trace 까지 남기고, 반복은 주기적인 요약으로 대신한다.
+            log.warn("[{}] {}{} time = {}ms first ex{}",
+                    traceId.getId(),
+                    space(EX_SPACES, traceId.getLevel()),
+                    message, resultTimeMs, attributes, e
+            );
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package hello.springcoreadvanced1.trace.sink;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 최근 끝난 Span capacity 개를 메모리에 보관 (Ring Buffer)
+ */
+public class MemorySpanSink implements SpanSink {
+    private final SpanSummary[] spans;
+    private long written;
+
+    public MemorySpanSink(int capacity) {
+        this.spans = new SpanSummary[capacity];
+    }
+
+    @Override
+    public synchronized void end(TraceStatus status, long resultTimeMs, Exception e) {
+        spans[(int) (written++ % spans.length)] = new SpanSummary(
+                status.getTraceId().getId(),
+                status.getTraceId().getLevel(),
+                status.getMessage(),
+                status.getStartTimeMs(),
+                resultTimeMs,
+                e == null ? null : e.toString()
+        );
+    }
+
+    /**
+     * @param limit 최대 개수
+     * @return 최근에 끝난 순서
+     */
+    public synchronized List<SpanSummary> recent(int limit) {
+        int count = (int) Math.min(Math.min(limit, spans.length), written);
+        List<SpanSummary> result = new ArrayList<>(count);
+        for (long i = written - 1; i >= written - count; i--) {
+            result.add(spans[(int) (i % spans.length)]);
+        }
+        return result;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class SpanSummary {
+        private final String traceId;
+        private final int level;
+        private final String name;
+        private final long startMs;
+        private final long durationMs;
+        private final String exception;
+    }
+}
@@ -0,0 +1,79 @@
+package hello.springcoreadvanced1.trace.sink;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Span 이름별 호출 수, 예외 수, 걸린 시간 합/최대 누적<br>
+ * - Span 이름 수는 maxSpans 로 제한하고, 넘치는 Span 은 개수만 센다.
+ */
+public class MetricsSpanSink implements SpanSink {
+    private final int maxSpans;
+    private final Map<String, SpanMetrics> metrics = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    public MetricsSpanSink(int maxSpans) {
+        this.maxSpans = maxSpans;
+    }
+
+    @Override
+    public void end(TraceStatus status, long resultTimeMs, Exception e) {
+        SpanMetrics span = metrics.get(status.getMessage());
+        if (span == null) {
+            if (metrics.size() >= maxSpans) {
+                dropped.increment();
+                return;
+            }
+            span = metrics.computeIfAbsent(status.getMessage(), name -> new SpanMetrics());
+        }
+        span.add(resultTimeMs, e != null);
+    }
+
+    /**
+     * @return Span 이름 순
+     */
+    public Map<String, SpanMetrics> snapshot() {
+        return new TreeMap<>(metrics);
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public static class SpanMetrics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalMs = new LongAdder();
+        private final LongAccumulator maxMs = new LongAccumulator(Math::max, 0L);
+
+        private void add(long resultTimeMs, boolean error) {
+            count.increment();
+            totalMs.add(resultTimeMs);
+            maxMs.accumulate(resultTimeMs);
+            if (error) {
+                errors.increment();
+            }
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getTotalMs() {
+            return totalMs.sum();
+        }
+
+        public long getMaxMs() {
+            return maxMs.get();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package hello.springcoreadvanced1.trace.sink;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+
+/**
+ * {@link AsyncSpanSink} 대기열에 넣는 Span 시작/종료, 여러 Sink 가 같은 객체를 공유한다.<br>
+ * - 요청 쓰레드가 계속 tag() 하는 TraceStatus 대신 넣는 시점의 복사본을 보관한다.<br>
+ * - 시작 기록에는 속성을 넣지 않는다.
+ */
+class SpanRecord {
+    final TraceStatus status;
+    final boolean end;
+    final long resultTimeMs;
+    final Exception exception;
+
+    private SpanRecord(TraceStatus status, boolean end, long resultTimeMs, Exception exception) {
+        this.status = status;
+        this.end = end;
+        this.resultTimeMs = resultTimeMs;
+        this.exception = exception;
+    }
+
+    static SpanRecord begin(TraceStatus status) {
+        return new SpanRecord(status.snapshot(false), false, 0L, null);
+    }
+
+    static SpanRecord end(TraceStatus status, long resultTimeMs, Exception e) {
+        return new SpanRecord(status.snapshot(true), true, resultTimeMs, e);
+    }
+
+    void deliverTo(SpanSink sink) {
+        if (end) {
+            sink.end(status, resultTimeMs, exception);
+        } else {
+            sink.begin(status);
+        }
+    }
+}
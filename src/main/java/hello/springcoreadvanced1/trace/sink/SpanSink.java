@@ -0,0 +1,44 @@
+package hello.springcoreadvanced1.trace.sink;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+
+/**
+ * Span 기록 출력 대상 (로그, 지표, 메모리, 파일, JFR)<br>
+ * - {@link SpanSinkPipeline} 이 요청 쓰레드에서 바로 호출하거나, {@link AsyncSpanSink} 로 감싸 별도 쓰레드에서 묶어서 호출한다.<br>
+ * - 별도 쓰레드에서 호출되는 경우에도 한 Sink 는 한 쓰레드에서만 호출된다.
+ */
+public interface SpanSink {
+
+    /**
+     * 아무것도 출력하지 않음
+     */
+    SpanSink NONE = (status, resultTimeMs, e) -> {
+    };
+
+    /**
+     * Span 시작
+     */
+    default void begin(TraceStatus status) {
+    }
+
+    /**
+     * Span 종료
+     *
+     * @param status       {@link TraceStatus}
+     * @param resultTimeMs 걸린 시간
+     * @param e            발생한 예외, 정상 종료 시 null
+     */
+    void end(TraceStatus status, long resultTimeMs, Exception e);
+
+    /**
+     * 묶음 하나를 처리한 뒤 호출, 모아 둔 출력을 내보낸다.
+     */
+    default void flush() {
+    }
+
+    /**
+     * 종료 시 호출
+     */
+    default void close() {
+    }
+}
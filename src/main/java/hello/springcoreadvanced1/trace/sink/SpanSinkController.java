@@ -0,0 +1,41 @@
+package hello.springcoreadvanced1.trace.sink;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sink 상태와 metrics, memory Sink 내용 조회
+ */
+@RestController
+@RequestMapping("/trace/sinks")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "trace.sinks")
+public class SpanSinkController {
+    private final SpanSinkPipeline pipeline;
+
+    @GetMapping
+    public Map<String, Object> status() {
+        return pipeline.status();
+    }
+
+    @GetMapping("/metrics")
+    public Map<String, MetricsSpanSink.SpanMetrics> metrics() {
+        return pipeline.find(MetricsSpanSink.class)
+                .map(MetricsSpanSink::snapshot)
+                .orElseThrow(() -> new IllegalStateException("metrics sink 가 설정되지 않았습니다."));
+    }
+
+    @GetMapping("/memory")
+    public List<MemorySpanSink.SpanSummary> memory(@RequestParam(defaultValue = "100") int limit) {
+        return pipeline.find(MemorySpanSink.class)
+                .map(sink -> sink.recent(limit))
+                .orElseThrow(() -> new IllegalStateException("memory sink 가 설정되지 않았습니다."));
+    }
+}
@@ -0,0 +1,120 @@
+package hello.springcoreadvanced1.trace.sink;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.span.SpanListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Span 시작/종료를 여러 {@link SpanSink} 로 나눠 보내는 {@link SpanListener}<br>
+ * - 동기 Sink: 요청 쓰레드에서 바로 호출, 예외는 로그만 남긴다.<br>
+ * - 비동기 Sink: {@link AsyncSpanSink} 대기열에 넣기만 하며, 기록 객체 (TraceStatus 복사본) 하나를 모든 비동기 Sink 가 공유한다.
+ */
+@Slf4j
+public class SpanSinkPipeline implements SpanListener {
+    private final Map<String, SpanSink> syncSinks;
+    private final SpanSink[] sync;
+    private final AsyncSpanSink[] async;
+
+    /**
+     * @param syncSinks  이름별 동기 Sink
+     * @param asyncSinks 비동기 Sink
+     */
+    public SpanSinkPipeline(Map<String, SpanSink> syncSinks, List<AsyncSpanSink> asyncSinks) {
+        this.syncSinks = new LinkedHashMap<>(syncSinks);
+        this.sync = syncSinks.values().toArray(new SpanSink[0]);
+        this.async = asyncSinks.toArray(new AsyncSpanSink[0]);
+    }
+
+    public void start() {
+        for (AsyncSpanSink sink : async) {
+            sink.start();
+        }
+    }
+
+    public void stop() throws InterruptedException {
+        for (AsyncSpanSink sink : async) {
+            sink.stop();
+        }
+        for (SpanSink sink : sync) {
+            try {
+                sink.close();
+            } catch (RuntimeException e) {
+                log.warn("span sink close failed: {}", sink, e);
+            }
+        }
+    }
+
+    @Override
+    public void onBegin(TraceStatus status) {
+        for (SpanSink sink : sync) {
+            try {
+                sink.begin(status);
+            } catch (RuntimeException e) {
+                log.warn("span sink failed: {}", sink, e);
+            }
+        }
+        if (async.length > 0) {
+            offer(SpanRecord.begin(status));
+        }
+    }
+
+    @Override
+    public void onEnd(TraceStatus status, long resultTimeMs, Exception e) {
+        for (SpanSink sink : sync) {
+            try {
+                sink.end(status, resultTimeMs, e);
+                sink.flush();
+            } catch (RuntimeException ex) {
+                log.warn("span sink failed: {}", sink, ex);
+            }
+        }
+        if (async.length > 0) {
+            offer(SpanRecord.end(status, resultTimeMs, e));
+        }
+    }
+
+    private void offer(SpanRecord record) {
+        for (AsyncSpanSink sink : async) {
+            sink.offer(record);
+        }
+    }
+
+    /**
+     * @return type 인 첫 번째 Sink (비동기 Sink 는 감싼 Sink)
+     */
+    public <T extends SpanSink> Optional<T> find(Class<T> type) {
+        for (SpanSink sink : sync) {
+            if (type.isInstance(sink)) {
+                return Optional.of(type.cast(sink));
+            }
+        }
+        for (AsyncSpanSink sink : async) {
+            if (type.isInstance(sink.getSink())) {
+                return Optional.of(type.cast(sink.getSink()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return 이름별 상태 (동기 Sink 는 "sync")
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        syncSinks.keySet().forEach(name -> status.put(name, "sync"));
+        for (AsyncSpanSink sink : async) {
+            Map<String, Long> counters = new LinkedHashMap<>();
+            counters.put("queued", (long) sink.getQueued());
+            counters.put("delivered", sink.getDelivered());
+            counters.put("dropped", sink.getDropped());
+            counters.put("failures", sink.getFailures());
+            status.put(sink.getName(), counters);
+        }
+        return status;
+    }
+}
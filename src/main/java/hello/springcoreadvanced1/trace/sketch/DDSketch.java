@@ -0,0 +1,278 @@
+package hello.springcoreadvanced1.trace.sketch;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * 병합 가능한 분위수 Sketch (DDSketch)<br>
+ * - 값 v 를 구간 ceil(log_gamma(v)) 에 세며, gamma = (1 + a) / (1 - a)<br>
+ * - 모든 분위수를 상대 오차 a 이내로 추정 (a = relativeAccuracy)<br>
+ * - 같은 a 의 Sketch 끼리는 구간별 합으로 병합하므로, 여러 노드를 합쳐도 오차가 늘지 않는다.<br>
+ * - 구간 수가 maxBins 를 넘으면 가장 낮은 구간부터 합쳐 메모리를 고정 (높은 분위수 정확도 유지)<br>
+ * - 0 이하의 값은 zeroCount 로 따로 센다.<br>
+ * - 동기화하지 않으므로 호출하는 쪽에서 잠금을 관리한다.
+ */
+public class DDSketch {
+    private static final byte VERSION = 1;
+
+    /**
+     * maxBins 상한, 역직렬화할 때 외부 데이터로 큰 배열을 만들지 않도록
+     */
+    static final int MAX_BINS_LIMIT = 1 << 16;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final int maxBins;
+
+    /**
+     * counts[i] 는 구간 offset + i
+     */
+    private long[] counts = new long[0];
+    private int offset;
+    private long zeroCount;
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public DDSketch(double relativeAccuracy, int maxBins) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("relativeAccuracy 는 0 과 1 사이여야 합니다: " + relativeAccuracy);
+        }
+        if (maxBins <= 0 || maxBins > MAX_BINS_LIMIT) {
+            throw new IllegalArgumentException("maxBins 는 1 ~ " + MAX_BINS_LIMIT + " 이어야 합니다: " + maxBins);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.maxBins = maxBins;
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    public void add(double value, long weight) {
+        if (value <= 0) {
+            zeroCount += weight;
+        } else {
+            int index = (int) Math.ceil(Math.log(value) / logGamma);
+            int position = ensure(index, index);
+            counts[position] += weight;
+        }
+        count += weight;
+        sum += value * weight;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * @param q 0 ~ 1
+     * @return 분위수 추정 값, 비어 있으면 NaN
+     */
+    public double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        long rank = (long) (q * (count - 1));
+        long cumulative = zeroCount;
+        if (cumulative > rank) {
+            return Math.max(min, 0);
+        }
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative > rank) {
+                double estimate = 2 * Math.pow(gamma, offset + i) / (gamma + 1);
+                return Math.min(Math.max(estimate, min), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * other 를 이 Sketch 에 더한다.
+     *
+     * @throws IllegalArgumentException relativeAccuracy 가 다른 경우
+     */
+    public void merge(DDSketch other) {
+        if (other.gamma != gamma) {
+            throw new IllegalArgumentException("relativeAccuracy 가 다른 Sketch 는 병합할 수 없습니다: "
+                    + relativeAccuracy + ", " + other.relativeAccuracy);
+        }
+        if (other.count == 0) {
+            return;
+        }
+
+        if (other.counts.length > 0) {
+            ensure(other.offset, other.offset + other.counts.length - 1);
+            int lowest = offset;
+            for (int i = 0; i < other.counts.length; i++) {
+                // 합쳐진 낮은 구간은 현재 가장 낮은 구간으로
+                int index = Math.max(other.offset + i, lowest);
+                counts[index - offset] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * 구간 [low, high] 를 담을 수 있게 배열 확장, maxBins 를 넘으면 낮은 구간을 합친다.
+     *
+     * @return high 가 아닌 low 구간의 배열 위치 (합쳐진 경우 0)
+     */
+    private int ensure(int low, int high) {
+        if (counts.length == 0) {
+            int lowest = Math.max(low, high - maxBins + 1);
+            counts = new long[high - lowest + 1];
+            offset = lowest;
+            return Math.max(low, lowest) - offset;
+        }
+
+        int currentHigh = offset + counts.length - 1;
+        int newHigh = Math.max(high, currentHigh);
+        int lowest = Math.max(Math.min(low, offset), newHigh - maxBins + 1);
+        if (lowest == offset && newHigh == currentHigh) {
+            return Math.max(low, lowest) - offset;
+        }
+
+        long[] resized = new long[newHigh - lowest + 1];
+        for (int i = 0; i < counts.length; i++) {
+            int index = Math.max(offset + i, lowest);
+            resized[index - lowest] += counts[i];
+        }
+        counts = resized;
+        offset = lowest;
+        return Math.max(low, lowest) - offset;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * @return 사용 중인 구간 수
+     */
+    public int getBinCount() {
+        return counts.length;
+    }
+
+    /**
+     * 직렬화, 구간 값은 가변 길이 정수라 빈 구간은 1 byte
+     * <pre>
+     * version(1) accuracy(8) maxBins(varint) count/zeroCount(varint) sum/min/max(8*3) offset(zigzag) bins(varint) counts(varint...)
+     * </pre>
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + counts.length * 2);
+        out.write(VERSION);
+        writeDouble(out, relativeAccuracy);
+        writeVarLong(out, maxBins);
+        writeVarLong(out, count);
+        writeVarLong(out, zeroCount);
+        writeDouble(out, sum);
+        writeDouble(out, min);
+        writeDouble(out, max);
+        writeVarLong(out, (offset << 1) ^ (offset >> 31));
+        writeVarLong(out, counts.length);
+        for (long c : counts) {
+            writeVarLong(out, c);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 외부 데이터이므로 maxBins, 구간 수를 {@link #MAX_BINS_LIMIT} 와 남은 byte 수로 확인한 뒤 할당한다.
+     *
+     * @throws IllegalArgumentException 형식이 맞지 않는 경우
+     */
+    public static DDSketch fromBytes(byte[] bytes) {
+        return read(ByteBuffer.wrap(bytes));
+    }
+
+    static DDSketch read(ByteBuffer in) {
+        try {
+            byte version = in.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("지원하지 않는 버전: " + version);
+            }
+            double relativeAccuracy = in.getDouble();
+            long maxBins = readVarLong(in);
+            if (maxBins <= 0 || maxBins > MAX_BINS_LIMIT) {
+                throw new IllegalArgumentException("maxBins 가 범위를 벗어났습니다: " + maxBins);
+            }
+            DDSketch sketch = new DDSketch(relativeAccuracy, (int) maxBins);
+            sketch.count = readVarLong(in);
+            sketch.zeroCount = readVarLong(in);
+            sketch.sum = in.getDouble();
+            sketch.min = in.getDouble();
+            sketch.max = in.getDouble();
+            int zigzag = (int) readVarLong(in);
+            sketch.offset = (zigzag >>> 1) ^ -(zigzag & 1);
+            long bins = readVarLong(in);
+            if (bins < 0 || bins > sketch.maxBins) {
+                throw new IllegalArgumentException("구간 수가 maxBins 를 넘습니다: " + bins);
+            }
+            // 구간마다 최소 1 byte
+            if (bins > in.remaining()) {
+                throw new IllegalArgumentException("Sketch 데이터가 잘렸습니다");
+            }
+            sketch.counts = new long[(int) bins];
+            for (int i = 0; i < bins; i++) {
+                sketch.counts[i] = readVarLong(in);
+            }
+            return sketch;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Sketch 데이터가 잘렸습니다", e);
+        }
+    }
+
+    static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("잘못된 가변 길이 정수");
+    }
+
+    private static void writeDouble(ByteArrayOutputStream out, double value) {
+        long bits = Double.doubleToLongBits(value);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (bits >>> shift));
+        }
+    }
+}
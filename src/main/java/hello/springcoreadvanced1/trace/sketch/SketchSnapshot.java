@@ -0,0 +1,103 @@
+package hello.springcoreadvanced1.trace.sketch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Span 이름별 {@link DDSketch} 묶음의 직렬화와 병합<br>
+ * - 형식: span 수(varint), [이름 길이(varint) 이름(UTF-8) Sketch 길이(varint) Sketch]...<br>
+ * - 병합 비용은 노드 수 * Span 수 * maxBins 에 비례하고, 결과 크기는 노드 수와 무관하다.
+ * <p>
+ * 여러 노드의 /trace/sketches 응답을 파일로 받아 합치는 예:
+ * <pre>
+ * java -cp app.jar hello.springcoreadvanced1.trace.sketch.SketchSnapshot node1.bin node2.bin
+ * </pre>
+ */
+public final class SketchSnapshot {
+
+    private SketchSnapshot() {
+    }
+
+    public static byte[] encode(Map<String, DDSketch> sketches) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DDSketch.writeVarLong(out, sketches.size());
+        sketches.forEach((name, sketch) -> {
+            byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            byte[] sketchBytes = sketch.toBytes();
+            DDSketch.writeVarLong(out, nameBytes.length);
+            out.writeBytes(nameBytes);
+            DDSketch.writeVarLong(out, sketchBytes.length);
+            out.writeBytes(sketchBytes);
+        });
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException 형식이 맞지 않는 경우
+     */
+    public static Map<String, DDSketch> decode(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        Map<String, DDSketch> sketches = new TreeMap<>();
+        try {
+            long spans = DDSketch.readVarLong(in);
+            for (long i = 0; i < spans; i++) {
+                String name = new String(readBytes(in), StandardCharsets.UTF_8);
+                sketches.put(name, DDSketch.fromBytes(readBytes(in)));
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Snapshot 데이터가 잘렸습니다", e);
+        }
+        return sketches;
+    }
+
+    /**
+     * 여러 노드의 Snapshot 을 Span 이름별로 병합
+     *
+     * @param snapshots {@link #encode} 결과 목록
+     * @return Span 이름별 병합 결과
+     */
+    public static Map<String, DDSketch> merge(Iterable<byte[]> snapshots) {
+        Map<String, DDSketch> merged = new TreeMap<>();
+        for (byte[] snapshot : snapshots) {
+            decode(snapshot).forEach((name, sketch) -> {
+                DDSketch target = merged.get(name);
+                if (target == null) {
+                    merged.put(name, sketch);
+                } else {
+                    target.merge(sketch);
+                }
+            });
+        }
+        return merged;
+    }
+
+    private static byte[] readBytes(ByteBuffer in) {
+        int length = (int) DDSketch.readVarLong(in);
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Snapshot 데이터가 잘렸습니다");
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return bytes;
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<byte[]> snapshots = new ArrayList<>();
+        for (String file : args) {
+            snapshots.add(Files.readAllBytes(Path.of(file)));
+        }
+
+        System.out.printf("%-40s %10s %10s %10s %10s %10s%n", "span", "count", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)");
+        merge(snapshots).forEach((name, sketch) -> System.out.printf("%-40s %10d %10.1f %10.1f %10.1f %10.1f%n",
+                name, sketch.getCount(), sketch.quantile(0.5), sketch.quantile(0.9), sketch.quantile(0.99), sketch.getMax()));
+    }
+}
@@ -0,0 +1,73 @@
+package hello.springcoreadvanced1.trace.sketch;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.span.SpanListener;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Span 이름별 걸린 시간 {@link DDSketch}<br>
+ * - Span 종료 시 갱신, Sketch 하나씩 잠금<br>
+ * - Span 이름 수는 maxSpans 로 제한하고, 넘치는 Span 은 개수만 센다.<br>
+ * - 시작 후 누적 값 (구간별 값은 제공하지 않는다), 여러 노드의 Snapshot 은 그대로 병합해 사용
+ */
+public class SpanLatencySketches implements SpanListener {
+    private final double relativeAccuracy;
+    private final int maxBins;
+    private final int maxSpans;
+
+    private final Map<String, DDSketch> sketches = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param relativeAccuracy 분위수 상대 오차
+     * @param maxBins          Sketch 당 최대 구간 수
+     * @param maxSpans         최대 Span 이름 수
+     */
+    public SpanLatencySketches(double relativeAccuracy, int maxBins, int maxSpans) {
+        this.relativeAccuracy = relativeAccuracy;
+        this.maxBins = maxBins;
+        this.maxSpans = maxSpans;
+    }
+
+    @Override
+    public void onEnd(TraceStatus status, long resultTimeMs, Exception e) {
+        DDSketch sketch = sketches.get(status.getMessage());
+        if (sketch == null) {
+            if (sketches.size() >= maxSpans) {
+                dropped.increment();
+                return;
+            }
+            sketch = sketches.computeIfAbsent(status.getMessage(), name -> new DDSketch(relativeAccuracy, maxBins));
+        }
+
+        synchronized (sketch) {
+            sketch.add(resultTimeMs);
+        }
+    }
+
+    /**
+     * @return Span 이름 순으로 정렬한 복사본
+     */
+    public Map<String, DDSketch> snapshot() {
+        Map<String, DDSketch> snapshot = new TreeMap<>();
+        sketches.forEach((name, sketch) -> {
+            DDSketch copy = new DDSketch(relativeAccuracy, maxBins);
+            synchronized (sketch) {
+                copy.merge(sketch);
+            }
+            snapshot.put(name, copy);
+        });
+        return snapshot;
+    }
+
+    /**
+     * @return maxSpans 를 넘어 집계하지 못한 Span 수
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+}
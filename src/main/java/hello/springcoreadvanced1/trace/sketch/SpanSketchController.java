@@ -0,0 +1,46 @@
+package hello.springcoreadvanced1.trace.sketch;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Span 이름별 걸린 시간 Sketch 조회<br>
+ * - /trace/sketches: 집계용 바이너리 ({@link SketchSnapshot#encode})<br>
+ * - /trace/sketches/quantiles: 이 노드의 분위수
+ */
+@RestController
+@RequestMapping("/trace/sketches")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "trace.sketch.enabled", havingValue = "true")
+public class SpanSketchController {
+    private final SpanLatencySketches sketches;
+
+    @GetMapping(produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public byte[] snapshot() {
+        return SketchSnapshot.encode(sketches.snapshot());
+    }
+
+    @GetMapping("/quantiles")
+    public Map<String, Map<String, Double>> quantiles(
+            @RequestParam(defaultValue = "0.5,0.9,0.99") List<Double> q
+    ) {
+        Map<String, Map<String, Double>> result = new LinkedHashMap<>();
+        sketches.snapshot().forEach((name, sketch) -> {
+            Map<String, Double> quantiles = new LinkedHashMap<>();
+            for (Double quantile : q) {
+                quantiles.put("p" + quantile, sketch.quantile(quantile));
+            }
+            result.put(name, quantiles);
+        });
+        return result;
+    }
+}
@@ -0,0 +1,37 @@
+package hello.springcoreadvanced1.trace.span;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+
+/**
+ * Span 시작/종료 통지<br>
+ * - 요청 쓰레드에서 동기적으로 호출되므로 가볍게 구현해야 한다.
+ */
+public interface SpanListener {
+
+    /**
+     * Span 시작 시 호출
+     *
+     * @param status {@link TraceStatus}
+     */
+    default void onBegin(TraceStatus status) {
+    }
+
+    /**
+     * Span 종료 로그(출력)를 남기기 직전에 호출<br>
+     * - 종료 기록에 속성을 더할 때 사용 ({@link TraceStatus#tag})
+     *
+     * @param status       {@link TraceStatus}
+     * @param resultTimeMs 걸린 시간
+     */
+    default void beforeEnd(TraceStatus status, long resultTimeMs) {
+    }
+
+    /**
+     * Span 종료 시 호출
+     *
+     * @param status       {@link TraceStatus}
+     * @param resultTimeMs 걸린 시간
+     * @param e            발생한 예외, 정상 종료 시 null
+     */
+    void onEnd(TraceStatus status, long resultTimeMs, Exception e);
+}
@@ -0,0 +1,75 @@
+package hello.springcoreadvanced1.trace.startup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link BufferingApplicationStartup} 로 기록한 시작 단계 조회<br>
+ * - main() 으로 실행한 경우만 기록되며, 테스트 등 다른 방식으로 시작하면 빈 결과
+ */
+@RestController
+@RequestMapping("/trace")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "trace.startup.enabled", havingValue = "true")
+public class StartupStepController {
+    private final ApplicationStartup applicationStartup;
+
+    /**
+     * 예: /trace/startup?name=spring.beans.instantiate&limit=20
+     *
+     * @param name  단계 이름 (접두사), 비어 있으면 전체
+     * @param limit 오래 걸린 순서로 최대 개수
+     */
+    @GetMapping("/startup")
+    public Map<String, Object> startup(
+            @RequestParam(defaultValue = "") String name,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (!(applicationStartup instanceof BufferingApplicationStartup buffering)) {
+            result.put("steps", 0);
+            result.put("top", List.of());
+            return result;
+        }
+
+        StartupTimeline timeline = buffering.getBufferedTimeline();
+        List<StartupTimeline.TimelineEvent> events = timeline.getEvents().stream()
+                .filter(event -> event.getStartupStep().getName().startsWith(name))
+                .toList();
+
+        result.put("startTime", timeline.getStartTime());
+        result.put("steps", events.size());
+        result.put("top", events.stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(limit)
+                .map(StartupStepController::toMap)
+                .toList());
+        return result;
+    }
+
+    private static Map<String, Object> toMap(StartupTimeline.TimelineEvent event) {
+        StartupStep step = event.getStartupStep();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", step.getId());
+        result.put("parentId", step.getParentId());
+        result.put("name", step.getName());
+        result.put("durationMs", event.getDuration().toMillis());
+        Map<String, String> tags = new LinkedHashMap<>();
+        step.getTags().forEach(tag -> tags.put(tag.getKey(), tag.getValue()));
+        result.put("tags", tags);
+        return result;
+    }
+}
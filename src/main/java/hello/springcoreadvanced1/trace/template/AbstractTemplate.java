@@ -15,16 +15,27 @@ public abstract class AbstractTemplate<T> {
 
         try {
             status = trace.begin(message);
+            this.tag(status);
 
             T result = this.call();
 
             trace.end(status);
             return result;
         } catch (Exception e) {
-            trace.exception(status, e);
+            if (status != null) {
+                trace.exception(status, e);
+            }
             throw e;
         }
     }
 
     protected abstract T call();
+
+    /**
+     * Span 속성 추가, 필요한 경우 재정의
+     *
+     * @param status 시작한 Span
+     */
+    protected void tag(TraceStatus status) {
+    }
 }
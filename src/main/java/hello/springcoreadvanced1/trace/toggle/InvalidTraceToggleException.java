@@ -0,0 +1,16 @@
+package hello.springcoreadvanced1.trace.toggle;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 알 수 없는 추적 수준 또는 빈 pattern, HTTP 로 호출하면 400
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidTraceToggleException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    public InvalidTraceToggleException(String message) {
+        super(message);
+    }
+}
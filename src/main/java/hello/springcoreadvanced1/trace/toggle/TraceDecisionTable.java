@@ -0,0 +1,104 @@
+package hello.springcoreadvanced1.trace.toggle;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Span 이름 -> {@link TraceMode} 결정표 (불변)<br>
+ * - 규칙: 정확한 이름, 또는 '*' 로 끝나는 접두사 ("OrderRepository.*", "*")<br>
+ * - 가장 긴 규칙이 우선, 일치하는 규칙이 없으면 기본 모드<br>
+ * - 한 번 결정된 이름은 캐시하므로 이후 조회는 해시 조회 한 번
+ */
+public class TraceDecisionTable {
+    private static final int MAX_CACHED_NAMES = 1024;
+
+    private final TraceMode defaultMode;
+    private final Map<String, TraceMode> rules;
+    private final String[] patterns;
+    private final TraceMode[] modes;
+    private final Map<String, TraceMode> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * @param defaultMode 일치하는 규칙이 없을 때의 모드
+     * @param rules       패턴 -> 모드
+     */
+    public TraceDecisionTable(TraceMode defaultMode, Map<String, TraceMode> rules) {
+        this.defaultMode = defaultMode;
+        this.rules = Map.copyOf(rules);
+
+        // 긴 패턴 먼저 검사
+        this.patterns = rules.keySet().stream()
+                .sorted(Comparator.comparingInt(String::length).reversed())
+                .toArray(String[]::new);
+        this.modes = new TraceMode[patterns.length];
+        for (int i = 0; i < patterns.length; i++) {
+            modes[i] = rules.get(patterns[i]);
+        }
+    }
+
+    /**
+     * @param message Span 이름
+     * @return 적용할 {@link TraceMode}
+     */
+    public TraceMode modeOf(String message) {
+        if (patterns.length == 0) {
+            return defaultMode;
+        }
+
+        TraceMode mode = resolved.get(message);
+        if (mode == null) {
+            mode = resolve(message);
+            if (resolved.size() < MAX_CACHED_NAMES) {
+                resolved.put(message, mode);
+            }
+        }
+        return mode;
+    }
+
+    private TraceMode resolve(String message) {
+        for (int i = 0; i < patterns.length; i++) {
+            if (matches(patterns[i], message)) {
+                return modes[i];
+            }
+        }
+        return defaultMode;
+    }
+
+    private static boolean matches(String pattern, String message) {
+        if (pattern.endsWith("*")) {
+            return message.startsWith(pattern.substring(0, pattern.length() - 1));
+        }
+        return pattern.equals(message);
+    }
+
+    /**
+     * @param pattern 추가/변경할 패턴
+     * @param mode    적용할 모드
+     * @return 규칙이 반영된 새 결정표
+     */
+    public TraceDecisionTable with(String pattern, TraceMode mode) {
+        Map<String, TraceMode> next = new LinkedHashMap<>(rules);
+        next.put(pattern, mode);
+        return new TraceDecisionTable(defaultMode, next);
+    }
+
+    /**
+     * @param pattern 삭제할 패턴
+     * @return 규칙이 삭제된 새 결정표
+     */
+    public TraceDecisionTable without(String pattern) {
+        Map<String, TraceMode> next = new LinkedHashMap<>(rules);
+        next.remove(pattern);
+        return new TraceDecisionTable(defaultMode, next);
+    }
+
+    public TraceMode getDefaultMode() {
+        return defaultMode;
+    }
+
+    public Map<String, TraceMode> getRules() {
+        return rules;
+    }
+}
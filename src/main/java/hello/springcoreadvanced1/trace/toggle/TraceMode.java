@@ -0,0 +1,21 @@
+package hello.springcoreadvanced1.trace.toggle;
+
+/**
+ * Span 추적 수준
+ */
+public enum TraceMode {
+    /**
+     * 추적하지 않음
+     */
+    OFF,
+
+    /**
+     * 종료 로그만 출력
+     */
+    END_ONLY,
+
+    /**
+     * 시작/종료 로그 모두 출력
+     */
+    FULL
+}
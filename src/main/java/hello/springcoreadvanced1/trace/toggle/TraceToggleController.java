@@ -0,0 +1,47 @@
+package hello.springcoreadvanced1.trace.toggle;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Span 별 추적 수준 조회/변경<br>
+ * - PUT /trace/toggles?pattern=OrderRepository.*&mode=OFF
+ */
+@RestController
+@RequestMapping("/trace/toggles")
+@RequiredArgsConstructor
+public class TraceToggleController {
+    private final TraceToggles toggles;
+
+    @GetMapping
+    public Map<String, Object> toggles() {
+        return Map.of(
+                "defaultMode", toggles.getDefaultMode(),
+                "rules", toggles.getRules()
+        );
+    }
+
+    @PutMapping
+    public Map<String, Object> setMode(
+            @RequestParam String pattern,
+            @RequestParam String mode
+    ) {
+        toggles.setMode(pattern, mode);
+        return toggles();
+    }
+
+    @DeleteMapping
+    public Map<String, Object> removeMode(
+            @RequestParam String pattern
+    ) {
+        toggles.removeMode(pattern);
+        return toggles();
+    }
+}
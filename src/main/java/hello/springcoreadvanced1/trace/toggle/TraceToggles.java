@@ -0,0 +1,93 @@
+package hello.springcoreadvanced1.trace.toggle;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 실행 중 Span 별 추적 수준 변경 (HTTP /trace/toggles, JMX)<br>
+ * - 변경 시 새 {@link TraceDecisionTable} 을 만들어 volatile 필드 하나로 교체<br>
+ * - 조회 경로는 volatile 읽기 한 번 + 결정표 조회뿐<br>
+ * - 잘못된 mode/pattern 은 {@link InvalidTraceToggleException} (HTTP 400)
+ */
+@Slf4j
+@ManagedResource(objectName = "hello.springcoreadvanced1:type=TraceToggles")
+public class TraceToggles {
+    private volatile TraceDecisionTable table;
+
+    public TraceToggles(TraceMode defaultMode) {
+        this.table = new TraceDecisionTable(defaultMode, Map.of());
+    }
+
+    /**
+     * @return 모든 Span 을 {@link TraceMode#FULL} 로 추적
+     */
+    public static TraceToggles allEnabled() {
+        return new TraceToggles(TraceMode.FULL);
+    }
+
+    /**
+     * @param message Span 이름
+     * @return 적용할 {@link TraceMode}
+     */
+    public TraceMode modeOf(String message) {
+        return table.modeOf(message);
+    }
+
+    @ManagedOperation(description = "pattern: 정확한 Span 이름 또는 '*' 로 끝나는 접두사, mode: OFF, END_ONLY, FULL")
+    public synchronized void setMode(String pattern, String mode) {
+        requirePattern(pattern);
+        TraceMode traceMode = parse(mode);
+        table = table.with(pattern, traceMode);
+        log.info("trace toggle {} = {}", pattern, traceMode);
+    }
+
+    @ManagedOperation(description = "pattern 규칙 삭제")
+    public synchronized void removeMode(String pattern) {
+        requirePattern(pattern);
+        table = table.without(pattern);
+        log.info("trace toggle {} removed", pattern);
+    }
+
+    @ManagedOperation(description = "기본 모드 변경, 모든 규칙 삭제")
+    public synchronized void reset(String defaultMode) {
+        table = new TraceDecisionTable(parse(defaultMode), Map.of());
+        log.info("trace toggle reset default = {}", defaultMode);
+    }
+
+    private static TraceMode parse(String mode) {
+        if (mode != null) {
+            for (TraceMode traceMode : TraceMode.values()) {
+                if (traceMode.name().equals(mode.trim().toUpperCase(Locale.ROOT))) {
+                    return traceMode;
+                }
+            }
+        }
+        throw new InvalidTraceToggleException(
+                "알 수 없는 mode: " + mode + ", 가능한 값: " + Arrays.toString(TraceMode.values()));
+    }
+
+    private static void requirePattern(String pattern) {
+        if (pattern == null || pattern.isBlank()) {
+            throw new InvalidTraceToggleException("pattern 이 비어 있습니다.");
+        }
+    }
+
+    @ManagedAttribute
+    public String getDefaultMode() {
+        return table.getDefaultMode().name();
+    }
+
+    @ManagedAttribute
+    public Map<String, String> getRules() {
+        Map<String, String> rules = new LinkedHashMap<>();
+        table.getRules().forEach((pattern, mode) -> rules.put(pattern, mode.name()));
+        return rules;
+    }
+}
@@ -0,0 +1,33 @@
+package hello.springcoreadvanced1.trace.topk;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Span 이름, 속성 값별 Top-K 조회
+ */
+@RestController
+@RequestMapping("/trace")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "trace.topk.enabled", havingValue = "true")
+public class HeavyHitterController {
+    private final HeavyHitterTracker tracker;
+
+    /**
+     * 예: /trace/top?dimension=itemId&metric=TIME&limit=10
+     */
+    @GetMapping("/top")
+    public List<SpaceSaving.Entry> top(
+            @RequestParam(defaultValue = HeavyHitterTracker.SPAN_DIMENSION) String dimension,
+            @RequestParam(defaultValue = "COUNT") HeavyHitterTracker.Metric metric,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return tracker.top(dimension, metric, limit);
+    }
+}
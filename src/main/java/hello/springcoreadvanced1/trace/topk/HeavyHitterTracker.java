@@ -0,0 +1,189 @@
+package hello.springcoreadvanced1.trace.topk;
+
+import hello.springcoreadvanced1.trace.SpanAttributes;
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.span.SpanListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Span 종료 시 Span 이름, 속성 값 (itemId 등) 별 Top-K 를 {@link SpaceSaving} 으로 집계<br>
+ * - 지표: 요청 수(count), 걸린 시간 합(time), 예외 수(errors)<br>
+ * - Span 이름은 모든 Span, 속성 값은 요청당 한 번 세도록 최상위 Span 에서만 집계<br>
+ * - Sliding Window: windowMs 단위 구간 windows 개를 순환하며, 조회 시 유효한 구간을 합친다.<br>
+ * - 구간마다 쓰레드 ID 로 나눈 stripes 개의 Sketch 를 두어 잠금 경합을 줄인다.<br>
+ * - 메모리: windows * stripes * (1 + 속성 수) * 3 * capacity 개의 카운터로 고정
+ */
+public class HeavyHitterTracker implements SpanListener {
+    public static final String SPAN_DIMENSION = "span";
+
+    public enum Metric {
+        COUNT, TIME, ERRORS
+    }
+
+    private final List<String> dimensions;
+    private final int capacity;
+    private final long windowMs;
+    private final Window[] windows;
+
+    /**
+     * @param attributeKeys 집계할 속성 이름
+     * @param capacity      Sketch 당 카운터 수
+     * @param windowMs      구간 길이
+     * @param windowCount   구간 수, 조회 범위는 windowMs * windowCount
+     * @param stripes       구간당 Sketch 묶음 수 (2의 거듭제곱)
+     */
+    public HeavyHitterTracker(List<String> attributeKeys, int capacity, long windowMs, int windowCount, int stripes) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes 는 2의 거듭제곱이어야 합니다: " + stripes);
+        }
+        List<String> dimensions = new ArrayList<>();
+        dimensions.add(SPAN_DIMENSION);
+        dimensions.addAll(attributeKeys);
+
+        this.dimensions = List.copyOf(dimensions);
+        this.capacity = capacity;
+        this.windowMs = windowMs;
+        this.windows = new Window[windowCount];
+        for (int i = 0; i < windowCount; i++) {
+            windows[i] = new Window(stripes);
+        }
+    }
+
+    @Override
+    public void onEnd(TraceStatus status, long resultTimeMs, Exception e) {
+        record(System.currentTimeMillis(), status, resultTimeMs, e);
+    }
+
+    void record(long nowMs, TraceStatus status, long resultTimeMs, Exception e) {
+        long epoch = nowMs / windowMs;
+        Stripe stripe = windows[(int) (epoch % windows.length)].stripe();
+        SpanAttributes attributes = status.getTraceId().isFirstLevel() ? status.getAttributes() : null;
+
+        synchronized (stripe) {
+            stripe.rotate(epoch);
+            stripe.add(0, status.getMessage(), resultTimeMs, e != null);
+            if (attributes == null) {
+                return;
+            }
+            for (int i = 0; i < attributes.size(); i++) {
+                int dimension = dimensions.indexOf(attributes.key(i));
+                if (dimension > 0) {
+                    stripe.add(dimension, valueOf(attributes, i), resultTimeMs, e != null);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param dimension {@link #SPAN_DIMENSION} 또는 속성 이름
+     * @param metric    정렬 기준
+     * @param limit     최대 개수
+     * @return 최근 windowMs * windowCount 동안 값이 큰 순서
+     */
+    public List<SpaceSaving.Entry> top(String dimension, Metric metric, int limit) {
+        int index = dimensions.indexOf(dimension);
+        if (index < 0) {
+            throw new IllegalArgumentException("집계하지 않는 항목입니다: " + dimension);
+        }
+
+        return top(System.currentTimeMillis(), index, metric, limit);
+    }
+
+    List<SpaceSaving.Entry> top(long nowMs, int index, Metric metric, int limit) {
+        long currentEpoch = nowMs / windowMs;
+        Map<String, long[]> merged = new HashMap<>();
+        for (Window window : windows) {
+            for (Stripe stripe : window.stripes) {
+                synchronized (stripe) {
+                    if (stripe.epoch < 0 || currentEpoch - stripe.epoch >= windows.length) {
+                        continue;
+                    }
+                    for (SpaceSaving.Entry entry : stripe.sketches[index][metric.ordinal()].entries()) {
+                        long[] sum = merged.computeIfAbsent(entry.getKey(), key -> new long[2]);
+                        sum[0] += entry.getCount();
+                        sum[1] += entry.getError();
+                    }
+                }
+            }
+        }
+
+        return merged.entrySet().stream()
+                .map(entry -> new SpaceSaving.Entry(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+                .sorted(Comparator.comparingLong(SpaceSaving.Entry::getCount).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public List<String> getDimensions() {
+        return dimensions;
+    }
+
+    private static String valueOf(SpanAttributes attributes, int index) {
+        return switch (attributes.type(index)) {
+            case SpanAttributes.TYPE_LONG -> Long.toString(attributes.longValue(index));
+            case SpanAttributes.TYPE_DOUBLE -> Double.toString(attributes.doubleValue(index));
+            case SpanAttributes.TYPE_BOOLEAN -> Boolean.toString(attributes.booleanValue(index));
+            default -> String.valueOf(attributes.ref(index));
+        };
+    }
+
+    private class Window {
+        private final Stripe[] stripes;
+
+        private Window(int stripeCount) {
+            this.stripes = new Stripe[stripeCount];
+            for (int i = 0; i < stripeCount; i++) {
+                stripes[i] = new Stripe();
+            }
+        }
+
+        private Stripe stripe() {
+            return stripes[(int) Thread.currentThread().getId() & (stripes.length - 1)];
+        }
+    }
+
+    /**
+     * 구간 하나의 Sketch 묶음, 자기 자신으로 동기화
+     */
+    private class Stripe {
+        private final SpaceSaving[][] sketches = new SpaceSaving[dimensions.size()][Metric.values().length];
+        private long epoch = -1;
+
+        private Stripe() {
+            for (SpaceSaving[] metrics : sketches) {
+                for (int i = 0; i < metrics.length; i++) {
+                    metrics[i] = new SpaceSaving(capacity);
+                }
+            }
+        }
+
+        /**
+         * 이전 주기의 구간이면 비우고 새 구간으로 사용
+         */
+        private void rotate(long epoch) {
+            if (this.epoch == epoch) {
+                return;
+            }
+            for (SpaceSaving[] metrics : sketches) {
+                for (SpaceSaving sketch : metrics) {
+                    sketch.clear();
+                }
+            }
+            this.epoch = epoch;
+        }
+
+        private void add(int dimension, String key, long resultTimeMs, boolean error) {
+            SpaceSaving[] metrics = sketches[dimension];
+            metrics[Metric.COUNT.ordinal()].add(key, 1);
+            metrics[Metric.TIME.ordinal()].add(key, resultTimeMs);
+            if (error) {
+                metrics[Metric.ERRORS.ordinal()].add(key, 1);
+            }
+        }
+    }
+}
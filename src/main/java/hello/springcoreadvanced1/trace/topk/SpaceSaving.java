@@ -0,0 +1,142 @@
+package hello.springcoreadvanced1.trace.topk;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 가중치를 지원하는 Space-Saving Top-K Sketch<br>
+ * - 최대 capacity 개의 카운터만 유지하며, 새 키가 들어오면 가장 작은 카운터를 빼앗는다.<br>
+ * - 빼앗긴 카운터의 값은 error 로 남아 실제 값은 [count - error, count] 범위에 있다.<br>
+ * - 실제 값이 전체 합의 1/capacity 를 넘는 키는 반드시 포함된다.<br>
+ * - 최소 카운터는 index 를 기억하는 min-heap 으로 찾아 갱신이 O(log capacity)<br>
+ * - 동기화하지 않으므로 호출하는 쪽에서 잠금을 관리한다.
+ */
+public class SpaceSaving {
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private final Counter[] heap;
+    private int size;
+
+    public SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = new Counter[capacity];
+    }
+
+    /**
+     * @param key    키
+     * @param weight 더할 값 (요청 수 1, 걸린 시간 등)
+     */
+    public void add(String key, long weight) {
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            if (size < capacity) {
+                counter = new Counter(key, size);
+                heap[size++] = counter;
+                // 값이 0 인 새 카운터는 힙의 맨 끝에서 위로 올려야 최소값이 루트에 남는다.
+                siftUp(counter.index);
+            } else {
+                // 가장 작은 카운터를 새 키에 넘긴다.
+                counter = heap[0];
+                counters.remove(counter.key);
+                counter.key = key;
+                counter.error = counter.count;
+            }
+            counters.put(key, counter);
+        }
+        counter.count += weight;
+        siftDown(counter.index);
+    }
+
+    /**
+     * @return 추적 중인 키와 값 (순서 없음)
+     */
+    public List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry(heap[i].key, heap[i].count, heap[i].error));
+        }
+        return entries;
+    }
+
+    public void clear() {
+        counters.clear();
+        for (int i = 0; i < size; i++) {
+            heap[i] = null;
+        }
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void siftUp(int index) {
+        Counter counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heap[index].index = index;
+            index = parent;
+        }
+        heap[index] = counter;
+        counter.index = index;
+    }
+
+    private void siftDown(int index) {
+        Counter counter = heap[index];
+        while (true) {
+            int child = index * 2 + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (heap[child].count >= counter.count) {
+                break;
+            }
+            heap[index] = heap[child];
+            heap[index].index = index;
+            index = child;
+        }
+        heap[index] = counter;
+        counter.index = index;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Entry {
+        private final String key;
+
+        /**
+         * 추정 값 (실제 값 이상)
+         */
+        private final long count;
+
+        /**
+         * 최대 과대 추정량
+         */
+        private final long error;
+    }
+
+    private static class Counter {
+        private String key;
+        private long count;
+        private long error;
+        private int index;
+
+        private Counter(String key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+    }
+}
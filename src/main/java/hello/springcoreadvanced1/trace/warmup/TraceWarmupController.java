@@ -0,0 +1,29 @@
+package hello.springcoreadvanced1.trace.warmup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 시작 warmup 결과와 현재 Readiness 조회
+ */
+@RestController
+@RequestMapping("/trace")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "trace.warmup.enabled", havingValue = "true")
+public class TraceWarmupController {
+    private final TraceWarmupRunner runner;
+    private final ApplicationAvailability availability;
+
+    @GetMapping("/warmup")
+    public Map<String, Object> warmup() {
+        Map<String, Object> result = runner.report();
+        result.put("readiness", availability.getReadinessState());
+        return result;
+    }
+}
@@ -0,0 +1,45 @@
+package hello.springcoreadvanced1.trace.warmup;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 헤더 {@value #HEADER_NAME} 가 있는 요청을 warmup 합성 요청으로 표시 ({@link WarmupHolder})<br>
+ * - warmup 이 진행 중일 때만 인정하므로, 이후 외부 요청이 헤더로 추적을 피할 수 없다.<br>
+ * - 합성 요청의 예외 (itemId=ex) 는 500 으로만 응답해 서버 오류 로그를 남기지 않는다.
+ */
+public class TraceWarmupFilter extends OncePerRequestFilter {
+    public static final String HEADER_NAME = "X-Trace-Warmup";
+
+    private final TraceWarmupRunner runner;
+
+    public TraceWarmupFilter(TraceWarmupRunner runner) {
+        this.runner = runner;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (request.getHeader(HEADER_NAME) == null || runner.getState() != TraceWarmupRunner.State.RUNNING) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        WarmupHolder.set();
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServletException | RuntimeException e) {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        } finally {
+            WarmupHolder.clear();
+        }
+    }
+}
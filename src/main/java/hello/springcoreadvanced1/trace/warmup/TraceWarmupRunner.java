@@ -0,0 +1,147 @@
+package hello.springcoreadvanced1.trace.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 시작 시 합성 요청으로 LogTrace, TraceTemplate, AbstractTemplate 경로를 미리 JIT 컴파일<br>
+ * - ApplicationRunner 가 끝나야 Readiness 가 ACCEPTING_TRAFFIC 이 되므로, 끝날 때까지 트래픽을 받지 않는다.<br>
+ * - 버전마다 itemId = "warmup" 으로 iterations 번, 그중 EXCEPTION_EVERY 번에 한 번은 "ex" 로 예외 경로까지 호출<br>
+ * - 진행 중에는 suspend/resume 으로 저장소를 no-op 으로 바꾼다.<br>
+ * - 합성 요청은 {@link WarmupHolder} 로 표시해 Trace 로그, SpanListener (Limiter, Sketch, Top-K, Flame Graph 등),
+ * 예외 집계, 추적기 비용 기록에 남기지 않는다. 따라서 이 경로들은 미리 컴파일되지 않는다.<br>
+ * - maxMs 가 지나면 남은 반복은 건너뛴다.
+ */
+@Slf4j
+public class TraceWarmupRunner implements ApplicationRunner {
+    public static final String ITEM_ID = "warmup";
+    static final int EXCEPTION_EVERY = 16;
+
+    public enum State {
+        PENDING, RUNNING, DONE, TIMED_OUT
+    }
+
+    /**
+     * 버전 (v0 ~ v6) 별 요청 처리
+     */
+    private final Map<String, Consumer<String>> targets;
+    private final int iterations;
+    private final long maxMs;
+    private final Runnable suspendRepository;
+    private final Runnable resumeRepository;
+
+    private volatile State state = State.PENDING;
+    private volatile long elapsedMs;
+    private volatile long calls;
+    private volatile long failures;
+
+    /**
+     * @param targets           버전별 요청 처리, 예: "v3" -> controller::request
+     * @param iterations        버전별 호출 수
+     * @param maxMs             최대 warmup 시간
+     * @param suspendRepository 저장소를 no-op 으로 전환
+     * @param resumeRepository  저장소 복원
+     */
+    public TraceWarmupRunner(
+            Map<String, Consumer<String>> targets,
+            int iterations,
+            long maxMs,
+            Runnable suspendRepository,
+            Runnable resumeRepository
+    ) {
+        this.targets = new LinkedHashMap<>(targets);
+        this.iterations = iterations;
+        this.maxMs = maxMs;
+        this.suspendRepository = suspendRepository;
+        this.resumeRepository = resumeRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmup();
+    }
+
+    void warmup() {
+        state = State.RUNNING;
+        log.info("Trace warmup started: versions={}, iterations={}", targets.keySet(), iterations);
+
+        suspendRepository.run();
+        long startNs = System.nanoTime();
+        long deadlineNs = startNs + maxMs * 1_000_000L;
+        try {
+            state = loop(deadlineNs) ? State.DONE : State.TIMED_OUT;
+        } finally {
+            elapsedMs = (System.nanoTime() - startNs) / 1_000_000L;
+            resumeRepository.run();
+        }
+
+        log.info("Trace warmup {}: elapsedMs={}, calls={}, failures={}", state, elapsedMs, calls, failures);
+    }
+
+    /**
+     * 버전을 번갈아 호출해 JIT 프로파일이 한 버전에 치우치지 않게 한다.
+     *
+     * @return 모든 반복을 마쳤으면 true, 시간 초과면 false
+     */
+    private boolean loop(long deadlineNs) {
+        List<Consumer<String>> handlers = List.copyOf(targets.values());
+        for (int i = 0; i < iterations; i++) {
+            if (System.nanoTime() - deadlineNs > 0) {
+                return false;
+            }
+            String itemId = i % EXCEPTION_EVERY == EXCEPTION_EVERY - 1 ? "ex" : ITEM_ID;
+            for (Consumer<String> handler : handlers) {
+                call(handler, itemId);
+            }
+        }
+        return true;
+    }
+
+    private void call(Consumer<String> handler, String itemId) {
+        calls++;
+        WarmupHolder.set();
+        try {
+            handler.accept(itemId);
+        } catch (RuntimeException e) {
+            if (!itemId.equals("ex")) {
+                failures++;
+                log.warn("Trace warmup request failed", e);
+            }
+        } finally {
+            WarmupHolder.clear();
+        }
+    }
+
+    public Map<String, Object> report() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("state", state);
+        result.put("versions", targets.keySet());
+        result.put("iterations", iterations);
+        result.put("elapsedMs", elapsedMs);
+        result.put("calls", calls);
+        result.put("failures", failures);
+        return result;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+}
@@ -0,0 +1,26 @@
+package hello.springcoreadvanced1.trace.warmup;
+
+/**
+ * 현재 쓰레드의 요청이 warmup 용 합성 요청인지 보관<br>
+ * - {@link TraceWarmupRunner} (direct) 또는 {@link TraceWarmupFilter} (http) 가 요청 동안 설정<br>
+ * - 최상위 Trace 를 시작할 때 {@link hello.springcoreadvanced1.trace.inflight.InFlightTrace} 에 표시해
+ * 다른 쓰레드에서 실행되는 하위 Span 도 합성 요청으로 본다.
+ */
+public final class WarmupHolder {
+    private static final ThreadLocal<Boolean> holder = new ThreadLocal<>();
+
+    private WarmupHolder() {
+    }
+
+    public static void set() {
+        holder.set(Boolean.TRUE);
+    }
+
+    public static boolean isActive() {
+        return holder.get() != null;
+    }
+
+    public static void clear() {
+        holder.remove();
+    }
+}
@@ -0,0 +1,58 @@
+package hello.springcoreadvanced1.app;
+
+import hello.springcoreadvanced1.app.simulation.ErrorInjection;
+import hello.springcoreadvanced1.app.simulation.LatencyModel;
+import hello.springcoreadvanced1.app.simulation.OrderRepositorySimulation;
+import hello.springcoreadvanced1.app.v0.OrderControllerV0;
+import hello.springcoreadvanced1.app.v0.OrderRepositoryV0;
+import hello.springcoreadvanced1.app.v0.OrderServiceV0;
+import hello.springcoreadvanced1.app.v1.OrderControllerV1;
+import hello.springcoreadvanced1.app.v1.OrderRepositoryV1;
+import hello.springcoreadvanced1.app.v1.OrderServiceV1;
+import hello.springcoreadvanced1.trace.hellotrace.HelloTraceV1;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link ConditionalOnOrderVersion} Test
+ */
+class OrderVersionConditionTest {
+    ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withBean(OrderRepositorySimulation.class,
+                    () -> new OrderRepositorySimulation(LatencyModel.fixed(0), ErrorInjection.none()))
+            .withUserConfiguration(
+                    OrderControllerV0.class, OrderServiceV0.class, OrderRepositoryV0.class,
+                    OrderControllerV1.class, OrderServiceV1.class, OrderRepositoryV1.class, HelloTraceV1.class
+            );
+
+    @Test
+    void registers_all_versions_by_default() {
+        runner.run(context -> {
+            assertThat(context).hasSingleBean(OrderControllerV0.class);
+            assertThat(context).hasSingleBean(OrderControllerV1.class);
+            assertThat(context).hasSingleBean(HelloTraceV1.class);
+        });
+    }
+
+    @Test
+    void registers_only_selected_versions() {
+        runner.withPropertyValues("order.versions=v0").run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).hasSingleBean(OrderControllerV0.class);
+            assertThat(context).hasSingleBean(OrderRepositoryV0.class);
+            assertThat(context).doesNotHaveBean(OrderControllerV1.class);
+            assertThat(context).doesNotHaveBean(OrderServiceV1.class);
+            assertThat(context).doesNotHaveBean(OrderRepositoryV1.class);
+            assertThat(context).doesNotHaveBean(HelloTraceV1.class);
+        });
+    }
+
+    @Test
+    void comma_separated_versions() {
+        assertThat(OrderVersionCondition.isEnabled("v3, V5", "v5")).isTrue();
+        assertThat(OrderVersionCondition.isEnabled("v3, V5", "v4")).isFalse();
+        assertThat(OrderVersionCondition.isEnabled("ALL", "v4")).isTrue();
+    }
+}
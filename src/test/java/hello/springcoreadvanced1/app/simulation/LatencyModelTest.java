@@ -0,0 +1,154 @@
+package hello.springcoreadvanced1.app.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link LatencyModel}, {@link ErrorInjection} Test
+ */
+class LatencyModelTest {
+
+    @Test
+    void same_seed_same_sequence() {
+        long[] first = sample(LatencyModel.pareto(new SimulationRandom(42), 50, 1.5, 60_000), 1_000);
+        long[] second = sample(LatencyModel.pareto(new SimulationRandom(42), 50, 1.5, 60_000), 1_000);
+        long[] other = sample(LatencyModel.pareto(new SimulationRandom(43), 50, 1.5, 60_000), 1_000);
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first).isNotEqualTo(other);
+    }
+
+    @Test
+    void concurrent_sampling_is_reproducible() throws InterruptedException {
+        long[] sequential = sample(LatencyModel.logNormal(new SimulationRandom(42), 100, 0.5, 60_000), 4_000);
+        Arrays.sort(sequential);
+
+        // 쓰레드끼리 순서는 달라도 같은 seed 면 같은 샘플 집합
+        LatencyModel model = LatencyModel.logNormal(new SimulationRandom(42), 100, 0.5, 60_000);
+        ConcurrentLinkedQueue<Long> concurrent = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    concurrent.add(model.nextMillis());
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(concurrent.stream().mapToLong(Long::longValue).sorted().toArray()).isEqualTo(sequential);
+    }
+
+    @Test
+    void forked_streams_are_independent() {
+        SimulationRandom latency = new SimulationRandom(42).fork(0);
+        SimulationRandom errors = new SimulationRandom(42).fork(1);
+
+        // 실패 주입이 난수를 가져가도 지연 시간 난수열은 바뀌지 않는다.
+        double[] first = {latency.nextDouble(), latency.nextDouble()};
+        errors.nextDouble();
+        SimulationRandom again = new SimulationRandom(42).fork(0);
+        assertThat(new double[]{again.nextDouble(), again.nextDouble()}).isEqualTo(first);
+        assertThat(new SimulationRandom(42).fork(1).nextDouble()).isNotEqualTo(first[0]);
+    }
+
+    @Test
+    void uniform_in_range() {
+        long[] samples = sample(LatencyModel.uniform(new SimulationRandom(1), 10, 20), 10_000);
+
+        assertThat(LongStream.of(samples).min().getAsLong()).isEqualTo(10);
+        assertThat(LongStream.of(samples).max().getAsLong()).isEqualTo(20);
+    }
+
+    @Test
+    void log_normal_median() {
+        long[] samples = sample(LatencyModel.logNormal(new SimulationRandom(1), 100, 0.5, 60_000), 20_000);
+        Arrays.sort(samples);
+
+        assertThat(samples[samples.length / 2]).isBetween(95L, 105L);
+        assertThat(samples[(int) (samples.length * 0.99)]).isGreaterThan(250L);
+    }
+
+    @Test
+    void pareto_heavy_tail() {
+        long[] samples = sample(LatencyModel.pareto(new SimulationRandom(1), 50, 1.5, 60_000), 20_000);
+        Arrays.sort(samples);
+
+        assertThat(samples[0]).isGreaterThanOrEqualTo(50);
+        // P(X > x) = (scale / x)^shape => p99 = 50 * 100^(1/1.5) ~= 1077
+        assertThat(samples[(int) (samples.length * 0.99)]).isBetween(900L, 1300L);
+    }
+
+    @Test
+    void median_matches_samples() {
+        LatencyModel pareto = LatencyModel.pareto(new SimulationRandom(1), 50, 1.5, 60_000);
+        long[] samples = sample(pareto, 20_000);
+        Arrays.sort(samples);
+
+        // 50 * 2^(1/1.5) ~= 79
+        assertThat(pareto.medianMillis()).isEqualTo(79);
+        assertThat(samples[samples.length / 2]).isBetween(75L, 84L);
+        assertThat(LatencyModel.fixed(1000).medianMillis()).isEqualTo(1000);
+        assertThat(LatencyModel.uniform(new SimulationRandom(1), 10, 20).medianMillis()).isEqualTo(15);
+        assertThat(LatencyModel.logNormal(new SimulationRandom(1), 100, 0.5, 60_000).medianMillis()).isEqualTo(100);
+        assertThat(LatencyModel.replay(new SimulationRandom(1), new long[]{9, 1, 5}).medianMillis()).isEqualTo(5);
+    }
+
+    @Test
+    void invalid_parameters_are_rejected() {
+        SimulationRandom random = new SimulationRandom(1);
+
+        assertThatThrownBy(() -> LatencyModel.uniform(random, 20, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyModel.uniform(random, -1, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyModel.logNormal(random, 0, 0.5, 1_000)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyModel.logNormal(random, 100, -0.5, 1_000)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyModel.logNormal(random, 100, Double.NaN, 1_000)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyModel.pareto(random, 10, 0, 1_000)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyModel.pareto(random, 0, 1.5, 1_000)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(LatencyModel.uniform(random, 10, 10).nextMillis()).isEqualTo(10);
+    }
+
+    @Test
+    void replay_cycles() {
+        long[] samples = sample(LatencyModel.replay(new SimulationRandom(1), new long[]{1, 2, 3}), 6);
+
+        assertThat(samples).containsExactly(1, 2, 3, 1, 2, 3);
+    }
+
+    @Test
+    void error_injection_rate() {
+        ErrorInjection injection = new ErrorInjection(new SimulationRandom(7), 0.1);
+
+        int failures = 0;
+        for (int i = 0; i < 10_000; i++) {
+            try {
+                injection.inject();
+            } catch (IllegalStateException e) {
+                failures++;
+            }
+        }
+
+        assertThat(failures).isBetween(900, 1100);
+        assertThatThrownBy(() -> new ErrorInjection(null, 1.5)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private long[] sample(LatencyModel model, int count) {
+        long[] samples = new long[count];
+        for (int i = 0; i < count; i++) {
+            samples[i] = model.nextMillis();
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,109 @@
+package hello.springcoreadvanced1.app.v6;
+
+import hello.springcoreadvanced1.app.simulation.ErrorInjection;
+import hello.springcoreadvanced1.app.simulation.LatencyModel;
+import hello.springcoreadvanced1.app.simulation.OrderRepositorySimulation;
+import hello.springcoreadvanced1.app.simulation.SimulationRandom;
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.logtrace.ThreadLocalLogTrace;
+import hello.springcoreadvanced1.trace.span.SpanListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link OrderServiceV6} Test
+ */
+class OrderServiceV6Test {
+    static final long STEP_MS = 200;
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    OrderRepositorySimulation simulation = new OrderRepositorySimulation(LatencyModel.fixed(STEP_MS), ErrorInjection.none());
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void parallel_latency_is_max_of_steps() {
+        OrderServiceV6 service = service(3);
+
+        long start = System.currentTimeMillis();
+        service.orderItem("hello");
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertThat(elapsed).isGreaterThanOrEqualTo(STEP_MS).isLessThan(STEP_MS * 2);
+    }
+
+    @Test
+    void bounded_parallelism() {
+        OrderServiceV6 service = service(1);
+
+        long start = System.currentTimeMillis();
+        service.orderItem("hello");
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertThat(elapsed).isGreaterThanOrEqualTo(STEP_MS * 3);
+    }
+
+    @Test
+    void fail_fast_interrupts_sleeping_steps() throws InterruptedException {
+        long sleepMs = STEP_MS * 10;
+        OrderRepositorySimulation sleeping = new OrderRepositorySimulation(LatencyModel.fixed(sleepMs), ErrorInjection.none());
+        // 다른 단계가 잠들 시간을 준 뒤 실패
+        OrderRepositorySimulation failing = new OrderRepositorySimulation(LatencyModel.fixed(50),
+                new ErrorInjection(new SimulationRandom(1), 1.0));
+
+        Map<String, Exception> ended = new ConcurrentHashMap<>();
+        CountDownLatch sleepersEnded = new CountDownLatch(2);
+        SpanListener listener = new SpanListener() {
+            @Override
+            public void onEnd(TraceStatus status, long resultTimeMs, Exception e) {
+                if (e != null && !status.getMessage().equals("PaymentRepository.save()")
+                        && status.getMessage().endsWith("Repository.save()")) {
+                    ended.put(status.getMessage(), e);
+                    sleepersEnded.countDown();
+                }
+            }
+        };
+        OrderServiceV6 service = new OrderServiceV6(
+                new OrderStepRepositoryV6("InventoryRepository", sleeping),
+                new OrderStepRepositoryV6("PaymentRepository", failing),
+                new OrderStepRepositoryV6("ShippingRepository", sleeping),
+                executor,
+                3,
+                new ThreadLocalLogTrace(new ThreadLocalLogTrace.Options().listeners(List.of(listener)))
+        );
+
+        long start = System.currentTimeMillis();
+        assertThatThrownBy(() -> service.orderItem("hello")).hasMessage("주입된 예외 발생!");
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertThat(elapsed).isLessThan(sleepMs / 4);
+        assertThat(sleepersEnded.await(sleepMs, TimeUnit.MILLISECONDS)).isTrue();
+        assertThat(ended).containsOnlyKeys("InventoryRepository.save()", "ShippingRepository.save()");
+        assertThat(ended.values()).allSatisfy(e -> assertThat(e).hasCauseInstanceOf(InterruptedException.class));
+    }
+
+    private OrderServiceV6 service(int maxParallelism) {
+        return new OrderServiceV6(
+                new OrderStepRepositoryV6("InventoryRepository", simulation),
+                new OrderStepRepositoryV6("PaymentRepository", simulation),
+                new OrderStepRepositoryV6("ShippingRepository", simulation),
+                executor,
+                maxParallelism,
+                new ThreadLocalLogTrace()
+        );
+    }
+}
@@ -0,0 +1,59 @@
+package hello.springcoreadvanced1.trace;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link TraceStatus#tag} Test
+ */
+class SpanAttributesTest {
+
+    @Test
+    void typed_tags() {
+        TraceStatus status = new TraceStatus(new TraceId(), 0L, "OrderRepository.save()")
+                .tag("itemId", "hello")
+                .tag("quantity", 3)
+                .tag("price", 1.5)
+                .tag("gift", true);
+
+        SpanAttributes attributes = status.getAttributes();
+        assertThat(attributes.size()).isEqualTo(4);
+        assertThat(attributes.type(0)).isEqualTo(SpanAttributes.TYPE_OBJECT);
+        assertThat(attributes.ref(0)).isEqualTo("hello");
+        assertThat(attributes.type(1)).isEqualTo(SpanAttributes.TYPE_LONG);
+        assertThat(attributes.longValue(1)).isEqualTo(3);
+        assertThat(attributes.type(2)).isEqualTo(SpanAttributes.TYPE_DOUBLE);
+        assertThat(attributes.doubleValue(2)).isEqualTo(1.5);
+        assertThat(attributes.type(3)).isEqualTo(SpanAttributes.TYPE_BOOLEAN);
+        assertThat(attributes.booleanValue(3)).isTrue();
+
+        assertThat(attributes).hasToString(" itemId=hello quantity=3 price=1.5 gift=true");
+    }
+
+    @Test
+    void no_tags_no_attributes() {
+        TraceStatus status = new TraceStatus(new TraceId(), 0L, "OrderRepository.save()");
+
+        assertThat(status.getAttributes()).isNull();
+    }
+
+    @Test
+    void grows_past_initial_capacity() {
+        TraceStatus status = new TraceStatus(new TraceId(), 0L, "OrderRepository.save()");
+        for (int i = 0; i < 10; i++) {
+            status.tag("k" + i, i);
+        }
+
+        assertThat(status.getAttributes().size()).isEqualTo(10);
+        assertThat(status.getAttributes().key(9)).isEqualTo("k9");
+        assertThat(status.getAttributes().longValue(9)).isEqualTo(9);
+    }
+
+    @Test
+    void disabled_status_ignores_tags() {
+        TraceStatus.DISABLED.tag("itemId", "hello").tag("quantity", 3);
+
+        assertThat(TraceStatus.DISABLED.getAttributes()).isNull();
+    }
+}
@@ -0,0 +1,157 @@
+package hello.springcoreadvanced1.trace.callback;
+
+import hello.springcoreadvanced1.trace.TraceId;
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.inflight.InFlightTraceRegistry;
+import hello.springcoreadvanced1.trace.logtrace.ThreadLocalLogTrace;
+import hello.springcoreadvanced1.trace.span.SpanListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link TraceTemplate#executeAll} Test
+ */
+class TraceTemplateTest {
+    List<TraceStatus> ended = new CopyOnWriteArrayList<>();
+    SpanListener recorder = (status, resultTimeMs, e) -> ended.add(status);
+
+    InFlightTraceRegistry registry = new InFlightTraceRegistry();
+    ThreadLocalLogTrace trace = new ThreadLocalLogTrace(new ThreadLocalLogTrace.Options()
+            .registry(registry)
+            .listeners(List.of(recorder)));
+    TraceTemplate template = new TraceTemplate(trace);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void fork_join_tree() {
+        CountDownLatch allStarted = new CountDownLatch(3);
+
+        List<String> results = template.execute("OrderService.orderItem()", () -> template.executeAll(executor, List.of(
+                TraceTask.of("InventoryRepository.save()", () -> awaitSiblings(allStarted, "inventory")),
+                TraceTask.of("PaymentRepository.save()", () -> awaitSiblings(allStarted, "payment")),
+                TraceTask.of("ShippingRepository.save()", () -> awaitSiblings(allStarted, "shipping"))
+        )));
+
+        assertThat(results).containsExactly("inventory", "payment", "shipping");
+
+        TraceId parent = ended.get(ended.size() - 1).getTraceId();
+        List<TraceId> children = ended.subList(0, 3).stream().map(TraceStatus::getTraceId).toList();
+        assertThat(children).allSatisfy(child -> {
+            assertThat(child.getId()).isEqualTo(parent.getId());
+            assertThat(child.getLevel()).isEqualTo(1);
+            assertThat(child.getParentSpanId()).isEqualTo(parent.getSpanId());
+        });
+        Set<Long> spanIds = children.stream().map(TraceId::getSpanId).collect(Collectors.toSet());
+        assertThat(spanIds).hasSize(3).doesNotContain(parent.getSpanId());
+
+        assertThat(trace.currentTraceId()).isNull();
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    void fail_fast_cancels_siblings() {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        CountDownLatch slowStarted = new CountDownLatch(1);
+
+        assertThatThrownBy(() -> template.execute("OrderService.orderItem()", () -> template.executeAll(executor, List.of(
+                TraceTask.of("Slow.save()", () -> {
+                    slowStarted.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        interrupted.set(true);
+                    }
+                    return null;
+                }),
+                TraceTask.of("Failing.save()", () -> {
+                    // 아직 시작하지 않은 작업은 cancel(true) 로 인터럽트되지 않으므로 Slow 가 시작된 뒤 실패
+                    await(slowStarted);
+                    throw new IllegalStateException("예외 발생!");
+                })
+        )))).isInstanceOf(IllegalStateException.class).hasMessage("예외 발생!");
+
+        executor.shutdown();
+        assertThat(awaitTermination()).isTrue();
+        assertThat(interrupted).isTrue();
+        assertThat(trace.currentTraceId()).isNull();
+    }
+
+    @Test
+    void cancelled_siblings_end_before_parent() {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+
+        assertThatThrownBy(() -> template.execute("OrderService.orderItem()", () -> template.executeAll(executor, List.of(
+                TraceTask.of("Slow.save()", () -> {
+                    slowStarted.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        // 인터럽트 후에도 정리 작업으로 잠시 더 실행
+                        sleep(100);
+                    }
+                    return null;
+                }),
+                TraceTask.of("Failing.save()", () -> {
+                    await(slowStarted);
+                    throw new IllegalStateException("예외 발생!");
+                })
+        )))).isInstanceOf(IllegalStateException.class);
+
+        assertThat(ended).extracting(TraceStatus::getMessage)
+                .containsExactlyInAnyOrder("Slow.save()", "Failing.save()", "OrderService.orderItem()")
+                .last().isEqualTo("OrderService.orderItem()");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String awaitSiblings(CountDownLatch allStarted, String result) {
+        allStarted.countDown();
+        try {
+            // 세 하위 Span 이 동시에 진행 중이어야 통과
+            assertThat(allStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        return result;
+    }
+
+    private boolean awaitTermination() {
+        try {
+            return executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
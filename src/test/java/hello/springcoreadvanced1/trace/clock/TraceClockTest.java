@@ -0,0 +1,130 @@
+package hello.springcoreadvanced1.trace.clock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * {@link TraceClock} Test
+ */
+class TraceClockTest {
+
+    /**
+     * 여러 쓰레드가 동시에 읽어도 각 쓰레드가 읽은 값은 줄어들지 않는다.
+     */
+    private static void assertMonotonic(TraceClock clock) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        AtomicLong violations = new AtomicLong();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                long previous = clock.currentTimeMillis();
+                for (int i = 0; i < 200_000; i++) {
+                    long now = clock.currentTimeMillis();
+                    if (now < previous) {
+                        violations.incrementAndGet();
+                    }
+                    previous = now;
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(violations.get()).isZero();
+    }
+
+    @Test
+    void nanoClockIsMonotonic() throws InterruptedException {
+        long before = System.currentTimeMillis();
+        NanoTraceClock clock = new NanoTraceClock();
+        long now = clock.currentTimeMillis();
+        long after = System.currentTimeMillis();
+        assertThat(now).isBetween(before, after + 1);
+        assertMonotonic(clock);
+    }
+
+    @Test
+    void coarseClockIsMonotonicAndAdvances() throws InterruptedException {
+        CoarseTraceClock clock = new CoarseTraceClock(1);
+        clock.start();
+        try {
+            long start = clock.currentTimeMillis();
+            assertMonotonic(clock);
+            Thread.sleep(50);
+            assertThat(clock.currentTimeMillis()).isGreaterThan(start);
+        } finally {
+            clock.stop();
+        }
+    }
+
+    @Test
+    void calibratedClockIsMonotonic() throws InterruptedException {
+        assertMonotonic(new CalibratedTraceClock(System::currentTimeMillis, System::nanoTime, 1, 0.05));
+    }
+
+    @Test
+    void calibratedClockNeverGoesBelowValueReturnedToAnotherThread() throws InterruptedException {
+        CalibratedTraceClock clock = new CalibratedTraceClock(System::currentTimeMillis, System::nanoTime, 1, 0.05);
+        AtomicLong published = new AtomicLong();
+        AtomicLong violations = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 200_000; i++) {
+                    long floor = published.get();
+                    long now = clock.currentTimeMillis();
+                    if (now < floor) {
+                        violations.incrementAndGet();
+                    }
+                    published.accumulateAndGet(now, Math::max);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(violations.get()).isZero();
+    }
+
+    @Test
+    void calibratedClockSlewsInsteadOfJumping() {
+        AtomicLong wallMs = new AtomicLong(1_000_000);
+        AtomicLong nanos = new AtomicLong(0);
+        CalibratedTraceClock clock = new CalibratedTraceClock(wallMs::get, nanos::get, 1000, 0.05);
+
+        // 벽시계가 10초 뒤로 조정되어도 시계는 뒤로 가지 않고 느려지기만 한다.
+        wallMs.addAndGet(-10_000);
+        long previous = clock.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            nanos.addAndGet(1_000_000_000L);
+            wallMs.addAndGet(1000);
+            long now = clock.currentTimeMillis();
+            assertThat(now).isGreaterThanOrEqualTo(previous);
+            // 1초에 950ms 이상은 진행
+            assertThat(now - previous).isGreaterThanOrEqualTo(950);
+            previous = now;
+        }
+        assertThat(clock.getRate()).isEqualTo(0.95);
+
+        // 벽시계가 앞서 있으면 빨라져서 따라간다.
+        CalibratedTraceClock behind = new CalibratedTraceClock(wallMs::get, nanos::get, 1000, 0.05);
+        wallMs.addAndGet(20);
+        nanos.addAndGet(1_000_000_000L);
+        wallMs.addAndGet(1000);
+        behind.currentTimeMillis();
+        assertThat(behind.getRate()).isCloseTo(1.02, within(1e-9));
+
+        nanos.addAndGet(1_000_000_000L);
+        wallMs.addAndGet(1000);
+        assertThat(behind.currentTimeMillis()).isEqualTo(wallMs.get());
+    }
+}
@@ -0,0 +1,94 @@
+package hello.springcoreadvanced1.trace.deadline;
+
+import hello.springcoreadvanced1.trace.callback.TraceTask;
+import hello.springcoreadvanced1.trace.callback.TraceTemplate;
+import hello.springcoreadvanced1.trace.inflight.InFlightTraceRegistry;
+import hello.springcoreadvanced1.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link TraceTemplate#executeWithinDeadline} Test
+ */
+class DeadlineTest {
+    InFlightTraceRegistry registry = new InFlightTraceRegistry();
+    ThreadLocalLogTrace trace = new ThreadLocalLogTrace(new ThreadLocalLogTrace.Options().registry(registry));
+    TraceTemplate template = new TraceTemplate(trace);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void clear() {
+        DeadlineHolder.clear();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void no_deadline_runs() {
+        String result = template.executeWithinDeadline("OrderRepository.save()", 10_000, () -> "ok");
+
+        assertThat(result).isEqualTo("ok");
+    }
+
+    @Test
+    void expired_deadline_does_not_start_work() {
+        DeadlineHolder.set(System.currentTimeMillis() - 1);
+        AtomicBoolean started = new AtomicBoolean();
+
+        assertThatThrownBy(() -> template.executeWithinDeadline("OrderRepository.save()", () -> started.getAndSet(true)))
+                .isInstanceOf(DeadlineExceededException.class);
+
+        assertThat(started).isFalse();
+        assertThat(trace.currentTraceId()).isNull();
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    void insufficient_budget_fails_fast() {
+        DeadlineHolder.set(System.currentTimeMillis() + 500);
+
+        assertThatThrownBy(() -> template.execute("OrderService.orderItem()",
+                () -> template.executeWithinDeadline("OrderRepository.save()", 1_000, () -> null)))
+                .isInstanceOfSatisfying(DeadlineExceededException.class, e -> {
+                    assertThat(e.getSpan()).isEqualTo("OrderRepository.save()");
+                    assertThat(e.getRemainingMs()).isPositive();
+                });
+    }
+
+    @Test
+    void forked_children_see_root_deadline() {
+        DeadlineHolder.set(System.currentTimeMillis() + 50);
+        AtomicBoolean secondStarted = new AtomicBoolean();
+
+        assertThatThrownBy(() -> template.execute("OrderService.orderItem()", () -> template.executeAll(executor, List.of(
+                TraceTask.of("First.save()", () -> sleep(100)),
+                TraceTask.of("Second.save()", () -> secondStarted.getAndSet(true))
+        ), 1))).isInstanceOf(DeadlineExceededException.class);
+
+        assertThat(secondStarted).isFalse();
+    }
+
+    @Test
+    void parse_endpoint_timeouts() {
+        assertThat(DeadlineFilter.parseEndpointTimeouts("/v5/request=800, /v6/request=500"))
+                .isEqualTo(Map.of("/v5/request", 800L, "/v6/request", 500L));
+        assertThat(DeadlineFilter.parseEndpointTimeouts("")).isEmpty();
+    }
+
+    private Void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        return null;
+    }
+}
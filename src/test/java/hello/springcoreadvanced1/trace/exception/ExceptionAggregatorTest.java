@@ -0,0 +1,65 @@
+package hello.springcoreadvanced1.trace.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link ExceptionAggregator} Test
+ */
+class ExceptionAggregatorTest {
+    ExceptionAggregator aggregator = new ExceptionAggregator(2, 10_000);
+
+    @Test
+    void first_occurrence_only() {
+        assertThat(aggregator.record("OrderRepository.save()", new IllegalStateException())).isTrue();
+        assertThat(aggregator.record("OrderRepository.save()", new IllegalStateException())).isFalse();
+        assertThat(aggregator.record("OrderService.orderItem()", new IllegalStateException())).isTrue();
+
+        assertThat(aggregator.summarize()).containsExactlyInAnyOrder(
+                "IllegalStateException at OrderRepository.save() x 2",
+                "IllegalStateException at OrderService.orderItem() x 1"
+        );
+    }
+
+    @Test
+    void idle_entry_is_evicted() {
+        aggregator.record("OrderRepository.save()", new IllegalStateException());
+        aggregator.summarize();
+
+        assertThat(aggregator.summarize()).isEmpty();
+        assertThat(aggregator.size()).isZero();
+        assertThat(aggregator.record("OrderRepository.save()", new IllegalStateException())).isTrue();
+    }
+
+    @Test
+    void bounded_entries() {
+        aggregator.record("A", new IllegalStateException());
+        aggregator.record("B", new IllegalStateException());
+
+        assertThat(aggregator.record("C", new IllegalStateException())).isFalse();
+        assertThat(aggregator.record("D", new IllegalArgumentException())).isFalse();
+        assertThat(aggregator.size()).isEqualTo(2);
+        assertThat(aggregator.summarize()).contains("(untracked) x 2");
+    }
+
+    @Test
+    void concurrent_counts() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    aggregator.record("OrderRepository.save()", new IllegalStateException());
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(aggregator.summarize()).containsExactly("IllegalStateException at OrderRepository.save() x 80,000");
+    }
+}
@@ -0,0 +1,125 @@
+package hello.springcoreadvanced1.trace.flame;
+
+import hello.springcoreadvanced1.trace.TraceId;
+import hello.springcoreadvanced1.trace.TraceStatus;
+import org.junit.jupiter.api.Test;
+
+import static hello.springcoreadvanced1.trace.flame.FlameGraphAggregator.Weight.COUNT;
+import static hello.springcoreadvanced1.trace.flame.FlameGraphAggregator.Weight.TIME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlameGraphAggregatorTest {
+    private static final long WINDOW_MS = 1000;
+
+    private static TraceStatus begin(FlameGraphAggregator aggregator, TraceId traceId, String message) {
+        TraceStatus status = new TraceStatus(traceId, 0L, message);
+        aggregator.onBegin(status);
+        return status;
+    }
+
+    /**
+     * controller(100) -> service(80) -> repository(70)
+     */
+    private static void request(FlameGraphAggregator aggregator, long nowMs) {
+        TraceId root = new TraceId();
+        TraceId service = root.createNextId();
+        TraceId repository = service.createNextId();
+
+        TraceStatus c = begin(aggregator, root, "controller");
+        TraceStatus s = begin(aggregator, service, "service");
+        TraceStatus r = begin(aggregator, repository, "repository");
+        aggregator.record(nowMs, r, 70);
+        aggregator.record(nowMs, s, 80);
+        aggregator.record(nowMs, c, 100);
+    }
+
+    @Test
+    void collapsedSelfTime() {
+        FlameGraphAggregator aggregator = new FlameGraphAggregator(WINDOW_MS, 100);
+        long nowMs = System.currentTimeMillis();
+        request(aggregator, nowMs);
+        request(aggregator, nowMs);
+
+        assertThat(aggregator.collapsed(nowMs, false, TIME)).isEqualTo("""
+                controller 40
+                controller;service 20
+                controller;service;repository 140
+                """);
+        assertThat(aggregator.collapsed(nowMs, false, COUNT)).isEqualTo("""
+                controller 2
+                controller;service 2
+                controller;service;repository 2
+                """);
+    }
+
+    @Test
+    void overlappingChildrenDoNotGoNegative() {
+        FlameGraphAggregator aggregator = new FlameGraphAggregator(WINDOW_MS, 100);
+        long nowMs = System.currentTimeMillis();
+        TraceId root = new TraceId();
+
+        TraceStatus c = begin(aggregator, root, "controller");
+        TraceStatus a = begin(aggregator, root.createNextId(), "a");
+        TraceStatus b = begin(aggregator, root.createNextId(), "b");
+        aggregator.record(nowMs, a, 50);
+        aggregator.record(nowMs, b, 50);
+        aggregator.record(nowMs, c, 60);
+
+        assertThat(aggregator.collapsed(nowMs, false, TIME)).isEqualTo("""
+                controller;a 50
+                controller;b 50
+                """);
+    }
+
+    @Test
+    void windowReset() {
+        long start = System.currentTimeMillis();
+        FlameGraphAggregator aggregator = new FlameGraphAggregator(WINDOW_MS, 100);
+        request(aggregator, start);
+
+        long next = start + WINDOW_MS;
+        assertThat(aggregator.collapsed(next, false, COUNT)).isEmpty();
+        assertThat(aggregator.collapsed(next, true, COUNT)).contains("controller 1");
+
+        // 두 구간이 지나면 직전 구간도 비어 있다.
+        assertThat(aggregator.collapsed(next + 2 * WINDOW_MS, true, COUNT)).isEmpty();
+    }
+
+    @Test
+    void maxNodes() {
+        FlameGraphAggregator aggregator = new FlameGraphAggregator(WINDOW_MS, 2);
+        long nowMs = System.currentTimeMillis();
+        request(aggregator, nowMs);
+
+        // repository 경로를 만들지 못해 service 에 더해진다.
+        assertThat(aggregator.collapsed(nowMs, false, TIME)).isEqualTo("""
+                controller 20
+                controller;service 80
+                """);
+        assertThat(aggregator.getDropped()).isEqualTo(1);
+    }
+
+    @Test
+    void leakedSpansAreEvicted() {
+        FlameGraphAggregator aggregator = new FlameGraphAggregator(WINDOW_MS, 100, 2);
+        long start = System.currentTimeMillis();
+
+        // clear() 로 끝나지 않은 Span 두 개
+        aggregator.begin(start, new TraceStatus(new TraceId(), 0L, "leaked"));
+        aggregator.begin(start, new TraceStatus(new TraceId(), 0L, "leaked"));
+
+        // 아직 구간 길이가 지나지 않아 버릴 Span 이 없다.
+        aggregator.begin(start + 10, new TraceStatus(new TraceId(), 0L, "skipped"));
+        assertThat(aggregator.getRejected()).isEqualTo(1);
+        assertThat(aggregator.getEvicted()).isZero();
+
+        long later = start + 2 * WINDOW_MS;
+        TraceStatus status = new TraceStatus(new TraceId(), 0L, "controller");
+        aggregator.begin(later, status);
+        aggregator.record(later, status, 10);
+
+        assertThat(aggregator.getEvicted()).isEqualTo(2);
+        assertThat(aggregator.getOpenSpans()).isZero();
+        assertThat(aggregator.collapsed(later, false, COUNT)).isEqualTo("controller 1\n");
+    }
+}
@@ -0,0 +1,71 @@
+package hello.springcoreadvanced1.trace.gc;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.logtrace.ThreadLocalLogTrace;
+import hello.springcoreadvanced1.trace.sink.SpanSink;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link GcPauseMonitor} Test
+ */
+class GcPauseMonitorTest {
+
+    @Test
+    void overlap() {
+        GcPauseMonitor monitor = new GcPauseMonitor(4, 10);
+        monitor.recordPause(100, 110);
+        monitor.recordPause(200, 230);
+        monitor.recordPause(300, 305);
+
+        assertThat(monitor.pausedMsBetween(0, 1000)).isEqualTo(45);
+        assertThat(monitor.pausedMsBetween(105, 220)).isEqualTo(5 + 20);
+        assertThat(monitor.pausedMsBetween(111, 199)).isZero();
+        assertThat(monitor.pausedMsBetween(400, 500)).isZero();
+        assertThat(monitor.getTotalPauseMs()).isEqualTo(45);
+    }
+
+    @Test
+    void keepOnlyRecentHistory() {
+        GcPauseMonitor monitor = new GcPauseMonitor(2, 10);
+        monitor.recordPause(100, 110);
+        monitor.recordPause(200, 210);
+        monitor.recordPause(300, 310);
+
+        // 가장 오래된 멈춤은 덮어써져 빠진다.
+        assertThat(monitor.pausedMsBetween(0, 1000)).isEqualTo(20);
+        assertThat(monitor.getPauses()).isEqualTo(3);
+    }
+
+    @Test
+    void concurrentCollectorsAreIgnored() {
+        assertThat(GcPauseMonitor.isConcurrent("G1 Concurrent GC")).isTrue();
+        assertThat(GcPauseMonitor.isConcurrent("ZGC Cycles")).isTrue();
+        assertThat(GcPauseMonitor.isConcurrent("G1 Young Generation")).isFalse();
+        assertThat(GcPauseMonitor.isConcurrent("ZGC Pauses")).isFalse();
+    }
+
+    @Test
+    void tagBeforeCompletionRecord() throws InterruptedException {
+        GcPauseMonitor monitor = new GcPauseMonitor(16, 10);
+        List<Object> recorded = new ArrayList<>();
+        SpanSink output = (status, resultTimeMs, e) -> recorded.add(String.valueOf(status.getAttributes()));
+        ThreadLocalLogTrace trace = new ThreadLocalLogTrace(new ThreadLocalLogTrace.Options()
+                .listeners(List.of(monitor))
+                .output(output));
+
+        TraceStatus status = trace.begin("OrderService.orderItem()");
+        long now = System.currentTimeMillis();
+        monitor.recordPause(now - 1_000, now + 1_000);
+        Thread.sleep(5);
+        trace.end(status);
+
+        assertThat(recorded).hasSize(1);
+        assertThat((String) recorded.get(0)).startsWith(" gcPauseMs=");
+        assertThat(monitor.snapshot().get("OrderService.orderItem()").getAffectedSpans()).isEqualTo(1);
+    }
+}
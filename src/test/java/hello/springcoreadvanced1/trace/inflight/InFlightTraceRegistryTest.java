@@ -0,0 +1,108 @@
+package hello.springcoreadvanced1.trace.inflight;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link InFlightTraceRegistry}, {@link InFlightTraceWatchdog} Test
+ */
+class InFlightTraceRegistryTest {
+    InFlightTraceRegistry registry = new InFlightTraceRegistry();
+
+    @Test
+    void register_with_log_trace() {
+        ThreadLocalLogTrace trace = new ThreadLocalLogTrace(new ThreadLocalLogTrace.Options().registry(registry));
+
+        TraceStatus status1 = trace.begin("hello");
+        TraceStatus status2 = trace.begin("world");
+
+        List<InFlightTrace> oldest = registry.oldest(10);
+        assertThat(oldest).hasSize(1);
+        assertThat(oldest.get(0).getTraceId()).isEqualTo(status1.getTraceId().getId());
+        assertThat(oldest.get(0).getCurrentSpan()).isEqualTo("world");
+        assertThat(oldest.get(0).getLevel()).isEqualTo(1);
+
+        trace.end(status2);
+        assertThat(oldest.get(0).getCurrentSpan()).isEqualTo("hello");
+
+        trace.end(status1);
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    void oldest() {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 100; i++) {
+            registry.register("id-" + i, now - i);
+        }
+
+        List<InFlightTrace> oldest = registry.oldest(3);
+        assertThat(oldest).extracting(InFlightTrace::getTraceId)
+                .containsExactly("id-99", "id-98", "id-97");
+    }
+
+    @Test
+    void watchdog_reports_once() {
+        long now = System.currentTimeMillis();
+        registry.register("stuck", now - 10_000);
+        registry.register("fresh", now);
+
+        InFlightTraceWatchdog watchdog = new InFlightTraceWatchdog(registry, 5_000, 1_000);
+
+        assertThat(watchdog.check()).isEqualTo(1);
+        assertThat(watchdog.check()).isZero();
+        assertThat(watchdog.getStuckCount()).isEqualTo(1);
+    }
+
+    /**
+     * fork/join 형제 Span 이 같은 InFlightTrace 에 동시에 enter/exit
+     */
+    @Test
+    void concurrent_siblings_enter_and_exit() throws InterruptedException {
+        InFlightTrace trace = new InFlightTrace("id", "main", System.currentTimeMillis());
+        trace.enter(0, "OrderController.request()");
+        trace.enter(1, "OrderService.orderItem()");
+
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                seen.add(String.valueOf(trace.getCurrentSpan()));
+            }
+        });
+        reader.start();
+
+        List<Thread> siblings = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String step = "Step" + t + ".save()";
+            Thread sibling = new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    trace.enter(2, step);
+                    trace.exit(1);
+                }
+            });
+            siblings.add(sibling);
+            sibling.start();
+        }
+        for (Thread sibling : siblings) {
+            sibling.join();
+        }
+        running.set(false);
+        reader.join();
+
+        // 진행 중인 형제 또는 공통 상위 Span 만 보인다.
+        assertThat(seen).isSubsetOf("OrderService.orderItem()",
+                "Step0.save()", "Step1.save()", "Step2.save()", "Step3.save()");
+        assertThat(trace.getLevel()).isEqualTo(1);
+        assertThat(trace.getCurrentSpan()).isEqualTo("OrderService.orderItem()");
+    }
+}
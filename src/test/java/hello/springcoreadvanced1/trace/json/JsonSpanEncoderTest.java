@@ -0,0 +1,103 @@
+package hello.springcoreadvanced1.trace.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springcoreadvanced1.trace.TraceId;
+import hello.springcoreadvanced1.trace.TraceStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link JsonSpanEncoder} Test
+ */
+class JsonSpanEncoderTest {
+    JsonSpanEncoder encoder = new JsonSpanEncoder();
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void encode_ok() throws IOException {
+        TraceId root = new TraceId();
+        TraceId child = root.createNextId();
+
+        JsonNode json = read(encoder.encode(new TraceStatus(child, 1_700_000_000_000L, "OrderRepository.save()"), 12, null));
+
+        assertThat(json.get("traceId").asText()).isEqualTo(root.getId());
+        assertThat(json.get("spanId").asText()).isEqualTo(String.format("%016x", child.getSpanId()));
+        assertThat(json.get("parentSpanId").asText()).isEqualTo(String.format("%016x", root.getSpanId()));
+        assertThat(json.get("level").asInt()).isEqualTo(1);
+        assertThat(json.get("name").asText()).isEqualTo("OrderRepository.save()");
+        assertThat(json.get("startMs").asLong()).isEqualTo(1_700_000_000_000L);
+        assertThat(json.get("durationMs").asLong()).isEqualTo(12);
+        assertThat(json.get("outcome").asText()).isEqualTo("ok");
+        assertThat(json.has("exception")).isFalse();
+    }
+
+    @Test
+    void encode_error() throws IOException {
+        TraceStatus status = new TraceStatus(new TraceId(), 0L, "OrderController.request()");
+
+        JsonNode json = read(encoder.encode(status, 0, new IllegalStateException("예외 발생!")));
+
+        assertThat(json.get("outcome").asText()).isEqualTo("error");
+        assertThat(json.get("exception").asText()).isEqualTo("java.lang.IllegalStateException");
+    }
+
+    @Test
+    void escape_and_utf8() throws IOException {
+        String name = "주문 \"저장\"\\\n\t😀";
+        TraceStatus status = new TraceStatus(new TraceId(), 0L, name);
+
+        assertThat(read(encoder.encode(status, 0, null)).get("name").asText()).isEqualTo(name);
+    }
+
+    @Test
+    void reuse_and_grow_buffer() throws IOException {
+        TraceStatus small = new TraceStatus(new TraceId(), 0L, "small");
+        TraceStatus large = new TraceStatus(new TraceId(), 0L, "x".repeat(2_000));
+
+        SpanBuffer first = encoder.encode(small, 0, null);
+        byte[] array = first.getBytes();
+        assertThat(encoder.encode(small, 0, null).getBytes()).isSameAs(array);
+
+        SpanBuffer grown = encoder.encode(large, 0, null);
+        assertThat(grown).isSameAs(first);
+        assertThat(read(grown).get("name").asText()).hasSize(2_000);
+    }
+
+    @Test
+    void write_long() {
+        SpanBuffer buffer = new SpanBuffer(4);
+        buffer.writeLong(0).writeByte(' ').writeLong(-42).writeByte(' ')
+                .writeLong(Long.MAX_VALUE).writeByte(' ').writeLong(Long.MIN_VALUE);
+
+        assertThat(new String(buffer.getBytes(), 0, buffer.getLength(), StandardCharsets.US_ASCII))
+                .isEqualTo("0 -42 " + Long.MAX_VALUE + " " + Long.MIN_VALUE);
+    }
+
+    private JsonNode read(SpanBuffer buffer) throws IOException {
+        assertThat(buffer.getBytes()[buffer.getLength() - 1]).isEqualTo((byte) '\n');
+        return objectMapper.readTree(buffer.getBytes(), 0, buffer.getLength());
+    }
+    @Test
+    void encode_attributes() throws IOException {
+        TraceStatus status = new TraceStatus(new TraceId(), 0L, "OrderRepository.save()")
+                .tag("itemId", "hello")
+                .tag("quantity", 3)
+                .tag("price", 1.5)
+                .tag("gift", false)
+                .tag("ratio", Double.NaN);
+
+        JsonNode attributes = read(encoder.encode(status, 0, null)).get("attributes");
+
+        assertThat(attributes.get("itemId").asText()).isEqualTo("hello");
+        assertThat(attributes.get("quantity").isLong() || attributes.get("quantity").isInt()).isTrue();
+        assertThat(attributes.get("quantity").asLong()).isEqualTo(3);
+        assertThat(attributes.get("price").asDouble()).isEqualTo(1.5);
+        assertThat(attributes.get("gift").isBoolean()).isTrue();
+        assertThat(attributes.get("ratio").asText()).isEqualTo("NaN");
+    }
+}
@@ -0,0 +1,46 @@
+package hello.springcoreadvanced1.trace.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link OutputStreamSpanAppender} Test
+ */
+class OutputStreamSpanAppenderTest {
+
+    @Test
+    void close_closes_file_target() throws IOException {
+        TrackingStream target = new TrackingStream();
+
+        new OutputStreamSpanAppender(target).close();
+
+        assertThat(target.closed).isTrue();
+    }
+
+    @Test
+    void non_closing_target_is_only_flushed() throws IOException {
+        TrackingStream target = new TrackingStream();
+        OutputStreamSpanAppender appender = new OutputStreamSpanAppender(target, false);
+        byte[] line = "{\"name\":\"span\"}\n".getBytes(StandardCharsets.UTF_8);
+
+        appender.append(line, 0, line.length);
+        appender.close();
+
+        assertThat(target.closed).isFalse();
+        assertThat(target.toString(StandardCharsets.UTF_8)).isEqualTo("{\"name\":\"span\"}\n");
+    }
+
+    static class TrackingStream extends ByteArrayOutputStream {
+        boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package hello.springcoreadvanced1.trace.leak;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.callback.TraceTemplate;
+import hello.springcoreadvanced1.trace.inflight.InFlightTraceRegistry;
+import hello.springcoreadvanced1.trace.logtrace.ThreadLocalLogTrace;
+import hello.springcoreadvanced1.trace.sink.SpanSink;
+import jakarta.servlet.http.HttpServlet;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link TraceLeakGuardFilter} Test
+ */
+class TraceLeakGuardFilterTest {
+    InFlightTraceRegistry registry = new InFlightTraceRegistry();
+    ThreadLocalLogTrace trace = new ThreadLocalLogTrace(new ThreadLocalLogTrace.Options().registry(registry));
+    TraceLeakGuardFilter filter = new TraceLeakGuardFilter(trace);
+
+    @Test
+    void clear_leaked_frames() {
+        trace.begin("hello");
+        trace.begin("world");
+
+        assertThat(trace.clear()).isEqualTo(2);
+        assertThat(trace.clear()).isZero();
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    void null_status_is_ignored() {
+        trace.end(null);
+        trace.exception(null, new IllegalStateException());
+        assertThat(trace.clear()).isZero();
+    }
+
+    /**
+     * 하위 Span 의 begin() 이 실패해 상위 Span 의 end() 까지 건너뛴 요청
+     */
+    @Test
+    void failed_begin_leak_is_cleared() {
+        SpanSink failing = new SpanSink() {
+            @Override
+            public void begin(TraceStatus status) {
+                if (status.getMessage().equals("OrderService.orderItem()")) {
+                    throw new IllegalStateException("sink down");
+                }
+            }
+
+            @Override
+            public void end(TraceStatus status, long resultTimeMs, Exception e) {
+            }
+        };
+        ThreadLocalLogTrace failingTrace = new ThreadLocalLogTrace(new ThreadLocalLogTrace.Options()
+                .registry(registry)
+                .output(failing));
+        TraceLeakGuardFilter guard = new TraceLeakGuardFilter(failingTrace);
+        TraceTemplate template = new TraceTemplate(failingTrace);
+
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+        }, guard, (request, response, next) -> {
+            TraceStatus root = failingTrace.begin("OrderController.request()");
+            template.execute("OrderService.orderItem()", () -> "ok");
+            failingTrace.end(root);
+        });
+
+        assertThatThrownBy(() -> chain.doFilter(new MockHttpServletRequest("GET", "/v3/request"), new MockHttpServletResponse()))
+                .hasMessage("sink down");
+        // 실패한 begin() 은 자기 Level 을 되돌리므로 남은 것은 최상위 Span 하나
+        assertThat(guard.getLeakedRequests()).isEqualTo(1);
+        assertThat(guard.getLeakedFrames()).isEqualTo(1);
+        assertThat(failingTrace.currentTraceId()).isNull();
+        assertThat(registry.size()).isZero();
+    }
+
+    /**
+     * 200개 쓰레드 풀에서 일부 요청이 end() 를 누락해도 다음 요청은 항상 Level 0 에서 시작
+     */
+    @Test
+    void stress_200_threads() throws Exception {
+        int requests = 20_000;
+        LongAdder injectedFrames = new LongAdder();
+        AtomicInteger dirtyStarts = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(200);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                int leak = i % 7 == 0 ? 1 + i % 3 : 0;
+                futures.add(pool.submit(() -> {
+                    request(leak, dirtyStarts);
+                    injectedFrames.add(leak);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(dirtyStarts.get()).isZero();
+        assertThat(filter.getLeakedFrames()).isEqualTo(injectedFrames.sum());
+        assertThat(registry.size()).isZero();
+    }
+
+    private void request(int leak, AtomicInteger dirtyStarts) throws Exception {
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+        }, filter, (request, response, next) -> {
+            TraceStatus root = trace.begin("OrderController.request()");
+            if (root.getTraceId().getLevel() != 0) {
+                dirtyStarts.incrementAndGet();
+            }
+            for (int i = 1; i < leak; i++) {
+                trace.begin("OrderService.orderItem()");
+            }
+            if (leak == 0) {
+                trace.end(root);
+            }
+        });
+
+        chain.doFilter(new MockHttpServletRequest("GET", "/v3/request"), new MockHttpServletResponse());
+    }
+}
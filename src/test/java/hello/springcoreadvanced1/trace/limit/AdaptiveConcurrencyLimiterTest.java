@@ -0,0 +1,94 @@
+package hello.springcoreadvanced1.trace.limit;
+
+import hello.springcoreadvanced1.trace.TraceId;
+import hello.springcoreadvanced1.trace.TraceStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link AdaptiveConcurrencyLimiter} Test
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void reject_over_limit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void latency_increase_shrinks_limit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 1, 200);
+        saturate(limiter);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(50);
+        }
+        int stable = limiter.getLimit();
+
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(500);
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(stable / 2);
+    }
+
+    @Test
+    void grows_back_when_latency_recovers() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 200);
+        saturate(limiter);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(50);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    void does_not_grow_when_under_used() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 200);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(50);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void fast_failure_does_not_reset_base_rtt() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 200);
+        saturate(limiter);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onEnd(root(), 1000, null);
+        }
+        int stable = limiter.getLimit();
+
+        limiter.onEnd(root(), 0, new IllegalStateException("예외 발생!"));
+        for (int i = 0; i < 50; i++) {
+            limiter.onEnd(root(), 1000, null);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(stable);
+    }
+
+    private TraceStatus root() {
+        return new TraceStatus(new TraceId(), System.currentTimeMillis(), "OrderController.request()");
+    }
+
+    private void saturate(AdaptiveConcurrencyLimiter limiter) {
+        while (limiter.tryAcquire()) {
+            // 한도를 모두 사용
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package hello.springcoreadvanced1.trace.logtrace;
+
+import hello.springcoreadvanced1.trace.TraceId;
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.sink.SpanSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static hello.springcoreadvanced1.trace.logtrace.ThreadLocalLogTrace.MDC_TRACE_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThreadLocalLogTraceMdcTest {
+    ThreadLocalLogTrace trace = create(true);
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void sets_trace_id_only_during_root_span() {
+        TraceStatus root = trace.begin("root");
+        String traceId = root.getTraceId().getId();
+        assertThat(MDC.get(MDC_TRACE_ID)).isEqualTo(traceId);
+
+        TraceStatus child = trace.begin("child");
+        assertThat(MDC.get(MDC_TRACE_ID)).isEqualTo(traceId);
+        trace.end(child);
+        assertThat(MDC.get(MDC_TRACE_ID)).isEqualTo(traceId);
+
+        trace.exception(root, new IllegalStateException());
+        assertThat(MDC.get(MDC_TRACE_ID)).isNull();
+    }
+
+    @Test
+    void clear_removes_trace_id() {
+        trace.begin("root");
+        trace.begin("child");
+
+        trace.clear();
+
+        assertThat(MDC.get(MDC_TRACE_ID)).isNull();
+    }
+
+    @Test
+    void attach_sets_and_restores_on_worker_thread() throws Exception {
+        TraceStatus root = trace.begin("root");
+        TraceId parent = trace.currentTraceId();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            String[] seen = CompletableFuture.supplyAsync(() -> {
+                TraceId previous = trace.attach(parent);
+                try {
+                    TraceStatus task = trace.begin("task");
+                    String inTask = MDC.get(MDC_TRACE_ID);
+                    trace.end(task);
+                    return new String[]{inTask, MDC.get(MDC_TRACE_ID)};
+                } finally {
+                    trace.attach(previous);
+                }
+            }, executor).get();
+            String afterTask = CompletableFuture.supplyAsync(() -> MDC.get(MDC_TRACE_ID), executor).get();
+
+            assertThat(seen).containsExactly(parent.getId(), parent.getId());
+            assertThat(afterTask).isNull();
+        } finally {
+            executor.shutdown();
+        }
+
+        trace.end(root);
+        assertThat(MDC.get(MDC_TRACE_ID)).isNull();
+    }
+
+    @Test
+    void disabled_does_not_touch_mdc() {
+        ThreadLocalLogTrace disabled = create(false);
+
+        TraceStatus root = disabled.begin("root");
+        assertThat(MDC.get(MDC_TRACE_ID)).isNull();
+        disabled.end(root);
+    }
+
+    private static ThreadLocalLogTrace create(boolean mdc) {
+        return new ThreadLocalLogTrace(new ThreadLocalLogTrace.Options()
+                .output(SpanSink.NONE)
+                .mdc(mdc));
+    }
+}
@@ -0,0 +1,98 @@
+package hello.springcoreadvanced1.trace.overhead;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.logtrace.ThreadLocalLogTrace;
+import hello.springcoreadvanced1.trace.sink.SpanSink;
+import hello.springcoreadvanced1.trace.span.SpanListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+/**
+ * {@link TracerOverheadRecorder} Test
+ */
+class TracerOverheadRecorderTest {
+
+    @Test
+    void snapshot() {
+        TracerOverheadRecorder recorder = new TracerOverheadRecorder(0.01);
+        recorder.record(50_000, 10);
+        recorder.record(50_000, 10);
+        recorder.record(200_000, 0);
+
+        Map<String, Object> snapshot = recorder.snapshot();
+        assertThat(snapshot.get("count")).isEqualTo(3L);
+        assertThat((double) snapshot.get("p50Micros")).isCloseTo(50, offset(1.0));
+        // 50µs / 10ms = 0.5%
+        assertThat((double) snapshot.get("p50Percent")).isCloseTo(0.5, offset(0.01));
+        // 0ms 요청은 1ms 로 보고 200µs / 1ms = 20%
+        assertThat((double) snapshot.get("maxPercent")).isCloseTo(20, offset(0.5));
+    }
+
+    @Test
+    void stripesAreMergedOnSnapshot() throws InterruptedException {
+        TracerOverheadRecorder recorder = new TracerOverheadRecorder(0.01, 4);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    recorder.record(100_000, 10);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<String, Object> snapshot = recorder.snapshot();
+        assertThat(snapshot.get("count")).isEqualTo(8_000L);
+        assertThat((double) snapshot.get("meanMicros")).isCloseTo(100, offset(0.01));
+        assertThatThrownBy(() -> new TracerOverheadRecorder(0.01, 3)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void emptySnapshot() {
+        assertThat(new TracerOverheadRecorder(0.01).snapshot()).containsOnlyKeys("count");
+    }
+
+    @Test
+    void accumulatePerRootTrace() {
+        // 느린 SpanListener 의 시간은 추적기 비용에 포함된다.
+        SpanListener slow = (status, resultTimeMs, e) -> busy(200_000);
+        TracerOverheadRecorder recorder = new TracerOverheadRecorder(0.01);
+        AtomicLong overheadAtRootEnd = new AtomicLong();
+        SpanListener capture = (status, resultTimeMs, e) -> {
+            if (status.getTraceId().isFirstLevel()) {
+                overheadAtRootEnd.set(status.getTraceId().getInFlight().getOverheadNs());
+            }
+        };
+        ThreadLocalLogTrace trace = new ThreadLocalLogTrace(new ThreadLocalLogTrace.Options()
+                .listeners(List.of(slow, capture))
+                .output(SpanSink.NONE)
+                .overheadRecorder(recorder));
+
+        TraceStatus root = trace.begin("root");
+        TraceStatus child = trace.begin("child");
+        trace.end(child);
+        trace.end(root);
+
+        assertThat(recorder.snapshot().get("count")).isEqualTo(1L);
+        // child 종료 + root 종료의 listener 두 번, 최소 400µs
+        assertThat((double) recorder.snapshot().get("maxMicros")).isGreaterThanOrEqualTo(400 * 0.99);
+        assertThat(overheadAtRootEnd.get()).isGreaterThanOrEqualTo(200_000);
+    }
+
+    private static void busy(long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package hello.springcoreadvanced1.trace.propagation;
+
+import hello.springcoreadvanced1.AdvancedApplication;
+import hello.springcoreadvanced1.trace.TraceId;
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.logtrace.LogTrace;
+import hello.springcoreadvanced1.trace.span.SpanListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 두 인스턴스 사이의 traceparent 전파 Test<br>
+ * - node A 에서 시작한 Trace 가 node B 의 /v5/request 로 끊김 없이 이어지는지 확인
+ */
+class TraceparentPropagationTest {
+    ConfigurableApplicationContext nodeA;
+    ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = start();
+        nodeB = start();
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void trace_continues_across_nodes() {
+        LogTrace traceA = nodeA.getBean(LogTrace.class);
+        RestTemplate restTemplate = nodeA.getBean(RestTemplateBuilder.class).build();
+        int portB = ((ServletWebServerApplicationContext) nodeB).getWebServer().getPort();
+
+        TraceStatus gateway = traceA.begin("Gateway.call()");
+        TraceStatus client = traceA.begin("OrderClient.request()");
+        restTemplate.getForObject("http://localhost:" + portB + "/v5/request?itemId=hop", String.class);
+        traceA.end(client);
+        traceA.end(gateway);
+
+        List<TraceId> spansB = nodeB.getBean(RecordingSpanListener.class).spans;
+        assertThat(spansB).extracting(TraceId::getId).hasSize(3)
+                .containsOnly(gateway.getTraceId().getId());
+
+        // node B: Repository -> Service -> Controller 순으로 종료
+        TraceId controllerB = spansB.get(2);
+        assertThat(controllerB.getParentSpanId()).isEqualTo(client.getTraceId().getSpanId());
+        assertThat(spansB.get(1).getParentSpanId()).isEqualTo(controllerB.getSpanId());
+        assertThat(spansB.get(0).getParentSpanId()).isEqualTo(spansB.get(1).getSpanId());
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(AdvancedApplication.class, RecordingConfig.class)
+                .properties("server.port=0", "order.repository.sleep-ms=0")
+                .run();
+    }
+
+    @Configuration
+    static class RecordingConfig {
+        @Bean
+        RecordingSpanListener recordingSpanListener() {
+            return new RecordingSpanListener();
+        }
+    }
+
+    static class RecordingSpanListener implements SpanListener {
+        final List<TraceId> spans = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onEnd(TraceStatus status, long resultTimeMs, Exception e) {
+            spans.add(status.getTraceId());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package hello.springcoreadvanced1.trace.propagation;
+
+import hello.springcoreadvanced1.trace.TraceId;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link Traceparent} Test
+ */
+class TraceparentTest {
+
+    @Test
+    void parse() {
+        TraceId traceId = Traceparent.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+        assertThat(traceId.getId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(traceId.getParentSpanId()).isEqualTo(0x00f067aa0ba902b7L);
+        assertThat(traceId.getLevel()).isZero();
+    }
+
+    @Test
+    void compact_id_round_trip() {
+        TraceId local = new TraceId();
+
+        String header = Traceparent.format(local);
+        TraceId remote = Traceparent.parse(header);
+
+        assertThat(header).hasSize(55).startsWith("00-000000000000000000000000" + local.getId());
+        assertThat(remote.getId()).isEqualTo(local.getId());
+        assertThat(remote.getParentSpanId()).isEqualTo(local.getSpanId());
+    }
+
+    @Test
+    void invalid() {
+        assertThat(Traceparent.parse(null)).isNull();
+        assertThat(Traceparent.parse("")).isNull();
+        // 대문자
+        assertThat(Traceparent.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01")).isNull();
+        // trace-id 0
+        assertThat(Traceparent.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01")).isNull();
+        // parent-id 0
+        assertThat(Traceparent.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01")).isNull();
+        // version ff
+        assertThat(Traceparent.parse("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01")).isNull();
+        // version 00 뒤에 추가 필드
+        assertThat(Traceparent.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-xx")).isNull();
+        // 이후 버전의 추가 필드는 허용
+        assertThat(Traceparent.parse("01-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-xx")).isNotNull();
+    }
+}
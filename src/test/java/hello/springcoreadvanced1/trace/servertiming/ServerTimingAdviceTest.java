@@ -0,0 +1,65 @@
+package hello.springcoreadvanced1.trace.servertiming;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@link ServerTimingAdvice}, {@link ServerTimingCollector} Test
+ */
+@SpringBootTest(properties = {
+        "trace.server-timing.enabled=true",
+        "order.repository.sleep-ms=10"
+})
+@AutoConfigureMockMvc
+class ServerTimingAdviceTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void server_timing_header() throws Exception {
+        mockMvc.perform(get("/v5/request").param("itemId", "hello"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTimingCollector.HEADER_NAME, matchesPattern(
+                        "OrderRepository\\.save;dur=\\d+, " +
+                                "OrderService\\.orderItem;dur=\\d+, " +
+                                "OrderController\\.request;dur=\\d+"
+                )));
+    }
+
+    @Test
+    void parallel_steps_from_worker_threads() throws Exception {
+        mockMvc.perform(get("/v6/request").param("itemId", "hello"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTimingCollector.HEADER_NAME, allOf(
+                        containsString("InventoryRepository.save;dur="),
+                        containsString("PaymentRepository.save;dur="),
+                        containsString("ShippingRepository.save;dur="),
+                        matchesPattern(".*OrderService\\.orderItem;dur=\\d+, OrderController\\.request;dur=\\d+$")
+                )));
+    }
+
+    @Test
+    void no_header_without_trace() throws Exception {
+        mockMvc.perform(get("/v0/request").param("itemId", "hello"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ServerTimingCollector.HEADER_NAME));
+    }
+
+    @Test
+    void to_token() {
+        assertThat(ServerTimingCollector.toToken("OrderController.request()")).isEqualTo("OrderController.request");
+        assertThat(ServerTimingCollector.toToken("a b,c")).isEqualTo("a_b_c");
+    }
+}
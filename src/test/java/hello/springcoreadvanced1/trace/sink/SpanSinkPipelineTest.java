@@ -0,0 +1,161 @@
+package hello.springcoreadvanced1.trace.sink;
+
+import hello.springcoreadvanced1.trace.TraceId;
+import hello.springcoreadvanced1.trace.TraceStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link SpanSinkPipeline} Test
+ */
+class SpanSinkPipelineTest {
+
+    /**
+     * 받은 Span 이름과 flush 시점을 기록
+     */
+    static class RecordingSink implements SpanSink {
+        final List<String> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void begin(TraceStatus status) {
+            events.add("begin " + status.getMessage());
+        }
+
+        @Override
+        public void end(TraceStatus status, long resultTimeMs, Exception e) {
+            events.add("end " + status.getMessage());
+        }
+
+        @Override
+        public void flush() {
+            events.add("flush");
+        }
+    }
+
+    private static TraceStatus status(String message) {
+        return new TraceStatus(new TraceId(), System.currentTimeMillis(), message);
+    }
+
+    @Test
+    void asyncDeliveryInBatches() throws InterruptedException {
+        RecordingSink sink = new RecordingSink();
+        AsyncSpanSink async = new AsyncSpanSink("recording", sink, 100, 10);
+        SpanSinkPipeline pipeline = new SpanSinkPipeline(Map.of(), List.of(async));
+
+        for (int i = 0; i < 5; i++) {
+            TraceStatus status = status("span" + i);
+            pipeline.onBegin(status);
+            pipeline.onEnd(status, 1, null);
+        }
+        // 쓰레드 시작 전에 쌓인 10개가 한 묶음으로 전달된다.
+        pipeline.start();
+        pipeline.stop();
+
+        assertThat(sink.events).hasSize(11).endsWith("end span4", "flush");
+        assertThat(async.getDelivered()).isEqualTo(10);
+    }
+
+    @Test
+    void failingSinkIsIsolated() throws InterruptedException {
+        SpanSink failing = (status, resultTimeMs, e) -> {
+            throw new IllegalStateException("sink down");
+        };
+        RecordingSink sync = new RecordingSink();
+        RecordingSink other = new RecordingSink();
+        AsyncSpanSink failingAsync = new AsyncSpanSink("failing", failing, 100, 10);
+        SpanSinkPipeline pipeline = new SpanSinkPipeline(
+                Map.of("sync", sync, "failing-sync", failing),
+                List.of(failingAsync, new AsyncSpanSink("other", other, 100, 10))
+        );
+        pipeline.start();
+
+        pipeline.onEnd(status("a"), 1, null);
+        pipeline.onEnd(status("b"), 1, null);
+        pipeline.stop();
+
+        assertThat(sync.events).containsExactly("end a", "flush", "end b", "flush");
+        assertThat(other.events).contains("end a", "end b");
+        assertThat(failingAsync.getFailures()).isEqualTo(2);
+    }
+
+    @Test
+    void slowSinkDoesNotBlock() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        SpanSink slow = (status, resultTimeMs, e) -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        AsyncSpanSink async = new AsyncSpanSink("slow", slow, 2, 1);
+        SpanSinkPipeline pipeline = new SpanSinkPipeline(Map.of(), List.of(async));
+        pipeline.start();
+
+        long startNs = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            pipeline.onEnd(status("span"), 1, null);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+        release.countDown();
+        pipeline.stop();
+
+        assertThat(elapsedMs).isLessThan(1000);
+        assertThat(async.getDropped()).isGreaterThanOrEqualTo(97);
+    }
+
+    @Test
+    void asyncSinksReceiveSnapshots() throws InterruptedException {
+        List<String> received = new CopyOnWriteArrayList<>();
+        SpanSink capture = new SpanSink() {
+            @Override
+            public void begin(TraceStatus status) {
+                received.add("begin " + status.getAttributes());
+            }
+
+            @Override
+            public void end(TraceStatus status, long resultTimeMs, Exception e) {
+                received.add("end" + status.getAttributes());
+            }
+        };
+        AsyncSpanSink async = new AsyncSpanSink("capture", capture, 100, 10);
+        SpanSinkPipeline pipeline = new SpanSinkPipeline(Map.of(), List.of(async));
+
+        TraceStatus status = status("span").tag("itemId", "a");
+        pipeline.onBegin(status);
+        status.tag("qty", 1L);
+        pipeline.onEnd(status, 1, null);
+        // 종료 뒤에 붙인 속성은 전달되지 않는다.
+        status.tag("late", true);
+        pipeline.start();
+        pipeline.stop();
+
+        assertThat(received).containsExactly("begin null", "end itemId=a qty=1");
+    }
+
+    @Test
+    void metricsAndMemorySinks() {
+        MetricsSpanSink metrics = new MetricsSpanSink(10);
+        MemorySpanSink memory = new MemorySpanSink(2);
+        SpanSinkPipeline pipeline = new SpanSinkPipeline(Map.of("metrics", metrics, "memory", memory), List.of());
+
+        pipeline.onEnd(status("a"), 10, null);
+        pipeline.onEnd(status("a"), 30, new IllegalStateException());
+        pipeline.onEnd(status("b"), 5, null);
+
+        MetricsSpanSink.SpanMetrics a = pipeline.find(MetricsSpanSink.class).orElseThrow().snapshot().get("a");
+        assertThat(a.getCount()).isEqualTo(2);
+        assertThat(a.getErrors()).isEqualTo(1);
+        assertThat(a.getTotalMs()).isEqualTo(40);
+        assertThat(a.getMaxMs()).isEqualTo(30);
+
+        assertThat(memory.recent(10)).extracting(MemorySpanSink.SpanSummary::getName).containsExactly("b", "a");
+    }
+}
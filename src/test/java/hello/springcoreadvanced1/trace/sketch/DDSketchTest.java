@@ -0,0 +1,188 @@
+package hello.springcoreadvanced1.trace.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * {@link DDSketch}, {@link SketchSnapshot} Test
+ */
+class DDSketchTest {
+    static final double ACCURACY = 0.01;
+    static final double[] QUANTILES = {0.0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 0.999, 1.0};
+
+    @Test
+    void relative_accuracy() {
+        double[] values = logNormal(100_000, 1);
+        DDSketch sketch = new DDSketch(ACCURACY, 2048);
+        for (double value : values) {
+            sketch.add(value);
+        }
+
+        Arrays.sort(values);
+        for (double q : QUANTILES) {
+            double exact = values[(int) (q * (values.length - 1))];
+            assertThat(sketch.quantile(q)).as("q = %s", q).isCloseTo(exact, within(exact * ACCURACY));
+        }
+        assertThat(sketch.getCount()).isEqualTo(values.length);
+    }
+
+    @Test
+    void merge_equals_single_sketch() {
+        DDSketch single = new DDSketch(ACCURACY, 2048);
+        List<DDSketch> nodes = new ArrayList<>();
+        for (int node = 0; node < 10; node++) {
+            DDSketch sketch = new DDSketch(ACCURACY, 2048);
+            // 노드마다 분포가 다름
+            for (double value : logNormal(10_000, node)) {
+                sketch.add(value);
+                single.add(value);
+            }
+            nodes.add(sketch);
+        }
+
+        DDSketch merged = new DDSketch(ACCURACY, 2048);
+        nodes.forEach(merged::merge);
+
+        assertThat(merged.getCount()).isEqualTo(single.getCount());
+        assertThat(merged.getBinCount()).isEqualTo(single.getBinCount());
+        for (double q : QUANTILES) {
+            assertThat(merged.quantile(q)).isEqualTo(single.quantile(q));
+        }
+    }
+
+    @Test
+    void bounded_bins_keep_upper_quantiles() {
+        // 1% 오차의 128 구간 = 최댓값부터 약 12.7 배 범위, p99 는 이 안에 있다.
+        DDSketch sketch = new DDSketch(ACCURACY, 128);
+        double[] values = logNormal(50_000, 2);
+        for (double value : values) {
+            sketch.add(value);
+        }
+
+        assertThat(sketch.getBinCount()).isLessThanOrEqualTo(128);
+        Arrays.sort(values);
+        double exact = values[(int) (0.99 * (values.length - 1))];
+        assertThat(sketch.quantile(0.99)).isCloseTo(exact, within(exact * ACCURACY));
+    }
+
+    @Test
+    void zero_and_empty() {
+        DDSketch sketch = new DDSketch(ACCURACY, 2048);
+        assertThat(sketch.quantile(0.5)).isNaN();
+
+        sketch.add(0);
+        sketch.add(0);
+        sketch.add(100);
+        assertThat(sketch.quantile(0.5)).isZero();
+        assertThat(sketch.quantile(1.0)).isCloseTo(100, within(100 * ACCURACY));
+    }
+
+    @Test
+    void merge_rejects_different_accuracy() {
+        assertThatThrownBy(() -> new DDSketch(0.01, 2048).merge(new DDSketch(0.02, 2048)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void serialization_round_trip() {
+        DDSketch sketch = new DDSketch(ACCURACY, 2048);
+        for (double value : logNormal(10_000, 3)) {
+            sketch.add(Math.round(value));
+        }
+
+        byte[] bytes = sketch.toBytes();
+        DDSketch decoded = DDSketch.fromBytes(bytes);
+
+        for (double q : QUANTILES) {
+            assertThat(decoded.quantile(q)).isEqualTo(sketch.quantile(q));
+        }
+        assertThat(decoded.getCount()).isEqualTo(sketch.getCount());
+        // 구간당 1~3 byte
+        assertThat(bytes.length).isLessThan(64 + sketch.getBinCount() * 3);
+
+        assertThatThrownBy(() -> DDSketch.fromBytes(Arrays.copyOf(bytes, bytes.length / 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void corrupt_header_is_rejected_before_allocation() {
+        // maxBins 가 상한을 넘는 경우
+        assertThatThrownBy(() -> DDSketch.fromBytes(header(Integer.MAX_VALUE, 0)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("maxBins");
+        // 구간 수가 남은 byte 수보다 많은 경우
+        assertThatThrownBy(() -> DDSketch.fromBytes(header(DDSketch.MAX_BINS_LIMIT, DDSketch.MAX_BINS_LIMIT)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("잘렸습니다");
+        assertThatThrownBy(() -> new DDSketch(ACCURACY, DDSketch.MAX_BINS_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new DDSketch(Double.NaN, 16))
+                .isInstanceOf(IllegalArgumentException.class);
+        // Span 수만 있고 내용이 없는 Snapshot
+        assertThatThrownBy(() -> SketchSnapshot.decode(new byte[]{5}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 빈 Sketch 의 머리 부분, counts 는 쓰지 않는다.
+     */
+    private static byte[] header(long maxBins, long bins) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(1);
+        out.writeBytes(ByteBuffer.allocate(8).putDouble(ACCURACY).array());
+        DDSketch.writeVarLong(out, maxBins);
+        DDSketch.writeVarLong(out, 0);
+        DDSketch.writeVarLong(out, 0);
+        out.writeBytes(new byte[8 * 3]);
+        DDSketch.writeVarLong(out, 0);
+        DDSketch.writeVarLong(out, bins);
+        return out.toByteArray();
+    }
+
+    @Test
+    void snapshot_merge_size_independent_of_nodes() {
+        List<byte[]> snapshots = new ArrayList<>();
+        for (int node = 0; node < 200; node++) {
+            DDSketch repository = new DDSketch(ACCURACY, 2048);
+            DDSketch controller = new DDSketch(ACCURACY, 2048);
+            for (double value : logNormal(1_000, node)) {
+                repository.add(value);
+                controller.add(value + 1);
+            }
+            snapshots.add(SketchSnapshot.encode(Map.of(
+                    "OrderRepository.save()", repository,
+                    "OrderController.request()", controller
+            )));
+        }
+
+        Map<String, DDSketch> merged = SketchSnapshot.merge(snapshots);
+
+        assertThat(merged).containsOnlyKeys("OrderRepository.save()", "OrderController.request()");
+        assertThat(merged.get("OrderRepository.save()").getCount()).isEqualTo(200_000);
+        int largestNode = snapshots.stream().mapToInt(bytes -> bytes.length).max().orElseThrow();
+        assertThat(SketchSnapshot.encode(merged).length).isLessThan(largestNode * 3);
+    }
+
+    /**
+     * 중앙값 약 50ms 의 지연 시간 분포
+     */
+    private double[] logNormal(int size, long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = Math.exp(Math.log(50) + random.nextGaussian());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,85 @@
+package hello.springcoreadvanced1.trace.toggle;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.inflight.InFlightTraceRegistry;
+import hello.springcoreadvanced1.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@link TraceToggles}, {@link TraceDecisionTable} Test
+ */
+class TraceTogglesTest {
+    TraceToggles toggles = TraceToggles.allEnabled();
+
+    @Test
+    void longest_pattern_wins() {
+        toggles.setMode("*", "END_ONLY");
+        toggles.setMode("OrderRepository.*", "OFF");
+        toggles.setMode("OrderRepository.save()", "FULL");
+
+        assertThat(toggles.modeOf("OrderRepository.save()")).isEqualTo(TraceMode.FULL);
+        assertThat(toggles.modeOf("OrderRepository.find()")).isEqualTo(TraceMode.OFF);
+        assertThat(toggles.modeOf("OrderService.orderItem()")).isEqualTo(TraceMode.END_ONLY);
+
+        toggles.removeMode("OrderRepository.save()");
+        assertThat(toggles.modeOf("OrderRepository.save()")).isEqualTo(TraceMode.OFF);
+    }
+
+    @Test
+    void disabled_span_skips_trace() {
+        InFlightTraceRegistry registry = new InFlightTraceRegistry();
+        ThreadLocalLogTrace trace = new ThreadLocalLogTrace(new ThreadLocalLogTrace.Options()
+                .registry(registry)
+                .toggles(toggles));
+        toggles.setMode("OrderRepository.*", "off");
+
+        TraceStatus controller = trace.begin("OrderController.request()");
+        TraceStatus repository = trace.begin("OrderRepository.save()");
+        TraceStatus nested = trace.begin("Nested.call()");
+
+        assertThat(repository.isDisabled()).isTrue();
+        assertThat(nested.getTraceId().getLevel()).isEqualTo(1);
+
+        trace.end(nested);
+        trace.end(repository);
+        trace.end(controller);
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    void invalid_mode_is_rejected() {
+        assertThatThrownBy(() -> toggles.setMode("OrderRepository.*", "SILENT"))
+                .isInstanceOf(InvalidTraceToggleException.class)
+                .hasMessageContaining("END_ONLY");
+        assertThatThrownBy(() -> toggles.setMode("OrderRepository.*", null))
+                .isInstanceOf(InvalidTraceToggleException.class);
+        assertThatThrownBy(() -> toggles.setMode(" ", "OFF"))
+                .isInstanceOf(InvalidTraceToggleException.class);
+        assertThatThrownBy(() -> toggles.reset("none"))
+                .isInstanceOf(InvalidTraceToggleException.class);
+
+        assertThat(toggles.getRules()).isEmpty();
+        assertThat(toggles.getDefaultMode()).isEqualTo("FULL");
+    }
+
+    @Test
+    void invalid_mode_returns_bad_request() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new TraceToggleController(toggles)).build();
+
+        mockMvc.perform(put("/trace/toggles").param("pattern", "OrderRepository.*").param("mode", "SILENT"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/trace/toggles").param("pattern", "OrderRepository.*"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/trace/toggles").param("pattern", "OrderRepository.*").param("mode", "off"))
+                .andExpect(status().isOk());
+        assertThat(toggles.modeOf("OrderRepository.save()")).isEqualTo(TraceMode.OFF);
+    }
+}
@@ -0,0 +1,70 @@
+package hello.springcoreadvanced1.trace.topk;
+
+import hello.springcoreadvanced1.trace.TraceId;
+import hello.springcoreadvanced1.trace.TraceStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link HeavyHitterTracker} Test
+ */
+class HeavyHitterTrackerTest {
+    static final long WINDOW_MS = 1_000;
+
+    HeavyHitterTracker tracker = new HeavyHitterTracker(List.of("itemId"), 8, WINDOW_MS, 3, 2);
+
+    @Test
+    void top_by_metric() {
+        for (int i = 0; i < 10; i++) {
+            request(0, "hello", 1, null);
+        }
+        request(0, "slow", 500, null);
+        request(0, "broken", 1, new IllegalStateException());
+        request(0, "broken", 1, new IllegalStateException());
+
+        assertThat(keys(top("itemId", HeavyHitterTracker.Metric.COUNT, 0))).startsWith("hello", "broken");
+        assertThat(keys(top("itemId", HeavyHitterTracker.Metric.TIME, 0))).startsWith("slow");
+        assertThat(keys(top("itemId", HeavyHitterTracker.Metric.ERRORS, 0))).containsExactly("broken");
+    }
+
+    @Test
+    void attributes_counted_once_per_request() {
+        TraceId root = new TraceId();
+        TraceStatus child = new TraceStatus(root.createNextId(), 0L, "OrderRepository.save()").tag("itemId", "hello");
+        tracker.record(0, child, 1, null);
+        tracker.record(0, new TraceStatus(root, 0L, "OrderController.request()").tag("itemId", "hello"), 1, null);
+
+        assertThat(top("itemId", HeavyHitterTracker.Metric.COUNT, 0).get(0).getCount()).isEqualTo(1);
+        assertThat(keys(top(HeavyHitterTracker.SPAN_DIMENSION, HeavyHitterTracker.Metric.COUNT, 0)))
+                .containsExactlyInAnyOrder("OrderRepository.save()", "OrderController.request()");
+    }
+
+    @Test
+    void sliding_window() {
+        request(0, "old", 1, null);
+        request(2 * WINDOW_MS, "new", 1, null);
+
+        assertThat(keys(top("itemId", HeavyHitterTracker.Metric.COUNT, 2 * WINDOW_MS))).containsExactlyInAnyOrder("new", "old");
+        assertThat(keys(top("itemId", HeavyHitterTracker.Metric.COUNT, 3 * WINDOW_MS))).containsExactly("new");
+
+        // 같은 구간 자리를 다시 쓰면 이전 값은 사라진다.
+        request(4 * WINDOW_MS, "newer", 1, null);
+        assertThat(keys(top("itemId", HeavyHitterTracker.Metric.COUNT, 4 * WINDOW_MS))).containsExactlyInAnyOrder("new", "newer");
+    }
+
+    private void request(long nowMs, String itemId, long resultTimeMs, Exception e) {
+        TraceStatus status = new TraceStatus(new TraceId(), nowMs, "OrderController.request()").tag("itemId", itemId);
+        tracker.record(nowMs, status, resultTimeMs, e);
+    }
+
+    private List<SpaceSaving.Entry> top(String dimension, HeavyHitterTracker.Metric metric, long nowMs) {
+        return tracker.top(nowMs, tracker.getDimensions().indexOf(dimension), metric, 10);
+    }
+
+    private List<String> keys(List<SpaceSaving.Entry> entries) {
+        return entries.stream().map(SpaceSaving.Entry::getKey).toList();
+    }
+}
@@ -0,0 +1,78 @@
+package hello.springcoreadvanced1.trace.topk;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * {@link SpaceSaving} Test
+ */
+class SpaceSavingTest {
+
+    @Test
+    void exact_under_capacity() {
+        SpaceSaving sketch = new SpaceSaving(4);
+        sketch.add("a", 3);
+        sketch.add("b", 1);
+        sketch.add("a", 2);
+
+        assertThat(sketch.entries())
+                .extracting(SpaceSaving.Entry::getKey, SpaceSaving.Entry::getCount, SpaceSaving.Entry::getError)
+                .containsExactlyInAnyOrder(
+                        tuple("a", 5L, 0L),
+                        tuple("b", 1L, 0L)
+                );
+    }
+
+    @Test
+    void heavy_key_survives_unequal_weights() {
+        SpaceSaving sketch = new SpaceSaving(3);
+        sketch.add("heavy", 100);
+        sketch.add("b", 1);
+        sketch.add("c", 1);
+        sketch.add("new", 1);
+
+        assertThat(sketch.entries())
+                .extracting(SpaceSaving.Entry::getKey, SpaceSaving.Entry::getCount, SpaceSaving.Entry::getError)
+                .contains(tuple("heavy", 100L, 0L), tuple("new", 2L, 1L));
+    }
+
+    @Test
+    void heavy_hitters_within_error_bound() {
+        SpaceSaving sketch = new SpaceSaving(32);
+        Map<String, Long> actual = new HashMap<>();
+        Random random = new Random(42);
+
+        // 5개의 인기 상품 + 10,000 개의 드문 상품
+        long total = 0;
+        for (int i = 0; i < 200_000; i++) {
+            String key = random.nextDouble() < 0.5
+                    ? "hot-" + random.nextInt(5)
+                    : "item-" + random.nextInt(10_000);
+            long weight = 1 + random.nextInt(3);
+            sketch.add(key, weight);
+            actual.merge(key, weight, Long::sum);
+            total += weight;
+        }
+
+        List<SpaceSaving.Entry> entries = sketch.entries();
+        assertThat(entries).hasSize(32);
+
+        for (int i = 0; i < 5; i++) {
+            String hot = "hot-" + i;
+            assertThat(entries).anySatisfy(entry -> assertThat(entry.getKey()).isEqualTo(hot));
+        }
+        for (SpaceSaving.Entry entry : entries) {
+            long real = actual.get(entry.getKey());
+            assertThat(entry.getCount()).isGreaterThanOrEqualTo(real);
+            assertThat(entry.getCount() - entry.getError()).isLessThanOrEqualTo(real);
+            assertThat(entry.getError()).isLessThanOrEqualTo(total / 32);
+        }
+    }
+}
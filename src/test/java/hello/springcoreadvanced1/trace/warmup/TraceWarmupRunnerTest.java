@@ -0,0 +1,126 @@
+package hello.springcoreadvanced1.trace.warmup;
+
+import hello.springcoreadvanced1.trace.TraceStatus;
+import hello.springcoreadvanced1.trace.callback.TraceTask;
+import hello.springcoreadvanced1.trace.callback.TraceTemplate;
+import hello.springcoreadvanced1.trace.logtrace.ThreadLocalLogTrace;
+import hello.springcoreadvanced1.trace.sink.SpanSink;
+import hello.springcoreadvanced1.trace.span.SpanListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceWarmupRunnerTest {
+    ThreadLocalLogTrace trace = new ThreadLocalLogTrace();
+    TraceTemplate template = new TraceTemplate(trace);
+    List<String> events = new ArrayList<>();
+
+    @Test
+    void calls_each_version_iterations_times() {
+        List<String> itemIds = new ArrayList<>();
+        Map<String, Consumer<String>> targets = new LinkedHashMap<>();
+        targets.put("v3", itemId -> {
+            TraceStatus status = trace.begin("OrderController.request()");
+            itemIds.add(itemId);
+            if (itemId.equals("ex")) {
+                IllegalStateException e = new IllegalStateException("예외 발생!");
+                trace.exception(status, e);
+                throw e;
+            }
+            trace.end(status);
+        });
+        targets.put("v5", itemId -> template.execute("OrderController.request()", () -> itemId));
+
+        TraceWarmupRunner runner = runner(targets, 32, 10_000);
+        runner.warmup();
+
+        assertThat(runner.getState()).isEqualTo(TraceWarmupRunner.State.DONE);
+        assertThat(runner.getCalls()).isEqualTo(64);
+        assertThat(runner.getFailures()).isZero();
+        assertThat(itemIds).hasSize(32).containsOnly(TraceWarmupRunner.ITEM_ID, "ex");
+        assertThat(itemIds).filteredOn("ex"::equals).hasSize(32 / TraceWarmupRunner.EXCEPTION_EVERY);
+        assertThat(events).containsExactly("suspend", "resume");
+        assertThat(trace.currentTraceId()).isNull();
+    }
+
+    @Test
+    void unexpected_exceptions_count_as_failures() {
+        TraceWarmupRunner runner = runner(Map.of("v0", itemId -> {
+            throw new IllegalArgumentException("broken");
+        }), 4, 10_000);
+
+        runner.warmup();
+
+        assertThat(runner.getState()).isEqualTo(TraceWarmupRunner.State.DONE);
+        assertThat(runner.getFailures()).isEqualTo(4);
+        assertThat(events).containsExactly("suspend", "resume");
+    }
+
+    @Test
+    void stops_on_timeout_and_resumes_repository() {
+        TraceWarmupRunner runner = runner(Map.of("v0", itemId -> {
+        }), 1_000_000, 0);
+
+        runner.warmup();
+
+        assertThat(runner.getState()).isEqualTo(TraceWarmupRunner.State.TIMED_OUT);
+        assertThat(runner.getCalls()).isLessThan(1_000_000);
+        assertThat(events).containsExactly("suspend", "resume");
+        assertThat(runner.report()).containsEntry("state", TraceWarmupRunner.State.TIMED_OUT);
+    }
+
+    @Test
+    void synthetic_spans_skip_listeners_and_sinks() {
+        List<String> ended = new CopyOnWriteArrayList<>();
+        List<String> logged = new CopyOnWriteArrayList<>();
+        SpanListener listener = new SpanListener() {
+            @Override
+            public void onEnd(TraceStatus status, long resultTimeMs, Exception e) {
+                ended.add(status.getMessage());
+            }
+        };
+        SpanSink sink = (status, resultTimeMs, e) -> logged.add(status.getMessage());
+        ThreadLocalLogTrace observed = new ThreadLocalLogTrace(new ThreadLocalLogTrace.Options()
+                .listeners(List.of(listener))
+                .output(sink));
+        TraceTemplate observedTemplate = new TraceTemplate(observed);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        Consumer<String> request = itemId -> observedTemplate.execute("OrderService.orderItem()",
+                () -> observedTemplate.executeAll(executor, List.of(
+                        TraceTask.of("InventoryRepository.save()", () -> {
+                            if (itemId.equals("ex")) {
+                                throw new IllegalStateException("예외 발생!");
+                            }
+                            return null;
+                        }),
+                        TraceTask.of("PaymentRepository.save()", () -> null)
+                )));
+        try {
+            runner(Map.of("v6", request), 32, 10_000).warmup();
+            assertThat(ended).isEmpty();
+            assertThat(logged).isEmpty();
+
+            request.accept("hello");
+            assertThat(ended).contains("OrderService.orderItem()", "InventoryRepository.save()");
+            assertThat(logged).isNotEmpty();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(WarmupHolder.isActive()).isFalse();
+    }
+
+    private TraceWarmupRunner runner(Map<String, Consumer<String>> targets, int iterations, long maxMs) {
+        return new TraceWarmupRunner(targets, iterations, maxMs,
+                () -> events.add("suspend"), () -> events.add("resume"));
+    }
+}
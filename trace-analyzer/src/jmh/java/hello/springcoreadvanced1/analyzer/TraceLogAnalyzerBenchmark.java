@@ -0,0 +1,96 @@
+package hello.springcoreadvanced1.analyzer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 분석 처리량, 점수 1 = 1MB/s<br>
+ * - 64MB 짜리 합성 로그 (동시 요청 32개가 섞인 3 Level Trace)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TraceLogAnalyzerBenchmark {
+    private static final int FILE_MB = 64;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private Path file;
+    private TraceLogAnalyzer analyzer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("trace-analyzer", ".log");
+        write(file, FILE_MB * 1024L * 1024L);
+        analyzer = new TraceLogAnalyzer(TraceLogAnalyzer.Options.parse(new String[]{"--threads=" + threads}));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILE_MB)
+    public TraceAssembler analyze() throws Exception {
+        return analyzer.analyze(List.of(file));
+    }
+
+    private static void write(Path file, long bytes) throws IOException {
+        String prefix = "2023-03-01T10:00:00.000+09:00  INFO 1 --- [nio-8080-exec-1] h.s.t.l.ThreadLocalLogTrace              : ";
+        String[] names = {"OrderControllerV3.request()", "OrderServiceV3.orderItem()", "OrderRepositoryV3.save()"};
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long written = 0;
+        int traces = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            while (written < bytes) {
+                // 32개 Trace 를 Level 단위로 섞어서 기록
+                String[] ids = new String[32];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = String.format("%08x", traces++);
+                }
+                StringBuilder block = new StringBuilder();
+                for (int level = 0; level < names.length; level++) {
+                    for (String id : ids) {
+                        block.append(prefix).append('[').append(id).append("] ").append(begin(level)).append(names[level]).append('\n');
+                    }
+                }
+                for (int level = names.length - 1; level >= 0; level--) {
+                    for (String id : ids) {
+                        block.append(prefix).append('[').append(id).append("] ").append(end(level)).append(names[level])
+                                .append(" time = ").append(random.nextInt(1000 - level * 300)).append("ms\n");
+                    }
+                }
+                writer.write(block.toString());
+                written += block.length();
+            }
+        }
+    }
+
+    private static String begin(int level) {
+        return level == 0 ? "" : "|   ".repeat(level - 1) + "|-->";
+    }
+
+    private static String end(int level) {
+        return level == 0 ? "" : "|   ".repeat(level - 1) + "|<--";
+    }
+}
@@ -0,0 +1,72 @@
+package hello.springcoreadvanced1.analyzer;
+
+/**
+ * ms 단위 시간 Histogram (log-linear)<br>
+ * - 0 ~ 127ms 는 1ms 단위, 이후는 2의 거듭제곱 구간마다 64 개로 나눠 상대 오차 1/64 이내<br>
+ * - 크기 고정 (약 30KB), 값의 개수와 무관
+ */
+public class MillisHistogram {
+    private static final int LINEAR = 128;
+    private static final int SUB_BUCKETS = 64;
+    private static final int SUB_BITS = 6;
+
+    private final long[] counts = new long[LINEAR + (63 - 7) * SUB_BUCKETS];
+    private long count;
+    private long max;
+
+    public void add(long valueMs) {
+        long value = Math.max(0, valueMs);
+        counts[bucketOf(value)]++;
+        count++;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * @param q 0 ~ 1
+     * @return 분위수, 비어 있으면 0
+     */
+    public long quantile(double q) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) (q * (count - 1));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative > rank) {
+                return Math.min(valueOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR + (exponent - 7) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * @return 구간의 중앙값
+     */
+    static long valueOf(int bucket) {
+        if (bucket < LINEAR) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR) / SUB_BUCKETS + 7;
+        int sub = (bucket - LINEAR) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BITS);
+        return ((SUB_BUCKETS + sub) * width) + width / 2;
+    }
+}
@@ -0,0 +1,26 @@
+package hello.springcoreadvanced1.analyzer;
+
+/**
+ * 로그 한 줄에서 읽은 Span 시작/종료
+ */
+public class SpanEvent {
+    final String traceId;
+    final int level;
+    final boolean end;
+    final boolean error;
+    final String name;
+
+    /**
+     * 종료 줄의 time = Nms, 시작 줄은 0
+     */
+    final long timeMs;
+
+    SpanEvent(String traceId, int level, boolean end, boolean error, String name, long timeMs) {
+        this.traceId = traceId;
+        this.level = level;
+        this.end = end;
+        this.error = error;
+        this.name = name;
+        this.timeMs = timeMs;
+    }
+}
@@ -0,0 +1,35 @@
+package hello.springcoreadvanced1.analyzer;
+
+/**
+ * Span 이름별 통계
+ */
+public class SpanStats {
+    final String name;
+    final MillisHistogram inclusive = new MillisHistogram();
+
+    /**
+     * 하위 Span 시간을 뺀 자기 시간
+     */
+    final MillisHistogram self = new MillisHistogram();
+    long errors;
+
+    SpanStats(String name) {
+        this.name = name;
+    }
+
+    void add(long inclusiveMs, long selfMs, boolean error) {
+        inclusive.add(inclusiveMs);
+        self.add(selfMs);
+        if (error) {
+            errors++;
+        }
+    }
+
+    long count() {
+        return inclusive.getCount();
+    }
+
+    double errorRate() {
+        return count() == 0 ? 0 : (double) errors / count();
+    }
+}
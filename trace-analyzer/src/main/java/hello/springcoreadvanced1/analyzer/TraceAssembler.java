@@ -0,0 +1,141 @@
+package hello.springcoreadvanced1.analyzer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Trace ID 별로 섞여 있는 Span 시작/종료를 모아 통계 집계<br>
+ * - 자기 시간 = 종료 시간 - 그 사이 끝난 바로 아래 Level Span 시간의 합 (시작 줄이 없어도 계산 가능)<br>
+ * - Level 0 이 끝나면 Trace 를 지우고, 끝나지 않은 Trace 는 maxOpenTraces 를 넘을 때 오래된 것부터 버린다.<br>
+ * - 한 쓰레드에서 파일 순서대로 호출해야 한다.
+ */
+public class TraceAssembler {
+    private final int topTraces;
+    private final Map<String, SpanStats> stats = new HashMap<>();
+    private final PriorityQueue<SlowTrace> slowest = new PriorityQueue<>(Comparator.comparingLong(SlowTrace::timeMs));
+    private final Map<String, OpenTrace> open;
+
+    private long completedTraces;
+    private long evictedTraces;
+
+    /**
+     * @param maxOpenTraces 동시에 보관할 끝나지 않은 Trace 수
+     * @param topTraces     보관할 가장 느린 Trace 수
+     */
+    public TraceAssembler(int maxOpenTraces, int topTraces) {
+        this.topTraces = topTraces;
+        this.open = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, OpenTrace> eldest) {
+                if (size() > maxOpenTraces) {
+                    evictedTraces++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public void accept(List<SpanEvent> events) {
+        for (SpanEvent event : events) {
+            accept(event);
+        }
+    }
+
+    public void accept(SpanEvent event) {
+        OpenTrace trace = open.computeIfAbsent(event.traceId, id -> new OpenTrace());
+        int level = event.level;
+        if (!event.end) {
+            trace.childTime(level)[level] = 0;
+            return;
+        }
+
+        long[] childTime = trace.childTime(level);
+        long selfMs = Math.max(0, event.timeMs - childTime[level]);
+        childTime[level] = 0;
+        stats.computeIfAbsent(event.name, SpanStats::new).add(event.timeMs, selfMs, event.error);
+
+        if (level > 0) {
+            childTime[level - 1] += event.timeMs;
+            return;
+        }
+
+        open.remove(event.traceId);
+        completedTraces++;
+        slowest.offer(new SlowTrace(event.traceId, event.name, event.timeMs, event.error));
+        if (slowest.size() > topTraces) {
+            slowest.poll();
+        }
+    }
+
+    /**
+     * @return 호출 수가 많은 순서
+     */
+    public List<SpanStats> getStats() {
+        List<SpanStats> result = new ArrayList<>(stats.values());
+        result.sort(Comparator.comparingLong(SpanStats::count).reversed().thenComparing(s -> s.name));
+        return result;
+    }
+
+    /**
+     * @return 느린 순서
+     */
+    public List<SlowTrace> getSlowest() {
+        List<SlowTrace> result = new ArrayList<>(slowest);
+        result.sort(Comparator.comparingLong(SlowTrace::timeMs).reversed());
+        return result;
+    }
+
+    public long getCompletedTraces() {
+        return completedTraces;
+    }
+
+    public long getEvictedTraces() {
+        return evictedTraces;
+    }
+
+    /**
+     * @return 아직 끝나지 않은 Trace 수
+     */
+    public int getOpenTraces() {
+        return open.size();
+    }
+
+    public static class SlowTrace {
+        final String traceId;
+        final String name;
+        final long timeMs;
+        final boolean error;
+
+        SlowTrace(String traceId, String name, long timeMs, boolean error) {
+            this.traceId = traceId;
+            this.name = name;
+            this.timeMs = timeMs;
+            this.error = error;
+        }
+
+        long timeMs() {
+            return timeMs;
+        }
+    }
+
+    /**
+     * 끝나지 않은 Trace, Level 별로 끝난 하위 Span 시간의 합
+     */
+    private static class OpenTrace {
+        private long[] childTime = new long[8];
+
+        private long[] childTime(int level) {
+            if (level >= childTime.length) {
+                childTime = Arrays.copyOf(childTime, Math.max(level + 1, childTime.length * 2));
+            }
+            return childTime;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package hello.springcoreadvanced1.analyzer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ThreadLocalLogTrace 로그 줄을 바이트 단위로 해석<br>
+ * - 로그 Pattern 의 " : [" 뒤, 또는 줄 맨 앞의 "[" 부터 Trace 로그로 본다.<br>
+ * - "[id] |   |-->이름": 시작, "[id] |   |<--이름 time = 1ms": 종료, "&lt;X-" 는 예외 종료<br>
+ * - Level 0 은 접두사가 없으므로 " time = " 유무로 시작/종료를 구분한다.<br>
+ * - 줄 단위로 String 을 만들지 않고 ID, 이름만 복사한다.
+ */
+public final class TraceLineParser {
+    private static final byte[] MESSAGE_START = ": [".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TIME = " time = ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EX = "ms ex = ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FIRST_EX = "ms first ex".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_ID_LENGTH = 64;
+
+    private TraceLineParser() {
+    }
+
+    /**
+     * @param buffer 읽을 범위, 줄 경계에서 시작하고 끝나야 한다.
+     * @return 범위 안의 Span 시작/종료 (순서 유지)
+     */
+    public static List<SpanEvent> parse(ByteBuffer buffer, int from, int to) {
+        List<SpanEvent> events = new ArrayList<>();
+        int lineStart = from;
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == '\n') {
+                addLine(buffer, lineStart, i, events);
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < to) {
+            addLine(buffer, lineStart, to, events);
+        }
+        return events;
+    }
+
+    private static void addLine(ByteBuffer buffer, int from, int to, List<SpanEvent> events) {
+        if (to > from && buffer.get(to - 1) == '\r') {
+            to--;
+        }
+        SpanEvent event = parseLine(buffer, from, to);
+        if (event != null) {
+            events.add(event);
+        }
+    }
+
+    /**
+     * @return Trace 로그가 아니면 null
+     */
+    static SpanEvent parseLine(ByteBuffer b, int from, int to) {
+        int open;
+        int marker = indexOf(b, from, to, MESSAGE_START);
+        if (marker >= 0) {
+            open = marker + 2;
+        } else if (from < to && b.get(from) == '[') {
+            open = from;
+        } else {
+            return null;
+        }
+
+        int close = -1;
+        for (int i = open + 1; i < Math.min(to, open + MAX_ID_LENGTH); i++) {
+            if (b.get(i) == ']') {
+                close = i;
+                break;
+            }
+        }
+        if (close < 0 || close == open + 1 || close + 1 >= to || b.get(close + 1) != ' ') {
+            return null;
+        }
+        String traceId = string(b, open + 1, close);
+
+        // 접두사: "|   " 반복 + "|-->", "|<--", "|<X-"
+        int p = close + 2;
+        int level = 0;
+        int kind = 0; // 0: Level 0, 1: 시작, 2: 종료, 3: 예외 종료
+        while (p + 3 < to && b.get(p) == '|') {
+            byte c1 = b.get(p + 1);
+            byte c2 = b.get(p + 2);
+            byte c3 = b.get(p + 3);
+            level++;
+            p += 4;
+            if (c1 == ' ' && c2 == ' ' && c3 == ' ') {
+                continue;
+            }
+            if (c1 == '-' && c2 == '-' && c3 == '>') {
+                kind = 1;
+            } else if (c1 == '<' && c2 == '-' && c3 == '-') {
+                kind = 2;
+            } else if (c1 == '<' && c2 == 'X' && c3 == '-') {
+                kind = 3;
+            } else {
+                return null;
+            }
+            break;
+        }
+        if (level > 0 && kind == 0) {
+            return null;
+        }
+
+        int time = indexOf(b, p, to, TIME);
+        if (kind == 1 || (kind == 0 && time < 0)) {
+            return new SpanEvent(traceId, level, false, false, string(b, p, to), 0L);
+        }
+        if (time < 0) {
+            return null;
+        }
+
+        long timeMs = 0;
+        int digit = time + TIME.length;
+        while (digit < to && b.get(digit) >= '0' && b.get(digit) <= '9') {
+            timeMs = timeMs * 10 + (b.get(digit) - '0');
+            digit++;
+        }
+        boolean error = kind == 3 || startsWith(b, digit, to, EX) || startsWith(b, digit, to, FIRST_EX);
+        return new SpanEvent(traceId, level, true, error, string(b, p, time), timeMs);
+    }
+
+    private static String string(ByteBuffer b, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        b.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int indexOf(ByteBuffer b, int from, int to, byte[] pattern) {
+        byte first = pattern[0];
+        for (int i = from; i <= to - pattern.length; i++) {
+            if (b.get(i) == first && startsWith(b, i, to, pattern)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(ByteBuffer b, int from, int to, byte[] pattern) {
+        if (to - from < pattern.length) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length; i++) {
+            if (b.get(from + i) != pattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
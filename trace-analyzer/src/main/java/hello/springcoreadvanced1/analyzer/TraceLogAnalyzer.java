@@ -0,0 +1,181 @@
+package hello.springcoreadvanced1.analyzer;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * ThreadLocalLogTrace 로그 파일 분석기<br>
+ * - 파일을 줄 경계에 맞춘 chunk 로 나눠 memory-mapped 로 읽고, 여러 쓰레드에서 동시에 해석<br>
+ * - 해석 결과는 파일 순서대로 한 쓰레드({@link TraceAssembler})가 Trace 로 다시 묶는다.<br>
+ * - 동시에 처리 중인 chunk 는 threads * 2 개로 제한해 파일 크기와 무관하게 메모리 사용량이 고정된다.
+ * <p>
+ * 실행 예:
+ * <pre>
+ * ./gradlew :trace-analyzer:run --args='--threads=8 --top=10 app.log app.log.1'
+ * </pre>
+ */
+public class TraceLogAnalyzer {
+    private final Options options;
+
+    public TraceLogAnalyzer(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        if (options.files.isEmpty()) {
+            System.err.println("사용법: TraceLogAnalyzer [--threads=N] [--chunk-mb=N] [--top=N] [--max-open-traces=N] 파일...");
+            System.exit(1);
+        }
+
+        long startNs = System.nanoTime();
+        TraceLogAnalyzer analyzer = new TraceLogAnalyzer(options);
+        TraceAssembler result = analyzer.analyze(options.files);
+        long elapsedNs = System.nanoTime() - startNs;
+
+        long bytes = 0;
+        for (Path file : options.files) {
+            bytes += file.toFile().length();
+        }
+        report(System.out, result, options.top);
+        System.out.printf("%n%,d bytes in %.2fs (%.1f MB/s), traces completed = %,d, evicted = %,d, open = %,d%n",
+                bytes, elapsedNs / 1e9, bytes / 1e6 / (elapsedNs / 1e9),
+                result.getCompletedTraces(), result.getEvictedTraces(), result.getOpenTraces());
+    }
+
+    /**
+     * @param files 시간 순서의 로그 파일 (회전된 파일은 오래된 것부터)
+     */
+    public TraceAssembler analyze(List<Path> files) throws IOException, InterruptedException {
+        TraceAssembler assembler = new TraceAssembler(options.maxOpenTraces, options.top);
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads, runnable -> {
+            Thread thread = new Thread(runnable, "trace-analyzer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Deque<Future<List<SpanEvent>>> inFlight = new ArrayDeque<>();
+        try {
+            for (Path file : files) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    long size = channel.size();
+                    long start = 0;
+                    while (start < size) {
+                        long end = lineBoundary(channel, Math.min(size, start + options.chunkBytes), size);
+                        MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                        if (inFlight.size() >= options.threads * 2) {
+                            assembler.accept(await(inFlight.poll()));
+                        }
+                        inFlight.add(executor.submit(() -> TraceLineParser.parse(chunk, 0, chunk.limit())));
+                        start = end;
+                    }
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                assembler.accept(await(inFlight.poll()));
+            }
+            return assembler;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return position 이후 첫 줄바꿈 다음 위치, 없으면 size
+     */
+    private static long lineBoundary(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long offset = position;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    private static List<SpanEvent> await(Future<List<SpanEvent>> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    static void report(PrintStream out, TraceAssembler result, int top) {
+        out.printf("%-40s %10s %7s %9s %9s %9s %9s %9s%n",
+                "span", "count", "error%", "p50(ms)", "p99(ms)", "max(ms)", "self p50", "self p99");
+        for (SpanStats stats : result.getStats()) {
+            out.printf("%-40s %,10d %6.2f%% %9d %9d %9d %9d %9d%n",
+                    stats.name, stats.count(), stats.errorRate() * 100,
+                    stats.inclusive.quantile(0.5), stats.inclusive.quantile(0.99), stats.inclusive.getMax(),
+                    stats.self.quantile(0.5), stats.self.quantile(0.99));
+        }
+
+        out.printf("%nslowest %d traces%n", top);
+        for (TraceAssembler.SlowTrace trace : result.getSlowest()) {
+            out.printf("[%s] %s %dms%s%n", trace.traceId, trace.name, trace.timeMs, trace.error ? " (error)" : "");
+        }
+    }
+
+    /**
+     * 실행 옵션, --name=value 형식, 나머지는 파일
+     */
+    public static class Options {
+        int threads = Runtime.getRuntime().availableProcessors();
+        long chunkBytes = 4L * 1024 * 1024;
+        int top = 10;
+        int maxOpenTraces = 100_000;
+        List<Path> files = new ArrayList<>();
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                if (!arg.startsWith("--")) {
+                    options.files.add(Path.of(arg));
+                    continue;
+                }
+                if (!arg.contains("=")) {
+                    throw new IllegalArgumentException("--name=value 형식이 아닙니다: " + arg);
+                }
+
+                String name = arg.substring(2, arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1);
+                switch (name) {
+                    case "threads" -> options.threads = Integer.parseInt(value);
+                    case "chunk-mb" -> options.chunkBytes = Long.parseLong(value) * 1024 * 1024;
+                    case "chunk-bytes" -> options.chunkBytes = Long.parseLong(value);
+                    case "top" -> options.top = Integer.parseInt(value);
+                    case "max-open-traces" -> options.maxOpenTraces = Integer.parseInt(value);
+                    default -> throw new IllegalArgumentException("알 수 없는 옵션: " + name);
+                }
+            }
+            return options;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package hello.springcoreadvanced1.analyzer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceAssemblerTest {
+
+    private static SpanEvent begin(String traceId, int level, String name) {
+        return new SpanEvent(traceId, level, false, false, name, 0);
+    }
+
+    private static SpanEvent end(String traceId, int level, String name, long timeMs) {
+        return new SpanEvent(traceId, level, true, false, name, timeMs);
+    }
+
+    @Test
+    void selfTimeWithInterleavedTraces() {
+        TraceAssembler assembler = new TraceAssembler(100, 10);
+
+        assembler.accept(begin("a", 0, "controller"));
+        assembler.accept(begin("b", 0, "controller"));
+        assembler.accept(begin("a", 1, "service"));
+        assembler.accept(begin("b", 1, "service"));
+        assembler.accept(end("b", 1, "service", 5));
+        assembler.accept(begin("a", 2, "repository"));
+        assembler.accept(end("a", 2, "repository", 30));
+        assembler.accept(end("a", 1, "service", 40));
+        assembler.accept(end("b", 0, "controller", 7));
+        assembler.accept(end("a", 0, "controller", 45));
+
+        assertThat(assembler.getCompletedTraces()).isEqualTo(2);
+        assertThat(assembler.getOpenTraces()).isZero();
+
+        SpanStats service = assembler.getStats().stream().filter(s -> s.name.equals("service")).findFirst().orElseThrow();
+        assertThat(service.count()).isEqualTo(2);
+        assertThat(service.inclusive.getMax()).isEqualTo(40);
+        assertThat(service.self.getMax()).isEqualTo(10);
+
+        SpanStats controller = assembler.getStats().stream().filter(s -> s.name.equals("controller")).findFirst().orElseThrow();
+        assertThat(controller.self.getMax()).isEqualTo(5);
+
+        assertThat(assembler.getSlowest()).extracting(t -> t.traceId).containsExactly("a", "b");
+    }
+
+    @Test
+    void errorRate() {
+        TraceAssembler assembler = new TraceAssembler(100, 10);
+        assembler.accept(end("a", 0, "controller", 1));
+        assembler.accept(new SpanEvent("b", 0, true, true, "controller", 1));
+
+        assertThat(assembler.getStats().get(0).errorRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void evictOldestOpenTrace() {
+        TraceAssembler assembler = new TraceAssembler(2, 10);
+        assembler.accept(begin("a", 0, "controller"));
+        assembler.accept(begin("b", 0, "controller"));
+        assembler.accept(begin("c", 0, "controller"));
+
+        assertThat(assembler.getOpenTraces()).isEqualTo(2);
+        assertThat(assembler.getEvictedTraces()).isEqualTo(1);
+    }
+
+    @Test
+    void keepSlowest() {
+        TraceAssembler assembler = new TraceAssembler(100, 2);
+        for (int i = 1; i <= 5; i++) {
+            assembler.accept(end("t" + i, 0, "controller", i * 10));
+        }
+
+        assertThat(assembler.getSlowest()).extracting(t -> t.timeMs).containsExactly(50L, 40L);
+    }
+}
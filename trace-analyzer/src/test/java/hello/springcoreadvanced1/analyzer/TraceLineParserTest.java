@@ -0,0 +1,74 @@
+package hello.springcoreadvanced1.analyzer;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceLineParserTest {
+
+    private static SpanEvent line(String line) {
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        return TraceLineParser.parseLine(buffer, 0, buffer.limit());
+    }
+
+    @Test
+    void levelZero() {
+        String prefix = "2023-03-01T10:00:00.000+09:00  INFO 1 --- [nio-8080-exec-1] h.s.t.l.ThreadLocalLogTrace              : ";
+
+        SpanEvent begin = line(prefix + "[a1b2c3d4] OrderController.request()");
+        assertThat(begin.traceId).isEqualTo("a1b2c3d4");
+        assertThat(begin.level).isZero();
+        assertThat(begin.end).isFalse();
+        assertThat(begin.name).isEqualTo("OrderController.request()");
+
+        SpanEvent end = line(prefix + "[a1b2c3d4] OrderController.request() time = 1004ms");
+        assertThat(end.end).isTrue();
+        assertThat(end.error).isFalse();
+        assertThat(end.name).isEqualTo("OrderController.request()");
+        assertThat(end.timeMs).isEqualTo(1004);
+    }
+
+    @Test
+    void nested() {
+        SpanEvent begin = line("[a1b2c3d4] |   |-->OrderRepository.save()");
+        assertThat(begin.level).isEqualTo(2);
+        assertThat(begin.end).isFalse();
+        assertThat(begin.name).isEqualTo("OrderRepository.save()");
+
+        SpanEvent end = line("[a1b2c3d4] |<--OrderService.orderItem() time = 12ms itemId=hello");
+        assertThat(end.level).isEqualTo(1);
+        assertThat(end.end).isTrue();
+        assertThat(end.name).isEqualTo("OrderService.orderItem()");
+        assertThat(end.timeMs).isEqualTo(12);
+    }
+
+    @Test
+    void exception() {
+        assertThat(line("[a1b2c3d4] |   |<X-OrderRepository.save() time = 0ms ex = java.lang.IllegalStateException: 예외 발생!").error).isTrue();
+        assertThat(line("[a1b2c3d4] OrderController.request() time = 3ms ex = java.lang.IllegalStateException").error).isTrue();
+        assertThat(line("[a1b2c3d4] OrderController.request() time = 3ms first ex").error).isTrue();
+    }
+
+    @Test
+    void notTraceLine() {
+        assertThat(line("Started AdvancedApplication in 1.2 seconds")).isNull();
+        assertThat(line("[main] something")).isNotNull(); // 형식만 맞으면 Level 0 시작으로 본다
+        assertThat(line("[a1b2c3d4] |xx|-->broken")).isNull();
+        assertThat(line("[] empty")).isNull();
+    }
+
+    @Test
+    void parseRange() {
+        String text = "[a] x\r\nnoise\n[a] x time = 1ms\n[b] y";
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+
+        List<SpanEvent> events = TraceLineParser.parse(buffer, 0, buffer.limit());
+
+        assertThat(events).extracting(e -> e.traceId + ":" + e.name + ":" + e.end)
+                .containsExactly("a:x:false", "a:x:true", "b:y:false");
+    }
+}
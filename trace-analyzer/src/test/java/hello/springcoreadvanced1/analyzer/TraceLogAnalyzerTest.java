@@ -0,0 +1,44 @@
+package hello.springcoreadvanced1.analyzer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceLogAnalyzerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void smallChunksMatchSingleChunk() throws Exception {
+        StringBuilder log = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            String id = String.format("%08x", i);
+            log.append("[").append(id).append("] OrderController.request()\n");
+            log.append("[").append(id).append("] |-->OrderService.orderItem()\n");
+            log.append("[").append(id).append("] |<--OrderService.orderItem() time = ").append(i % 50).append("ms\n");
+            log.append("[").append(id).append("] OrderController.request() time = ").append(i % 50 + 1).append("ms\n");
+        }
+        Path file = dir.resolve("app.log");
+        Files.writeString(file, log);
+
+        TraceAssembler single = analyze(file, "--chunk-mb=4", "--threads=1");
+        TraceAssembler chunked = analyze(file, "--chunk-bytes=100", "--threads=4");
+
+        assertThat(single.getCompletedTraces()).isEqualTo(500);
+        assertThat(chunked.getCompletedTraces()).isEqualTo(500);
+        assertThat(chunked.getOpenTraces()).isZero();
+        assertThat(chunked.getStats()).extracting(s -> s.name + ":" + s.count() + ":" + s.self.getMax())
+                .containsExactlyElementsOf(single.getStats().stream().map(s -> s.name + ":" + s.count() + ":" + s.self.getMax()).toList());
+        assertThat(chunked.getStats()).allSatisfy(s -> assertThat(s.self.quantile(0.5)).isLessThanOrEqualTo(s.inclusive.quantile(0.5)));
+    }
+
+    private static TraceAssembler analyze(Path file, String... args) throws Exception {
+        return new TraceLogAnalyzer(TraceLogAnalyzer.Options.parse(args)).analyze(List.of(file));
+    }
+}